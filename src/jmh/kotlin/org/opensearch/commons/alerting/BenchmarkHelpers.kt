@@ -0,0 +1,200 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting
+
+import org.opensearch.common.settings.Settings
+import org.opensearch.commons.alerting.model.ActionExecutionResult
+import org.opensearch.commons.alerting.model.Alert
+import org.opensearch.commons.alerting.model.BucketLevelTrigger
+import org.opensearch.commons.alerting.model.ChainedAlertTrigger
+import org.opensearch.commons.alerting.model.ChainedMonitorFindings
+import org.opensearch.commons.alerting.model.CompositeInput
+import org.opensearch.commons.alerting.model.Delegate
+import org.opensearch.commons.alerting.model.DocLevelMonitorInput
+import org.opensearch.commons.alerting.model.DocLevelQuery
+import org.opensearch.commons.alerting.model.DocumentLevelTrigger
+import org.opensearch.commons.alerting.model.Finding
+import org.opensearch.commons.alerting.model.IntervalSchedule
+import org.opensearch.commons.alerting.model.Monitor
+import org.opensearch.commons.alerting.model.NoOpTrigger
+import org.opensearch.commons.alerting.model.PPLInput
+import org.opensearch.commons.alerting.model.PPLTrigger
+import org.opensearch.commons.alerting.model.QueryLevelTrigger
+import org.opensearch.commons.alerting.model.Schedule
+import org.opensearch.commons.alerting.model.SearchInput
+import org.opensearch.commons.alerting.model.Sequence
+import org.opensearch.commons.alerting.model.Workflow
+import org.opensearch.commons.alerting.model.action.Action
+import org.opensearch.commons.alerting.model.action.Throttle
+import org.opensearch.commons.alerting.model.remote.monitors.RemoteMonitorTrigger
+import org.opensearch.commons.authuser.User
+import org.opensearch.core.xcontent.NamedXContentRegistry
+import org.opensearch.script.Script
+import org.opensearch.script.ScriptType
+import org.opensearch.search.SearchModule
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+
+/*
+ * Deterministic fixtures for the alerting model benchmarks. Unlike the randomized test helpers, every call with the
+ * same arguments builds an identical object so that results are comparable between runs.
+ */
+
+const val BENCHMARK_INDEX = "logs-benchmark"
+val BENCHMARK_TIME: Instant = Instant.ofEpochMilli(1_700_000_000_000L)
+
+fun benchmarkUser(): User {
+    return User(
+        "benchmark-user",
+        listOf("backend-role-1", "backend-role-2"),
+        listOf("all_access", "alerting_full_access"),
+        mapOf("attr.internal.department" to "security")
+    )
+}
+
+fun benchmarkAction(index: Int): Action {
+    val template = Script(ScriptType.INLINE, Script.DEFAULT_TEMPLATE_LANG, "Monitor {{ctx.monitor.name}} fired", emptyMap())
+    return Action(
+        name = "action-$index",
+        destinationId = "destination-$index",
+        subjectTemplate = template,
+        messageTemplate = template,
+        throttleEnabled = true,
+        throttle = Throttle(10, ChronoUnit.MINUTES),
+        id = "action-id-$index"
+    )
+}
+
+fun benchmarkDocLevelQuery(index: Int): DocLevelQuery {
+    return DocLevelQuery(
+        id = "query-$index",
+        name = "$index",
+        fields = listOf("message", "host.name"),
+        query = "message:\"failed login attempt $index\" AND host.name:host-${index % 64}",
+        tags = listOf("sigma", "tag-${index % 16}"),
+        queryFieldNames = listOf("message", "host.name")
+    )
+}
+
+fun benchmarkDocumentLevelTrigger(index: Int): DocumentLevelTrigger {
+    return DocumentLevelTrigger(
+        id = "trigger-$index",
+        name = "trigger-$index",
+        severity = "1",
+        actions = listOf(benchmarkAction(index)),
+        condition = Script("query[tag=sigma]")
+    )
+}
+
+fun benchmarkDocLevelMonitor(
+    queryCount: Int,
+    triggerCount: Int = 3,
+    schedule: Schedule = IntervalSchedule(1, ChronoUnit.MINUTES)
+): Monitor {
+    return Monitor(
+        id = "monitor-id",
+        version = 1L,
+        name = "doc-level-benchmark",
+        enabled = true,
+        schedule = schedule,
+        lastUpdateTime = BENCHMARK_TIME,
+        enabledTime = BENCHMARK_TIME,
+        monitorType = Monitor.MonitorType.DOC_LEVEL_MONITOR.value,
+        user = benchmarkUser(),
+        inputs = listOf(
+            DocLevelMonitorInput("benchmark", listOf(BENCHMARK_INDEX), (0 until queryCount).map { benchmarkDocLevelQuery(it) })
+        ),
+        triggers = (0 until triggerCount).map { benchmarkDocumentLevelTrigger(it) },
+        uiMetadata = mapOf("search" to mapOf("searchType" to "query"))
+    )
+}
+
+fun benchmarkAlert(monitor: Monitor, index: Int): Alert {
+    return Alert(
+        id = "alert-$index",
+        monitorId = monitor.id,
+        workflowId = "",
+        workflowName = "",
+        monitorName = monitor.name,
+        monitorVersion = monitor.version,
+        monitorUser = monitor.user,
+        triggerId = "trigger-${index % 3}",
+        triggerName = "trigger-${index % 3}",
+        findingIds = listOf("finding-$index"),
+        relatedDocIds = listOf("doc-$index|$BENCHMARK_INDEX"),
+        state = Alert.State.ACTIVE,
+        startTime = BENCHMARK_TIME,
+        lastNotificationTime = BENCHMARK_TIME,
+        errorHistory = emptyList(),
+        severity = "1",
+        actionExecutionResults = listOf(ActionExecutionResult("action-id-${index % 3}", BENCHMARK_TIME, 0)),
+        executionId = "execution-id",
+        associatedAlertIds = emptyList()
+    )
+}
+
+fun benchmarkFinding(relatedDocCount: Int, queryCount: Int): Finding {
+    return Finding(
+        id = "finding-id",
+        relatedDocIds = (0 until relatedDocCount).map { "doc-$it" },
+        monitorId = "monitor-id",
+        monitorName = "doc-level-benchmark",
+        index = BENCHMARK_INDEX,
+        docLevelQueries = (0 until queryCount).map { benchmarkDocLevelQuery(it) },
+        timestamp = BENCHMARK_TIME,
+        executionId = "execution-id"
+    )
+}
+
+fun benchmarkWorkflow(delegateCount: Int): Workflow {
+    val delegates = (1..delegateCount).map { order ->
+        Delegate(
+            order,
+            "monitor-$order",
+            if (order == 1) null else ChainedMonitorFindings("monitor-${order - 1}")
+        )
+    }
+    return Workflow(
+        id = "workflow-id",
+        name = "workflow-benchmark",
+        enabled = true,
+        schedule = IntervalSchedule(1, ChronoUnit.MINUTES),
+        lastUpdateTime = BENCHMARK_TIME,
+        enabledTime = BENCHMARK_TIME,
+        workflowType = Workflow.WorkflowType.COMPOSITE,
+        user = benchmarkUser(),
+        inputs = listOf(CompositeInput(Sequence(delegates))),
+        triggers = listOf(
+            ChainedAlertTrigger(
+                id = "chained-trigger",
+                name = "chained-trigger",
+                severity = "1",
+                actions = listOf(benchmarkAction(0)),
+                condition = Script("monitor[id=monitor-1] && monitor[id=monitor-2]")
+            )
+        )
+    )
+}
+
+/**
+ * Registry with every named object the alerting models need while parsing, mirroring what the Alerting plugin registers.
+ */
+fun benchmarkXContentRegistry(): NamedXContentRegistry {
+    return NamedXContentRegistry(
+        listOf(
+            SearchInput.XCONTENT_REGISTRY,
+            DocLevelMonitorInput.XCONTENT_REGISTRY,
+            PPLInput.XCONTENT_REGISTRY,
+            QueryLevelTrigger.XCONTENT_REGISTRY,
+            BucketLevelTrigger.XCONTENT_REGISTRY,
+            DocumentLevelTrigger.XCONTENT_REGISTRY,
+            ChainedAlertTrigger.XCONTENT_REGISTRY,
+            NoOpTrigger.XCONTENT_REGISTRY,
+            RemoteMonitorTrigger.XCONTENT_REGISTRY,
+            PPLTrigger.XCONTENT_REGISTRY
+        ) + SearchModule(Settings.EMPTY, emptyList()).namedXContents
+    )
+}
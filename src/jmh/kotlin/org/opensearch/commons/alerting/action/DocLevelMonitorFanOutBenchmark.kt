@@ -0,0 +1,152 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.action
+
+import org.opensearch.commons.alerting.BENCHMARK_INDEX
+import org.opensearch.commons.alerting.BENCHMARK_TIME
+import org.opensearch.commons.alerting.benchmarkDocLevelMonitor
+import org.opensearch.commons.alerting.model.ActionExecutionTime
+import org.opensearch.commons.alerting.model.DocLevelMonitorInput
+import org.opensearch.commons.alerting.model.DocumentLevelTriggerRunResult
+import org.opensearch.commons.alerting.model.IndexExecutionContext
+import org.opensearch.commons.alerting.model.InputRunResults
+import org.opensearch.commons.alerting.model.MonitorMetadata
+import org.opensearch.commons.alerting.model.SerializedMonitor
+import org.opensearch.commons.alerting.model.TriggeredDocIds
+import org.opensearch.commons.utils.readWith
+import org.opensearch.commons.utils.toBytesReference
+import org.opensearch.commons.utils.toJsonBytes
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.index.shard.ShardId
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Transport and XContent codecs of the doc-level fan-out messages. Neither message has an XContent parser, so only
+ * `writeTo`, the StreamInput constructor and `toXContent` are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class DocLevelMonitorFanOutBenchmark {
+
+    @Param("100", "5000")
+    @JvmField
+    var queryCount: Int = 0
+
+    @Param("30")
+    @JvmField
+    var shardCount: Int = 0
+
+    @Param("1000", "100000")
+    @JvmField
+    var triggeredDocCount: Int = 0
+
+    private lateinit var request: DocLevelMonitorFanOutRequest
+    private lateinit var sharedMonitorRequest: DocLevelMonitorFanOutRequest
+    private lateinit var response: DocLevelMonitorFanOutResponse
+    private lateinit var requestBytes: BytesReference
+    private lateinit var responseBytes: BytesReference
+
+    @Setup
+    fun setup() {
+        val monitor = benchmarkDocLevelMonitor(queryCount)
+        val shardSeqNos: MutableMap<String, Any> = (0 until shardCount).associate { "$it" to it * 1000L }.toMutableMap()
+        val lastRunContext: MutableMap<String, Any> = mutableMapOf(BENCHMARK_INDEX to shardSeqNos)
+        val monitorMetadata = MonitorMetadata(
+            id = "monitor-id-metadata",
+            monitorId = monitor.id,
+            lastActionExecutionTimes = listOf(ActionExecutionTime("action-id-0", BENCHMARK_TIME)),
+            lastRunContext = lastRunContext,
+            sourceToQueryIndexMapping = mutableMapOf(BENCHMARK_INDEX + monitor.id to ".opensearch-alerting-queries-000001")
+        )
+        val indexExecutionContext = IndexExecutionContext(
+            (monitor.inputs[0] as DocLevelMonitorInput).queries,
+            lastRunContext,
+            lastRunContext,
+            BENCHMARK_INDEX,
+            BENCHMARK_INDEX,
+            listOf(BENCHMARK_INDEX),
+            listOf(BENCHMARK_INDEX),
+            listOf(),
+            listOf()
+        )
+        request = DocLevelMonitorFanOutRequest(
+            monitor,
+            false,
+            monitorMetadata,
+            "execution-id",
+            indexExecutionContext,
+            (0 until shardCount).map { ShardId(BENCHMARK_INDEX, "index-uuid", it) },
+            listOf(BENCHMARK_INDEX),
+            null
+        )
+        // Every node request of an execution shares the serialized monitor, which is serialized on the first write
+        sharedMonitorRequest = DocLevelMonitorFanOutRequest(
+            monitor,
+            false,
+            monitorMetadata,
+            "execution-id",
+            indexExecutionContext,
+            request.shardIds,
+            listOf(BENCHMARK_INDEX),
+            null,
+            SerializedMonitor(monitor)
+        )
+        val triggeredDocs = (0 until triggeredDocCount).map { "doc-$it|$BENCHMARK_INDEX" }
+        response = DocLevelMonitorFanOutResponse(
+            nodeId = "node-id",
+            executionId = "execution-id",
+            monitorId = monitor.id,
+            lastRunContexts = mutableMapOf(BENCHMARK_INDEX to shardSeqNos),
+            inputResults = InputRunResults(),
+            triggerResults = monitor.triggers.associate {
+                it.id to DocumentLevelTriggerRunResult(it.name, triggeredDocs, null)
+            }
+        )
+        requestBytes = request.toBytesReference()
+        responseBytes = response.toBytesReference()
+    }
+
+    @Benchmark
+    fun requestWriteTo(): BytesReference = request.toBytesReference()
+
+    @Benchmark
+    fun requestWriteToSharedMonitor(): BytesReference = sharedMonitorRequest.toBytesReference()
+
+    @Benchmark
+    fun requestReadFrom(): DocLevelMonitorFanOutRequest = requestBytes.readWith { DocLevelMonitorFanOutRequest(it) }
+
+    @Benchmark
+    fun requestToXContent(): BytesReference = request.toJsonBytes()
+
+    @Benchmark
+    fun responseWriteTo(): BytesReference = response.toBytesReference()
+
+    @Benchmark
+    fun responseReadFrom(): DocLevelMonitorFanOutResponse = responseBytes.readWith { DocLevelMonitorFanOutResponse(it) }
+
+    /** Reads the response and walks every triggered doc id the way the coordinating node does. */
+    @Benchmark
+    fun responseReadFromAndIterate(): Int {
+        val response = responseBytes.readWith { DocLevelMonitorFanOutResponse(it) }
+        var length = 0
+        response.triggerResults.values.forEach { result ->
+            (result.triggeredDocs as TriggeredDocIds).forEachDocId { docId, _ -> length += docId.length }
+        }
+        return length
+    }
+
+    @Benchmark
+    fun responseToXContent(): BytesReference = response.toJsonBytes()
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.aggregation.bucketselectorext
+
+import org.opensearch.common.settings.Settings
+import org.opensearch.common.util.BigArrays
+import org.opensearch.script.BucketAggregationSelectorScript
+import org.opensearch.script.Script
+import org.opensearch.script.ScriptContext
+import org.opensearch.script.ScriptEngine
+import org.opensearch.script.ScriptService
+import org.opensearch.script.ScriptType
+import org.opensearch.search.aggregations.InternalAggregation
+import org.opensearch.search.aggregations.InternalAggregations
+import org.opensearch.search.aggregations.bucket.composite.benchmarkComposite
+import org.opensearch.search.aggregations.bucket.terms.IncludeExclude
+import org.opensearch.search.aggregations.pipeline.BucketHelpers
+import org.opensearch.search.aggregations.pipeline.PipelineAggregator
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+import java.util.function.IntConsumer
+
+/**
+ * Reduce of the bucket selector of a bucket-level monitor over a composite aggregation, with and without per source
+ * filters. The script is a trivial native one, so the numbers are dominated by the per bucket work of the
+ * aggregator rather than by script execution, which includes a new script instance over a copy of the params for
+ * every bucket. The same condition written in Painless is evaluated without running a script.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class BucketSelectorExtAggregatorBenchmark {
+
+    @Param("10000", "100000")
+    @JvmField
+    var bucketCount: Int = 0
+
+    private lateinit var aggregations: InternalAggregations
+    private lateinit var reduceContext: InternalAggregation.ReduceContext
+    private lateinit var selector: BucketSelectorExtAggregator
+    private lateinit var filteredSelector: BucketSelectorExtAggregator
+    private lateinit var nativeSelector: BucketSelectorExtAggregator
+
+    @Setup
+    fun setup() {
+        aggregations = InternalAggregations.from(listOf(benchmarkComposite(COMPOSITE_NAME, bucketCount)))
+        val engine = ThresholdScriptEngine(ThresholdScriptEngine.TYPE)
+        // Stands in for Painless, which the aggregator still compiles for conditions it evaluates natively
+        val painless = ThresholdScriptEngine(Script.DEFAULT_SCRIPT_LANG)
+        val scriptService = ScriptService(
+            Settings.EMPTY,
+            mapOf(engine.type to engine, painless.type to painless),
+            mapOf(BucketAggregationSelectorScript.CONTEXT.name to BucketAggregationSelectorScript.CONTEXT)
+        )
+        reduceContext = InternalAggregation.ReduceContext.forFinalReduction(
+            BigArrays.NON_RECYCLING_INSTANCE,
+            scriptService,
+            IntConsumer { },
+            PipelineAggregator.PipelineTree.EMPTY
+        )
+        val script = Script(ScriptType.INLINE, ThresholdScriptEngine.TYPE, "50", mapOf("unused" to "param"))
+        selector = selector(script, null)
+        // Recognized as a native condition, so the compiled script never runs
+        nativeSelector = selector(Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, "params.count >= 50", emptyMap()), null)
+        filteredSelector = selector(
+            script,
+            BucketSelectorExtFilter(
+                hashMapOf(
+                    "host" to IncludeExclude("host-.*[0-4]", null),
+                    "status" to IncludeExclude(longArrayOf(0, 2, 4, 6, 8), longArrayOf())
+                )
+            )
+        )
+    }
+
+    private fun selector(script: Script, filter: BucketSelectorExtFilter?): BucketSelectorExtAggregator {
+        return BucketSelectorExtAggregator(
+            "selector",
+            mapOf("count" to "_count"),
+            COMPOSITE_NAME,
+            script,
+            BucketHelpers.GapPolicy.SKIP,
+            filter,
+            emptyMap()
+        )
+    }
+
+    @Benchmark
+    fun reduce(): InternalAggregation = selector.doReduce(aggregations, reduceContext)
+
+    @Benchmark
+    fun reduceNativeCondition(): InternalAggregation = nativeSelector.doReduce(aggregations, reduceContext)
+
+    @Benchmark
+    fun reduceWithCompositeFilter(): InternalAggregation = filteredSelector.doReduce(aggregations, reduceContext)
+
+    /** Compiles a script ending in `N` to select the buckets whose `count` variable is at least N. */
+    private class ThresholdScriptEngine(private val type: String) : ScriptEngine {
+        override fun getType(): String = type
+
+        override fun <FactoryType> compile(
+            name: String?,
+            code: String,
+            context: ScriptContext<FactoryType>,
+            params: Map<String, String>?
+        ): FactoryType {
+            val threshold = code.substringAfterLast(' ').toDouble()
+            val factory = BucketAggregationSelectorScript.Factory { vars ->
+                object : BucketAggregationSelectorScript(vars) {
+                    override fun execute(): Boolean = (getParams()["count"] as Number).toDouble() >= threshold
+                }
+            }
+            return context.factoryClazz.cast(factory)
+        }
+
+        override fun getSupportedContexts(): Set<ScriptContext<*>> = setOf(BucketAggregationSelectorScript.CONTEXT)
+
+        companion object {
+            const val TYPE = "threshold"
+        }
+    }
+
+    private companion object {
+        const val COMPOSITE_NAME = "composite_agg"
+    }
+}
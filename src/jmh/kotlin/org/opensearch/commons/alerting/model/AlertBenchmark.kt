@@ -0,0 +1,83 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.action.GetAlertsResponse
+import org.opensearch.commons.alerting.benchmarkAlert
+import org.opensearch.commons.alerting.benchmarkDocLevelMonitor
+import org.opensearch.commons.utils.jsonParser
+import org.opensearch.commons.utils.readWith
+import org.opensearch.commons.utils.toBytesReference
+import org.opensearch.commons.utils.toJsonBytes
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.xcontent.XContentParser
+import org.opensearch.core.xcontent.XContentParserUtils
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Transport and XContent codecs of [Alert], measured through a [GetAlertsResponse] of `alertCount` alerts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class AlertBenchmark {
+
+    @Param("1", "1000", "10000")
+    @JvmField
+    var alertCount: Int = 0
+
+    private lateinit var response: GetAlertsResponse
+    private lateinit var transportBytes: BytesReference
+    private lateinit var jsonBytes: BytesReference
+
+    @Setup
+    fun setup() {
+        val monitor = benchmarkDocLevelMonitor(queryCount = 10)
+        response = GetAlertsResponse((0 until alertCount).map { benchmarkAlert(monitor, it) }, alertCount)
+        transportBytes = response.toBytesReference()
+        jsonBytes = response.toJsonBytes()
+    }
+
+    @Benchmark
+    fun writeTo(): BytesReference = response.toBytesReference()
+
+    @Benchmark
+    fun readFrom(): GetAlertsResponse = transportBytes.readWith { GetAlertsResponse(it) }
+
+    @Benchmark
+    fun toXContent(): BytesReference = response.toJsonBytes()
+
+    @Benchmark
+    fun parse(): List<Alert> = jsonParser(jsonBytes).use { parseAlerts(it) }
+
+    /** GetAlertsResponse has no parser of its own, so walk its `alerts` array the way a REST client would. */
+    private fun parseAlerts(xcp: XContentParser): List<Alert> {
+        val alerts = mutableListOf<Alert>()
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp)
+        while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+            val fieldName = xcp.currentName()
+            xcp.nextToken()
+            when (fieldName) {
+                "alerts" -> {
+                    XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp)
+                    while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+                        alerts.add(Alert.parse(xcp))
+                    }
+                }
+                else -> xcp.skipChildren()
+            }
+        }
+        return alerts
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.util.getBucketKeysHash
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Matching the buckets of a bucket-level monitor run against the buckets of the previous run, half of which are
+ * still present, by joined key string and by [BucketKey].
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class BucketKeyMapBenchmark {
+
+    @Param("50000")
+    @JvmField
+    var bucketCount: Int = 0
+
+    private lateinit var previousBuckets: List<AggregationResultBucket>
+    private lateinit var buckets: List<AggregationResultBucket>
+
+    @Setup
+    fun setup() {
+        fun bucket(i: Int) = AggregationResultBucket("composite_agg", listOf("host-$i", "service-${i % 20}"), mapOf("doc_count" to i))
+        previousBuckets = (0 until bucketCount).map { bucket(it) }
+        buckets = (bucketCount / 2 until bucketCount * 3 / 2).map { bucket(it) }
+    }
+
+    @Benchmark
+    fun matchByHashString(): Int {
+        val previous = previousBuckets.associateBy { getBucketKeysHash(it.bucketKeys) }
+        return buckets.count { previous.containsKey(getBucketKeysHash(it.bucketKeys)) }
+    }
+
+    @Benchmark
+    fun matchByBucketKey(): Int {
+        val previous = BucketKeyMap.ofBuckets(previousBuckets)
+        return buckets.count { previous[it.bucketKeys] != null }
+    }
+}
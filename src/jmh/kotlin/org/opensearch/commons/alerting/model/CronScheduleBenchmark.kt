@@ -0,0 +1,57 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import com.cronutils.model.time.ExecutionTime
+import org.opensearch.commons.utils.jsonParser
+import org.opensearch.commons.utils.readWith
+import org.opensearch.commons.utils.toBytesReference
+import org.opensearch.commons.utils.toJsonBytes
+import org.opensearch.core.common.bytes.BytesReference
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.time.ZoneId
+import java.util.concurrent.TimeUnit
+
+/**
+ * Deserialization of [CronSchedule], which resolves its expression through the parsed cron cache.
+ * `uncachedParse` parses the expression on every call, the way every read did before the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class CronScheduleBenchmark {
+
+    @Param("0 */5 * * *", "15,45 8-18 * * 1-5")
+    @JvmField
+    var expression: String = ""
+
+    private lateinit var schedule: CronSchedule
+    private lateinit var transportBytes: BytesReference
+    private lateinit var jsonBytes: BytesReference
+
+    @Setup
+    fun setup() {
+        schedule = CronSchedule(expression, ZoneId.of("America/Los_Angeles"))
+        transportBytes = schedule.toBytesReference()
+        jsonBytes = schedule.toJsonBytes()
+    }
+
+    @Benchmark
+    fun readFrom(): Schedule = transportBytes.readWith { CronSchedule(it) }
+
+    @Benchmark
+    fun parse(): Schedule = jsonParser(jsonBytes).use { Schedule.parse(it) }
+
+    @Benchmark
+    fun uncachedParse(): ExecutionTime = ExecutionTime.forCron(Schedule.cronParser.parse(expression))
+}
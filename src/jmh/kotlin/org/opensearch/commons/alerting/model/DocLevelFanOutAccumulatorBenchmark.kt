@@ -0,0 +1,59 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.BENCHMARK_INDEX
+import org.opensearch.commons.alerting.action.DocLevelMonitorFanOutResponse
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Merging the last run contexts of every node's fan-out response on the coordinating node. Each node reports all
+ * shards of every index, as the nodes do when a shard has no new documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class DocLevelFanOutAccumulatorBenchmark {
+
+    @Param("10", "100")
+    @JvmField
+    var nodeCount: Int = 0
+
+    @Param("30", "300")
+    @JvmField
+    var shardCount: Int = 0
+
+    private lateinit var responses: List<DocLevelMonitorFanOutResponse>
+
+    @Setup
+    fun setup() {
+        responses = (0 until nodeCount).map { node ->
+            val lastRunContexts: MutableMap<String, Any> = (0 until 3).associate { index ->
+                val shardSeqNos: MutableMap<String, Any> = mutableMapOf("index" to "$BENCHMARK_INDEX-$index", "shards_count" to shardCount)
+                for (shard in 0 until shardCount) {
+                    shardSeqNos["$shard"] = node * 1000L + shard
+                }
+                "$BENCHMARK_INDEX-$index" to shardSeqNos
+            }.toMutableMap()
+            DocLevelMonitorFanOutResponse("node-$node", "execution-id", "monitor-id", lastRunContexts)
+        }
+    }
+
+    @Benchmark
+    fun mergeLastRunContexts(): Map<String, Any> {
+        val accumulator = DocLevelFanOutAccumulator()
+        responses.forEach { accumulator.add(it) }
+        return accumulator.lastRunContext()
+    }
+}
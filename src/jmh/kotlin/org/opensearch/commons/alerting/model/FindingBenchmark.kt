@@ -0,0 +1,62 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.benchmarkFinding
+import org.opensearch.commons.utils.jsonParser
+import org.opensearch.commons.utils.readWith
+import org.opensearch.commons.utils.toBytesReference
+import org.opensearch.commons.utils.toJsonBytes
+import org.opensearch.core.common.bytes.BytesReference
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Transport and XContent codecs of [Finding], sized by the number of related documents and matched queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class FindingBenchmark {
+
+    @Param("1", "100", "10000")
+    @JvmField
+    var relatedDocCount: Int = 0
+
+    @Param("1", "50")
+    @JvmField
+    var queryCount: Int = 0
+
+    private lateinit var finding: Finding
+    private lateinit var transportBytes: BytesReference
+    private lateinit var jsonBytes: BytesReference
+
+    @Setup
+    fun setup() {
+        finding = benchmarkFinding(relatedDocCount, queryCount)
+        transportBytes = finding.toBytesReference()
+        jsonBytes = finding.toJsonBytes()
+    }
+
+    @Benchmark
+    fun writeTo(): BytesReference = finding.toBytesReference()
+
+    @Benchmark
+    fun readFrom(): Finding = transportBytes.readWith { Finding(it) }
+
+    @Benchmark
+    fun toXContent(): BytesReference = finding.toJsonBytes()
+
+    @Benchmark
+    fun parse(): Finding = jsonParser(jsonBytes).use { Finding.parse(it) }
+}
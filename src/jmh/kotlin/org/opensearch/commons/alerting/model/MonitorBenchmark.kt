@@ -0,0 +1,70 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.benchmarkDocLevelMonitor
+import org.opensearch.commons.alerting.benchmarkXContentRegistry
+import org.opensearch.commons.utils.jsonParser
+import org.opensearch.commons.utils.readWith
+import org.opensearch.commons.utils.toBytesReference
+import org.opensearch.commons.utils.toJsonBytes
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.xcontent.NamedXContentRegistry
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Transport and XContent codecs of a doc-level [Monitor], sized by the number of [DocLevelQuery] entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class MonitorBenchmark {
+
+    @Param("1", "100", "5000")
+    @JvmField
+    var queryCount: Int = 0
+
+    private lateinit var monitor: Monitor
+    private lateinit var transportBytes: BytesReference
+    private lateinit var jsonBytes: BytesReference
+    private lateinit var registry: NamedXContentRegistry
+    private lateinit var viewBytes: BytesReference
+
+    @Setup
+    fun setup() {
+        monitor = benchmarkDocLevelMonitor(queryCount)
+        transportBytes = monitor.toBytesReference()
+        jsonBytes = monitor.toJsonBytes()
+        registry = benchmarkXContentRegistry()
+        viewBytes = MonitorView.parse(jsonBytes).toBytesReference()
+    }
+
+    @Benchmark
+    fun writeTo(): BytesReference = monitor.toBytesReference()
+
+    @Benchmark
+    fun readFrom(): Monitor = transportBytes.readWith { Monitor(it) }
+
+    @Benchmark
+    fun toXContent(): BytesReference = monitor.toJsonBytes()
+
+    @Benchmark
+    fun parse(): Monitor = jsonParser(jsonBytes, registry).use { Monitor.parse(it) }
+
+    @Benchmark
+    fun parseView(): MonitorView = MonitorView.parse(jsonBytes)
+
+    @Benchmark
+    fun readView(): MonitorView = viewBytes.readWith { MonitorView(it) }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.BENCHMARK_TIME
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.time.Instant
+import java.time.ZoneId
+import java.time.temporal.ChronoUnit
+import java.util.concurrent.TimeUnit
+
+/**
+ * A scheduler sweep over `jobCount` jobs asking each schedule for its next execution and whether it runs on time,
+ * through the Instant based methods and through the epoch millis methods. Run with the gc profiler to compare
+ * allocations per sweep.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class ScheduleSweepBenchmark {
+
+    @Param("cron", "interval")
+    @JvmField
+    var scheduleType: String = ""
+
+    @Param("10000")
+    @JvmField
+    var jobCount: Int = 0
+
+    private lateinit var schedules: Array<Schedule>
+    private lateinit var enabledTimes: Array<Instant>
+    private lateinit var lastExecutionTimes: Array<Instant>
+    private lateinit var enabledMillis: LongArray
+    private lateinit var lastExecutionMillis: LongArray
+
+    @Setup
+    fun setup() {
+        val now = Instant.now()
+        val expressions = listOf("*/5 * * * *", "0 * * * *", "15,45 8-18 * * 1-5")
+        schedules = Array(jobCount) {
+            when (scheduleType) {
+                "cron" -> CronSchedule(expressions[it % expressions.size], ZoneId.of("America/Los_Angeles"))
+                else -> IntervalSchedule(1 + it % 10, ChronoUnit.MINUTES)
+            }
+        }
+        enabledTimes = Array(jobCount) { BENCHMARK_TIME.plusSeconds(it.toLong()) }
+        lastExecutionTimes = Array(jobCount) { now.minusSeconds((it % 600).toLong()) }
+        enabledMillis = LongArray(jobCount) { enabledTimes[it].toEpochMilli() }
+        lastExecutionMillis = LongArray(jobCount) { lastExecutionTimes[it].toEpochMilli() }
+    }
+
+    @Benchmark
+    fun instantSweep(): Long {
+        var result = 0L
+        for (i in schedules.indices) {
+            result += schedules[i].nextTimeToExecute(enabledTimes[i])?.toMillis() ?: 0L
+            if (schedules[i].runningOnTime(lastExecutionTimes[i])) result++
+        }
+        return result
+    }
+
+    @Benchmark
+    fun millisSweep(): Long {
+        val nowMillis = System.currentTimeMillis()
+        var result = 0L
+        for (i in schedules.indices) {
+            result += schedules[i].nextExecutionMillis(enabledMillis[i], nowMillis) - nowMillis
+            if (schedules[i].isOnTime(lastExecutionMillis[i], nowMillis)) result++
+        }
+        return result
+    }
+}
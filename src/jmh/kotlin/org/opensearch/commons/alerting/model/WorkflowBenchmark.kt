@@ -0,0 +1,62 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.benchmarkWorkflow
+import org.opensearch.commons.alerting.benchmarkXContentRegistry
+import org.opensearch.commons.utils.jsonParser
+import org.opensearch.commons.utils.readWith
+import org.opensearch.commons.utils.toBytesReference
+import org.opensearch.commons.utils.toJsonBytes
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.xcontent.NamedXContentRegistry
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Transport and XContent codecs of a chained [Workflow], sized by the number of delegate monitors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class WorkflowBenchmark {
+
+    @Param("2", "10", "25")
+    @JvmField
+    var delegateCount: Int = 0
+
+    private lateinit var workflow: Workflow
+    private lateinit var transportBytes: BytesReference
+    private lateinit var jsonBytes: BytesReference
+    private lateinit var registry: NamedXContentRegistry
+
+    @Setup
+    fun setup() {
+        workflow = benchmarkWorkflow(delegateCount)
+        transportBytes = workflow.toBytesReference()
+        jsonBytes = workflow.toJsonBytes()
+        registry = benchmarkXContentRegistry()
+    }
+
+    @Benchmark
+    fun writeTo(): BytesReference = workflow.toBytesReference()
+
+    @Benchmark
+    fun readFrom(): Workflow = transportBytes.readWith { Workflow(it) }
+
+    @Benchmark
+    fun toXContent(): BytesReference = workflow.toJsonBytes()
+
+    @Benchmark
+    fun parse(): Workflow = jsonParser(jsonBytes, registry).use { Workflow.parse(it) }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.authuser
+
+import org.opensearch.commons.authuser.util.Base64Helper
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.Arrays
+import java.util.concurrent.TimeUnit
+import java.util.regex.Pattern
+
+/**
+ * [User.parse] of the security user info string, against the regex split and JDK deserialization it replaced.
+ * The custom attributes are either JDK serialized, as written by earlier versions, or compact encoded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class UserParseBenchmark {
+
+    @Param("jdk", "compact")
+    @JvmField
+    var attributeEncoding: String = ""
+
+    @Param("0", "5")
+    @JvmField
+    var attributeCount: Int = 0
+
+    private lateinit var userString: String
+
+    @Setup
+    fun setup() {
+        val attributes = HashMap((0 until attributeCount).associate { "attr.$it" to "value-$it" })
+        val encoded = when {
+            attributes.isEmpty() -> ""
+            attributeEncoding == "jdk" -> Base64Helper.serializeObject(attributes)
+            else -> User.encodeCustomAttributes(attributes)
+        }
+        userString = "benchmark-user|backend-role-1,backend-role-2,backend-role-3|all_access,alerting_full_access|" +
+            "global_tenant|READ_WRITE|$encoded"
+    }
+
+    @Benchmark
+    fun parse(): User = User.parse(userString)
+
+    @Benchmark
+    fun legacyParse(): User? = legacyParse(userString)
+
+    /** User.parse(String) as it was before the single pass parser, without interning. */
+    @Suppress("UNCHECKED_CAST")
+    private fun legacyParse(userString: String): User? {
+        // String.split compiles the pattern on every call
+        val strs = Pattern.compile("(?<!\\\\)\\|").split(userString)
+        if (strs.isEmpty() || strs[0].isEmpty()) {
+            return null
+        }
+        val userName = Utils.unescapePipe(strs[0].trim())
+        val backendRoles = ArrayList<String>()
+        val roles = ArrayList<String>()
+        var requestedTenant: String? = null
+        var requestedTenantAccess: String? = null
+        var customAttributes: Map<String, String> = HashMap()
+        if (strs.size > 1 && strs[1].isNotEmpty()) {
+            backendRoles.addAll(Arrays.stream(strs[1].split(",").dropLastWhile { it.isEmpty() }.toTypedArray()).map(Utils::unescapePipe).toList())
+        }
+        if (strs.size > 2 && strs[2].isNotEmpty()) {
+            roles.addAll(Arrays.stream(strs[2].split(",").dropLastWhile { it.isEmpty() }.toTypedArray()).map(Utils::unescapePipe).toList())
+        }
+        if (strs.size > 3 && strs[3].isNotEmpty()) {
+            requestedTenant = Utils.unescapePipe(strs[3].trim())
+        }
+        if (strs.size > 4 && strs[4].isNotEmpty()) {
+            requestedTenantAccess = strs[4].trim()
+        }
+        if (strs.size > 5 && strs[5].isNotEmpty()) {
+            customAttributes = Base64Helper.deserializeObject(strs[5]) as Map<String, String>
+        }
+        return User(userName, backendRoles, roles, customAttributes, requestedTenant, requestedTenantAccess)
+    }
+}
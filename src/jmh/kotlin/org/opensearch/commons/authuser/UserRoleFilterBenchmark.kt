@@ -0,0 +1,48 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.authuser
+
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Filtering the users of 10k objects by the backend roles of the requesting user, with [RoleBits] and with the
+ * list intersection it replaces, sized by the number of backend roles per user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class UserRoleFilterBenchmark {
+
+    @Param("1", "10")
+    @JvmField
+    var roleCount: Int = 0
+
+    private lateinit var requester: User
+    private lateinit var users: List<User>
+
+    @Setup
+    fun setup() {
+        requester = User("requester", (0 until roleCount).map { "role-${it * 7}" }, listOf(), mapOf())
+        users = (0 until 10_000).map { i ->
+            User("user-$i", (0 until roleCount).map { "role-${(i + it) % 200}" }, listOf(), mapOf())
+        }
+        users.forEach { it.backendRoleBits }
+    }
+
+    @Benchmark
+    fun filterByRoleBits(): Int = users.count { it.sharesBackendRoleWith(requester) }
+
+    @Benchmark
+    fun filterByRoleLists(): Int = users.count { user -> user.backendRoles.any { requester.backendRoles.contains(it) } }
+}
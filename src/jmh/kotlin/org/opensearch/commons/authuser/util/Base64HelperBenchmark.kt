@@ -0,0 +1,53 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.authuser.util
+
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.io.Serializable
+import java.util.concurrent.TimeUnit
+
+/**
+ * JDK and compact serialization of [Base64Helper] for a map of user attributes, sized by the number of entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class Base64HelperBenchmark {
+
+    @Param("1", "10", "100")
+    @JvmField
+    var attributeCount: Int = 0
+
+    private lateinit var attributes: Serializable
+    private lateinit var jdkSerialized: String
+    private lateinit var compactSerialized: String
+
+    @Setup
+    fun setup() {
+        attributes = HashMap((0 until attributeCount).associate { "attr.$it" to "value-$it" })
+        jdkSerialized = Base64Helper.serializeObject(attributes)
+        compactSerialized = Base64Helper.serializeObjectCompact(attributes)
+    }
+
+    @Benchmark
+    fun serializeJdk(): String = Base64Helper.serializeObject(attributes)
+
+    @Benchmark
+    fun serializeCompact(): String = Base64Helper.serializeObjectCompact(attributes)
+
+    @Benchmark
+    fun deserializeJdk(): Serializable = Base64Helper.deserializeObject(jdkSerialized)
+
+    @Benchmark
+    fun deserializeCompact(): Serializable = Base64Helper.deserializeObject(compactSerialized)
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.notifications.action
+
+import org.opensearch.commons.notifications.model.ChannelMessage
+import org.opensearch.commons.notifications.model.EventSource
+import org.opensearch.commons.notifications.model.SeverityType
+import org.opensearch.commons.utils.jsonParser
+import org.opensearch.commons.utils.readWith
+import org.opensearch.commons.utils.toBytesReference
+import org.opensearch.commons.utils.toJsonBytes
+import org.opensearch.core.common.bytes.BytesReference
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Transport and XContent codecs of [SendNotificationRequest], sized by the length of the rendered message body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class SendNotificationRequestBenchmark {
+
+    @Param("256", "16384")
+    @JvmField
+    var messageLength: Int = 0
+
+    @Param("1", "20")
+    @JvmField
+    var channelCount: Int = 0
+
+    private lateinit var request: SendNotificationRequest
+    private lateinit var transportBytes: BytesReference
+    private lateinit var jsonBytes: BytesReference
+
+    @Setup
+    fun setup() {
+        val text = "Monitor doc-level-benchmark just entered alert status. ".repeat(messageLength / 56 + 1).take(messageLength)
+        request = SendNotificationRequest(
+            EventSource("Alerting-Notification Action", "monitor-id", SeverityType.HIGH, listOf("alerting", "benchmark")),
+            ChannelMessage(text, "<p>$text</p>", null),
+            (0 until channelCount).map { "channel-$it" },
+            "benchmark-user|backend-role-1|all_access|"
+        )
+        transportBytes = request.toBytesReference()
+        jsonBytes = request.toJsonBytes()
+    }
+
+    @Benchmark
+    fun writeTo(): BytesReference = request.toBytesReference()
+
+    @Benchmark
+    fun readFrom(): SendNotificationRequest = transportBytes.readWith { SendNotificationRequest(it) }
+
+    @Benchmark
+    fun toXContent(): BytesReference = request.toJsonBytes()
+
+    @Benchmark
+    fun parse(): SendNotificationRequest = jsonParser(jsonBytes).use { SendNotificationRequest.parse(it) }
+}
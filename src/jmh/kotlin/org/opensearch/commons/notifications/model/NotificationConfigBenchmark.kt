@@ -0,0 +1,62 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.notifications.model
+
+import org.opensearch.commons.utils.jsonParser
+import org.opensearch.commons.utils.readWith
+import org.opensearch.commons.utils.toBytesReference
+import org.opensearch.commons.utils.toJsonBytes
+import org.opensearch.core.common.bytes.BytesReference
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Transport and XContent codecs of a webhook [NotificationConfig], sized by the number of header parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class NotificationConfigBenchmark {
+
+    @Param("0", "10", "100")
+    @JvmField
+    var headerCount: Int = 0
+
+    private lateinit var config: NotificationConfig
+    private lateinit var transportBytes: BytesReference
+    private lateinit var jsonBytes: BytesReference
+
+    @Setup
+    fun setup() {
+        val webhook = Webhook(
+            "https://hooks.example.com/services/benchmark",
+            (0 until headerCount).associate { "X-Header-$it" to "value-$it" },
+            HttpMethodType.POST
+        )
+        config = NotificationConfig("webhook-benchmark", "benchmark channel", ConfigType.WEBHOOK, webhook)
+        transportBytes = config.toBytesReference()
+        jsonBytes = config.toJsonBytes()
+    }
+
+    @Benchmark
+    fun writeTo(): BytesReference = config.toBytesReference()
+
+    @Benchmark
+    fun readFrom(): NotificationConfig = transportBytes.readWith { NotificationConfig(it) }
+
+    @Benchmark
+    fun toXContent(): BytesReference = config.toJsonBytes()
+
+    @Benchmark
+    fun parse(): NotificationConfig = jsonParser(jsonBytes).use { NotificationConfig.parse(it) }
+}
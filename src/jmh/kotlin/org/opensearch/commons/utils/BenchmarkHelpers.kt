@@ -0,0 +1,51 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.utils
+
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.common.xcontent.LoggingDeprecationHandler
+import org.opensearch.common.xcontent.XContentFactory
+import org.opensearch.common.xcontent.XContentType
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.common.io.stream.StreamInput
+import org.opensearch.core.common.io.stream.Writeable
+import org.opensearch.core.xcontent.NamedXContentRegistry
+import org.opensearch.core.xcontent.ToXContent
+import org.opensearch.core.xcontent.XContentParser
+
+/**
+ * Serializes the writeable into a fresh [BytesReference], the same way the transport layer does.
+ */
+fun Writeable.toBytesReference(): BytesReference {
+    val out = BytesStreamOutput()
+    writeTo(out)
+    return out.bytes()
+}
+
+/**
+ * Deserializes an object previously written with [toBytesReference].
+ */
+inline fun <T> BytesReference.readWith(reader: (StreamInput) -> T): T {
+    streamInput().use {
+        return reader(it)
+    }
+}
+
+/**
+ * Renders the object as JSON bytes.
+ */
+fun ToXContent.toJsonBytes(params: ToXContent.Params = ToXContent.EMPTY_PARAMS): BytesReference {
+    return BytesReference.bytes(toXContent(XContentFactory.jsonBuilder(), params))
+}
+
+/**
+ * Creates a JSON parser positioned on the first token of the given bytes.
+ */
+fun jsonParser(bytes: BytesReference, registry: NamedXContentRegistry = NamedXContentRegistry.EMPTY): XContentParser {
+    val parser = XContentType.JSON.xContent().createParser(registry, LoggingDeprecationHandler.INSTANCE, bytes.streamInput())
+    parser.nextToken()
+    return parser
+}
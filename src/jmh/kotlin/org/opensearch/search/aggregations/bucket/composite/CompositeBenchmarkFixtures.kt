@@ -0,0 +1,39 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.search.aggregations.bucket.composite
+
+import org.apache.lucene.util.BytesRef
+import org.opensearch.search.DocValueFormat
+import org.opensearch.search.aggregations.InternalAggregations
+import org.opensearch.search.aggregations.bucket.missing.MissingOrder
+
+/*
+ * Composite aggregation results for the bucket-level benchmarks. The constructors of InternalComposite are package
+ * private, hence the fixture lives in the package of the aggregation.
+ */
+
+/**
+ * Returns a composite aggregation result with [bucketCount] buckets keyed by a `host` keyword, `host-0` to
+ * `host-{bucketCount / 10}`, and a `status` long from 0 to 9. Doc counts run from 0 to 99.
+ */
+fun benchmarkComposite(name: String, bucketCount: Int): InternalComposite {
+    val sourceNames = listOf("host", "status")
+    val formats = listOf(DocValueFormat.RAW, DocValueFormat.RAW)
+    val reverseMuls = intArrayOf(1, 1)
+    val missingOrders = arrayOf(MissingOrder.DEFAULT, MissingOrder.DEFAULT)
+    val buckets = (0 until bucketCount).map {
+        InternalComposite.InternalBucket(
+            sourceNames,
+            formats,
+            CompositeKey(BytesRef("host-${it / 10}"), (it % 10).toLong()),
+            reverseMuls,
+            missingOrders,
+            (it % 100).toLong(),
+            InternalAggregations.EMPTY
+        )
+    }
+    return InternalComposite(name, bucketCount, sourceNames, formats, buckets, null, reverseMuls, missingOrders, false, emptyMap())
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.authuser;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable set of role names held as a bitset, so that checking whether two users share a role compares words
+ * of bits instead of strings.
+ *
+ * Every role name gets an index in a dictionary shared by the whole node the first time it is seen. Roles come from
+ * the security configuration and the authentication backends, which may map users to arbitrary groups, so the
+ * dictionary holds at most {@link #MAX_INDEXED_ROLES} roles. Roles seen once it is full are held by each set as a
+ * sorted array of names instead.
+ */
+public final class RoleBits {
+
+    /** Upper bound of the roles given an index, and of the bits held by a set. */
+    static final int MAX_INDEXED_ROLES = 4096;
+
+    private static final String[] NO_ROLES = new String[0];
+
+    public static final RoleBits EMPTY = new RoleBits(new long[0], NO_ROLES);
+
+    private static final Map<String, Integer> DICTIONARY = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    private final long[] words;
+    // Roles without an index, sorted. A role is either given an index or never, so sets of equal roles hold each of
+    // them the same way
+    private final String[] unindexed;
+
+    private RoleBits(final long[] words, final String[] unindexed) {
+        this.words = words;
+        this.unindexed = unindexed;
+    }
+
+    /**
+     * Returns the bitset of the given roles, null roles are ignored.
+     */
+    public static RoleBits of(final Collection<String> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = new long[0];
+        TreeSet<String> unindexed = null;
+        for (String role : roles) {
+            if (role == null) {
+                continue;
+            }
+            final Integer index = indexOf(role);
+            if (index == null) {
+                if (unindexed == null) {
+                    unindexed = new TreeSet<>();
+                }
+                unindexed.add(role);
+                continue;
+            }
+            final int word = index >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, word + 1);
+            }
+            words[word] |= 1L << index;
+        }
+        if (words.length == 0 && unindexed == null) {
+            return EMPTY;
+        }
+        return new RoleBits(words, unindexed == null ? NO_ROLES : unindexed.toArray(NO_ROLES));
+    }
+
+    /**
+     * Returns the index of the role, giving it one if the dictionary is not full, or null.
+     */
+    private static Integer indexOf(final String role) {
+        final Integer index = DICTIONARY.get(role);
+        if (index != null) {
+            return index;
+        }
+        return DICTIONARY.computeIfAbsent(role, r -> {
+            final int next = NEXT_INDEX.getAndUpdate(i -> Math.min(i + 1, MAX_INDEXED_ROLES));
+            return next < MAX_INDEXED_ROLES ? next : null;
+        });
+    }
+
+    /**
+     * Returns whether the two sets have a role in common.
+     */
+    public boolean intersects(final RoleBits other) {
+        final int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        if (unindexed.length == 0 || other.unindexed.length == 0) {
+            return false;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < unindexed.length && j < other.unindexed.length) {
+            final int comparison = unindexed[i].compareTo(other.unindexed[j]);
+            if (comparison == 0) {
+                return true;
+            }
+            if (comparison < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the set holds the role.
+     */
+    public boolean contains(final String role) {
+        if (role == null) {
+            return false;
+        }
+        final Integer index = DICTIONARY.get(role);
+        if (index == null) {
+            return Arrays.binarySearch(unindexed, role) >= 0;
+        }
+        final int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0 && unindexed.length == 0;
+    }
+
+    /**
+     * Returns the number of roles in the set.
+     */
+    public int size() {
+        int size = unindexed.length;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RoleBits)) {
+            return false;
+        }
+        // Words are only added for set bits, so equal sets have arrays of the same length
+        final RoleBits other = (RoleBits) obj;
+        return Arrays.equals(words, other.words) && Arrays.equals(unindexed, other.unindexed);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(words) + Arrays.hashCode(unindexed);
+    }
+}
@@ -10,12 +10,15 @@ import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedTok
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.apache.hc.core5.http.ParseException;
@@ -29,6 +32,7 @@ import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.commons.ConfigConstants;
 import org.opensearch.commons.authuser.util.Base64Helper;
+import org.opensearch.commons.authuser.util.CompactCodec;
 import org.opensearch.core.common.Strings;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
@@ -59,21 +63,28 @@ final public class User implements Writeable, ToXContent {
     private final String requestedTenant;
     @Nullable
     private final String requestedTenantAccess;
+    // Computed on first use, users are immutable
+    private int hash;
+    private RoleBits backendRoleBits;
+    private RoleBits roleBits;
+
+    /** Admin DNs of the last settings passed to {@link #isAdminDn(Settings)}, settings are rarely replaced. */
+    private static volatile AdminDns adminDns = new AdminDns(null, Collections.emptySet());
 
     public User() {
         name = "";
-        backendRoles = new ArrayList<>();
-        roles = new ArrayList<>();
-        customAttributes = new HashMap<>();
+        backendRoles = Collections.emptyList();
+        roles = Collections.emptyList();
+        customAttributes = Collections.emptyMap();
         requestedTenant = null;
         requestedTenantAccess = null;
     }
 
     public User(final String name, final List<String> backendRoles, List<String> roles, Map<String, String> customAttributes) {
         this.name = name;
-        this.backendRoles = backendRoles;
-        this.roles = roles;
-        this.customAttributes = customAttributes;
+        this.backendRoles = immutableList(backendRoles);
+        this.roles = immutableList(roles);
+        this.customAttributes = immutableMap(customAttributes);
         this.requestedTenant = null;
         this.requestedTenantAccess = null;
     }
@@ -81,9 +92,9 @@ final public class User implements Writeable, ToXContent {
     public User(final String name, final List<String> backendRoles, List<String> roles, List<String> customAttNames)
         throws IllegalArgumentException {
         this.name = name;
-        this.backendRoles = backendRoles;
-        this.roles = roles;
-        this.customAttributes = this.convertCustomAttributeNamesToMap(customAttNames);
+        this.backendRoles = immutableList(backendRoles);
+        this.roles = immutableList(roles);
+        this.customAttributes = immutableMap(this.convertCustomAttributeNamesToMap(customAttNames));
         this.requestedTenant = null;
         this.requestedTenantAccess = null;
     }
@@ -96,9 +107,9 @@ final public class User implements Writeable, ToXContent {
         @Nullable final String requestedTenant
     ) {
         this.name = name;
-        this.backendRoles = backendRoles;
-        this.roles = roles;
-        this.customAttributes = customAttributes;
+        this.backendRoles = immutableList(backendRoles);
+        this.roles = immutableList(roles);
+        this.customAttributes = immutableMap(customAttributes);
         this.requestedTenant = requestedTenant;
         this.requestedTenantAccess = null;
     }
@@ -112,9 +123,9 @@ final public class User implements Writeable, ToXContent {
         @Nullable final String requestedTenantAccess
     ) {
         this.name = name;
-        this.backendRoles = backendRoles;
-        this.roles = roles;
-        this.customAttributes = customAttributes;
+        this.backendRoles = immutableList(backendRoles);
+        this.roles = immutableList(roles);
+        this.customAttributes = immutableMap(customAttributes);
         this.requestedTenant = requestedTenant;
         this.requestedTenantAccess = requestedTenantAccess;
     }
@@ -136,16 +147,16 @@ final public class User implements Writeable, ToXContent {
 
         Map<String, Object> mapValue = XContentHelper.convertToMap(JsonXContent.jsonXContent, json, false);
         name = (String) mapValue.get("user_name");
-        backendRoles = (List<String>) mapValue.get("backend_roles");
-        roles = (List<String>) mapValue.get("roles");
+        backendRoles = immutableList((List<String>) mapValue.get("backend_roles"));
+        roles = immutableList((List<String>) mapValue.get("roles"));
 
         Map<String, String> customAttributesFromJson = (Map<String, String>) mapValue.get("custom_attributes");
         List<String> customAttNames = (List<String>) mapValue.get("custom_attribute_names");
 
         if (customAttributesFromJson != null) {
-            customAttributes = customAttributesFromJson;
+            customAttributes = immutableMap(customAttributesFromJson);
         } else {
-            customAttributes = this.convertCustomAttributeNamesToMap(customAttNames);
+            customAttributes = immutableMap(this.convertCustomAttributeNamesToMap(customAttNames));
         }
 
         requestedTenant = (String) mapValue.getOrDefault("user_requested_tenant", null);
@@ -154,10 +165,10 @@ final public class User implements Writeable, ToXContent {
 
     public User(StreamInput in) throws IOException {
         name = in.readString();
-        backendRoles = in.readStringList();
-        roles = in.readStringList();
+        backendRoles = immutableList(in.readStringList());
+        roles = immutableList(in.readStringList());
         List<String> customAttNames = in.readStringList();
-        customAttributes = this.convertCustomAttributeNamesToMap(customAttNames);
+        customAttributes = immutableMap(this.convertCustomAttributeNamesToMap(customAttNames));
         requestedTenant = in.readOptionalString();
         if (in.getVersion().onOrAfter(Version.V_3_2_0)) {
             requestedTenantAccess = in.readOptionalString();
@@ -166,6 +177,14 @@ final public class User implements Writeable, ToXContent {
         }
     }
 
+    /**
+     * Reads a user from the stream, returning the canonical instance if an equal user was read before.
+     * Prefer this over {@link #User(StreamInput)} when reading objects that hold users, such as monitors and alerts.
+     */
+    public static User readFrom(StreamInput in) throws IOException {
+        return UserInterner.intern(new User(in));
+    }
+
     /**
      * Parse the user as XContent into a User
      *
@@ -225,51 +244,97 @@ final public class User implements Writeable, ToXContent {
             }
         }
 
-        return new User(name, backendRoles, roles, customAttributes, requestedTenant, requestedTenantAccess);
+        return UserInterner.intern(new User(name, backendRoles, roles, customAttributes, requestedTenant, requestedTenantAccess));
     }
 
     /**
      * User String format must be pipe separated as : user_name|backendrole1,backendrole2|roles1,role2|tenant|tenantAccess|base64-encoded(serialized(custom atttributes))
+     *
+     * The custom attributes are either encoded with {@link #encodeCustomAttributes(Map)} or, as written by earlier versions,
+     * serialized with {@link Base64Helper#serializeObject(java.io.Serializable)}.
      * @param userString
      * @return
      */
-    @SuppressWarnings("unchecked")
     public static User parse(final String userString) {
         if (Strings.isNullOrEmpty(userString)) {
             return null;
         }
 
-        // Split on unescaped pipes (negative lookbehind for backslash)
-        String[] strs = userString.split("(?<!\\\\)\\|");
-        if ((strs.length == 0) || (Strings.isNullOrEmpty(strs[0]))) {
-            return null;
-        }
-
-        // Unescape the values
-        String userName = unescapePipe(strs[0].trim());
+        String userName = null;
         List<String> backendRoles = new ArrayList<>();
         List<String> roles = new ArrayList<>();
         String requestedTenant = null;
         String requestedTenantAccess = null;
         Map<String, String> customAttributes = new HashMap<>();
 
-        if ((strs.length > 1) && !Strings.isNullOrEmpty(strs[1])) {
-            backendRoles.addAll(Arrays.stream(strs[1].split(",")).map(Utils::unescapePipe).toList());
-        }
-        if ((strs.length > 2) && !Strings.isNullOrEmpty(strs[2])) {
-            roles.addAll(Arrays.stream(strs[2].split(",")).map(Utils::unescapePipe).toList());
-        }
-        if ((strs.length > 3) && !Strings.isNullOrEmpty(strs[3])) {
-            requestedTenant = unescapePipe(strs[3].trim());
+        // Fields end at pipes not preceded by a backslash, empty fields are left to their defaults
+        final int length = userString.length();
+        int field = 0;
+        int start = 0;
+        for (int i = 0; i <= length && field <= 5; i++) {
+            if (i < length && (userString.charAt(i) != '|' || (i > 0 && userString.charAt(i - 1) == '\\'))) {
+                continue;
+            }
+            if (i == start && field == 0) {
+                return null;
+            }
+            if (i > start) {
+                switch (field) {
+                    case 0:
+                        userName = unescapePipe(userString.substring(start, i).trim());
+                        break;
+                    case 1:
+                        splitRoles(userString, start, i, backendRoles);
+                        break;
+                    case 2:
+                        splitRoles(userString, start, i, roles);
+                        break;
+                    case 3:
+                        requestedTenant = unescapePipe(userString.substring(start, i).trim());
+                        break;
+                    case 4:
+                        requestedTenantAccess = userString.substring(start, i).trim();
+                        break;
+                    default:
+                        customAttributes = decodeCustomAttributes(userString.substring(start, i));
+                        break;
+                }
+            }
+            field++;
+            start = i + 1;
         }
-        if ((strs.length > 4) && !Strings.isNullOrEmpty(strs[4])) {
-            requestedTenantAccess = strs[4].trim();
+
+        return UserInterner.intern(new User(userName, backendRoles, roles, customAttributes, requestedTenant, requestedTenantAccess));
+    }
+
+    /**
+     * Adds the comma separated, pipe escaped roles of userString between start and end to the list.
+     * Trailing empty roles are dropped, as by {@link String#split(String)}.
+     */
+    private static void splitRoles(final String userString, final int start, final int end, final List<String> roles) {
+        int from = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || userString.charAt(i) == ',') {
+                roles.add(unescapePipe(userString.substring(from, i)));
+                from = i + 1;
+            }
         }
-        if ((strs.length > 5) && !Strings.isNullOrEmpty(strs[5])) {
-            customAttributes = (Map<String, String>) Base64Helper.deserializeObject(strs[5]);
+        int size = roles.size();
+        while (size > 0 && roles.get(size - 1).isEmpty()) {
+            roles.remove(--size);
         }
+    }
 
-        return new User(userName, backendRoles, roles, customAttributes, requestedTenant, requestedTenantAccess);
+    /**
+     * Encodes custom attributes for the last field of the user string, without JDK serialization.
+     */
+    public static String encodeCustomAttributes(final Map<String, String> customAttributes) {
+        return Base64.getEncoder().encodeToString(CompactCodec.encode(customAttributes));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> decodeCustomAttributes(final String encoded) {
+        return (Map<String, String>) Base64Helper.deserializeObject(encoded);
     }
 
     @Override
@@ -317,6 +382,9 @@ final public class User implements Writeable, ToXContent {
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
         if (!(obj instanceof User)) {
             return false;
         }
@@ -329,6 +397,16 @@ final public class User implements Writeable, ToXContent {
             && (Objects.equals(this.requestedTenantAccess, that.requestedTenantAccess));
     }
 
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = Objects.hash(name, backendRoles, roles, customAttributes, requestedTenant, requestedTenantAccess);
+            hash = result;
+        }
+        return result;
+    }
+
     public String getName() {
         return name;
     }
@@ -359,12 +437,67 @@ final public class User implements Writeable, ToXContent {
         return requestedTenantAccess;
     }
 
+    /**
+     * Returns the backend roles of the user as a {@link RoleBits}, to check for shared backend roles with
+     * {@link RoleBits#intersects(RoleBits)}.
+     */
+    public RoleBits getBackendRoleBits() {
+        RoleBits bits = backendRoleBits;
+        if (bits == null) {
+            bits = RoleBits.of(backendRoles);
+            backendRoleBits = bits;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the roles of the user as a {@link RoleBits}.
+     */
+    public RoleBits getRoleBits() {
+        RoleBits bits = roleBits;
+        if (bits == null) {
+            bits = RoleBits.of(roles);
+            roleBits = bits;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns whether the user has a backend role of the other user.
+     */
+    public boolean sharesBackendRoleWith(User other) {
+        return getBackendRoleBits().intersects(other.getBackendRoleBits());
+    }
+
     public boolean isAdminDn(Settings settings) {
         if (settings == null) {
             return false;
         }
-        List<String> adminDns = settings.getAsList(ConfigConstants.OPENSEARCH_SECURITY_AUTHCZ_ADMIN_DN, Collections.emptyList());
-        return adminDns.contains(this.name);
+        AdminDns cached = adminDns;
+        if (cached.settings != settings) {
+            List<String> dns = settings.getAsList(ConfigConstants.OPENSEARCH_SECURITY_AUTHCZ_ADMIN_DN, Collections.emptyList());
+            cached = new AdminDns(settings, new HashSet<>(dns));
+            adminDns = cached;
+        }
+        return cached.dns.contains(this.name);
+    }
+
+    private static final class AdminDns {
+        private final Settings settings;
+        private final Set<String> dns;
+
+        private AdminDns(Settings settings, Set<String> dns) {
+            this.settings = settings;
+            this.dns = dns;
+        }
+    }
+
+    private static List<String> immutableList(List<String> list) {
+        return list == null ? null : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    private static Map<String, String> immutableMap(Map<String, String> map) {
+        return map == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(map));
     }
 
     private Map<String, String> convertCustomAttributeNamesToMap(List<String> customAttNames) {
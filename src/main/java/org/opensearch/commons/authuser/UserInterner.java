@@ -0,0 +1,103 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.authuser;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical {@link User} instances, shared by the monitors, alerts and workflows read with equal users instead of
+ * each holding its own copy of the user and its roles.
+ *
+ * Users are held weakly, so a user no longer referenced is dropped, and at most {@link #MAX_ENTRIES} are held.
+ * Once full, users not held yet are returned as they are. Lookups do not lock, as users are read on the transport
+ * threads of every request carrying one.
+ */
+final class UserInterner {
+
+    static final int MAX_ENTRIES = 4096;
+
+    private static final ConcurrentMap<Key, Key> USERS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<User> CLEARED = new ReferenceQueue<>();
+
+    private UserInterner() {}
+
+    /**
+     * Returns the canonical instance equal to the given user, which is the user itself if none was held.
+     */
+    static User intern(User user) {
+        if (user == null) {
+            return null;
+        }
+        purge();
+        // Most users read are already held, so the lookup key is not registered with the queue and leaves nothing
+        // for the collector to process once dropped
+        Key existing = USERS.get(new Key(user, null));
+        User canonical = existing == null ? null : existing.get();
+        if (canonical != null) {
+            return canonical;
+        }
+        // The bound is approximate under concurrent interning, which is enough to keep the map from growing unbounded
+        if (USERS.size() < MAX_ENTRIES) {
+            Key key = new Key(user, CLEARED);
+            existing = USERS.putIfAbsent(key, key);
+            canonical = existing == null ? null : existing.get();
+            if (canonical != null) {
+                return canonical;
+            }
+        }
+        return user;
+    }
+
+    static int size() {
+        purge();
+        return USERS.size();
+    }
+
+    /**
+     * Removes the entries of the users that were collected.
+     */
+    private static void purge() {
+        Reference<? extends User> cleared;
+        while ((cleared = CLEARED.poll()) != null) {
+            USERS.remove(cleared);
+        }
+    }
+
+    /**
+     * A weakly held user, equal to the keys of equal users. Once cleared a key is only equal to itself, so that its
+     * entry can still be removed.
+     */
+    private static final class Key extends WeakReference<User> {
+
+        private final int hash;
+
+        Key(User user, ReferenceQueue<User> queue) {
+            super(user, queue);
+            this.hash = user.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key) || hash != ((Key) obj).hash) {
+                return false;
+            }
+            User user = get();
+            return user != null && user.equals(((Key) obj).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
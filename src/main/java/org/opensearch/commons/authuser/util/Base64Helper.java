@@ -25,7 +25,8 @@ import org.opensearch.core.common.Strings;
 
 /**
  * Provides support for Serialization/Deserialization of objects of supported classes into/from Base64 encoded stream
- * using JDK's in-built serialization protocol implemented by the ObjectOutputStream and ObjectInputStream classes.
+ * using JDK's in-built serialization protocol implemented by the ObjectOutputStream and ObjectInputStream classes,
+ * or the smaller and cheaper {@link CompactCodec}. Deserialization tells the two apart and reads both.
  */
 public class Base64Helper {
 
@@ -64,11 +65,35 @@ public class Base64Helper {
         return Base64.getEncoder().encodeToString(bytes);
     }
 
+    /**
+     * Serializes the object with the {@link CompactCodec}, or with JDK serialization if it holds values the codec
+     * does not support. Only nodes that know the codec can deserialize the result.
+     */
+    public static String serializeObjectCompact(final Serializable object) {
+
+        assert object != null;
+
+        final byte[] bytes;
+        try {
+            bytes = CompactCodec.encode(object);
+        } catch (final IllegalArgumentException e) {
+            return serializeObject(object);
+        }
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
     public static Serializable deserializeObject(final String string) {
 
         assert !Strings.isNullOrEmpty(string);
 
         final byte[] bytes = Base64.getDecoder().decode(string);
+        if (CompactCodec.isCompact(bytes)) {
+            try {
+                return (Serializable) CompactCodec.decode(bytes);
+            } catch (final Exception e) {
+                throw new OpenSearchException(e);
+            }
+        }
         final ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
         try (Base64Helper.SafeObjectInputStream in = new Base64Helper.SafeObjectInputStream(bis)) {
             return (Serializable) in.readObject();
@@ -0,0 +1,515 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.authuser.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * A compact tagged binary encoding of the values {@link SafeSerializationUtils} allows, used in place of JDK
+ * serialization for the values exchanged in the thread context such as the custom attributes of a user.
+ * <br/>
+ * Encoded values start with a two byte magic and a version byte. JDK serialization streams start with
+ * {@code 0xACED}, so {@link #isCompact(byte[])} tells the two apart and readers can keep decoding legacy values.
+ * Each value is then written as a tag byte followed by its contents, with lengths as variable length integers.
+ * <br/>
+ * Strings, the boxed integer and floating point types, {@link BigInteger}, {@link BigDecimal}, enums,
+ * {@link InetAddress}, {@link InetSocketAddress}, {@link Pattern}, string and byte arrays, collections and maps of
+ * such values are supported. Maps are decoded as {@link LinkedHashMap}, sets as {@link LinkedHashSet}, other
+ * collections as {@link ArrayList}, and sorted maps and sets without comparator as {@link TreeMap} and {@link TreeSet}.
+ * A collection or map held several times is written once and referred to afterwards, as JDK serialization does.
+ */
+public final class CompactCodec {
+
+    public static final byte VERSION = 1;
+
+    /** Maximum nesting of collections and maps, as the depth limit of the JDK deserialization filter. */
+    static final int MAX_DEPTH = 10;
+
+    private static final byte MAGIC_0 = (byte) 0xC0;
+    private static final byte MAGIC_1 = (byte) 0xDE;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LIST = 2;
+    private static final byte TAG_MAP = 3;
+    private static final byte TAG_INT = 4;
+    private static final byte TAG_LONG = 5;
+    private static final byte TAG_SHORT = 6;
+    private static final byte TAG_BYTE = 7;
+    private static final byte TAG_DOUBLE = 8;
+    private static final byte TAG_FLOAT = 9;
+    private static final byte TAG_BIG_INTEGER = 10;
+    private static final byte TAG_BIG_DECIMAL = 11;
+    private static final byte TAG_SET = 12;
+    private static final byte TAG_SORTED_MAP = 13;
+    private static final byte TAG_SORTED_SET = 14;
+    private static final byte TAG_ENUM = 15;
+    private static final byte TAG_INET_ADDRESS = 16;
+    private static final byte TAG_INET_SOCKET_ADDRESS = 17;
+    private static final byte TAG_PATTERN = 18;
+    private static final byte TAG_STRING_ARRAY = 19;
+    private static final byte TAG_BYTE_ARRAY = 20;
+    private static final byte TAG_REFERENCE = 21;
+
+    private CompactCodec() {}
+
+    /**
+     * Returns whether the bytes hold a value encoded with this codec, rather than a JDK serialization stream.
+     */
+    public static boolean isCompact(final byte[] bytes) {
+        return bytes.length >= 3 && bytes[0] == MAGIC_0 && bytes[1] == MAGIC_1;
+    }
+
+    /**
+     * Encodes a value of a supported type.
+     * @throws IllegalArgumentException if the value or one it holds is of another type, or a collection holds itself
+     */
+    public static byte[] encode(final Object value) {
+        final Output out = new Output();
+        out.writeByte(MAGIC_0);
+        out.writeByte(MAGIC_1);
+        out.writeByte(VERSION);
+        out.writeValue(value);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a value encoded with {@link #encode(Object)}.
+     * @throws IllegalArgumentException if the bytes are not a value encoded with a supported version of this codec
+     */
+    public static Object decode(final byte[] bytes) {
+        if (!isCompact(bytes)) {
+            throw new IllegalArgumentException("Not a compact encoded value");
+        }
+        if (bytes[2] > VERSION) {
+            throw new IllegalArgumentException("Unsupported compact encoding version " + bytes[2]);
+        }
+        final Input in = new Input(bytes, 3);
+        final Object value;
+        try {
+            value = in.readValue(0);
+        } catch (ClassCastException e) {
+            // Keys of a sorted map or set that are not comparable with each other
+            throw new IllegalArgumentException("Invalid compact encoded value", e);
+        }
+        if (in.position != bytes.length) {
+            throw new IllegalArgumentException("Unexpected " + (bytes.length - in.position) + " bytes after compact encoded value");
+        }
+        return value;
+    }
+
+    private static final class Output {
+        private byte[] buffer = new byte[64];
+        private int size;
+        /** Index of every collection and map written, in order. */
+        private final Map<Object, Integer> containers = new IdentityHashMap<>();
+        /** Collections and maps whose elements are being written. */
+        private final Set<Object> writing = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        void writeValue(final Object value) {
+            if (value == null) {
+                writeByte(TAG_NULL);
+                return;
+            }
+            final Class<?> clazz = value.getClass();
+            if (clazz == String.class) {
+                writeByte(TAG_STRING);
+                writeString((String) value);
+            } else if (clazz == Integer.class) {
+                writeByte(TAG_INT);
+                writeZLong((Integer) value);
+            } else if (clazz == Long.class) {
+                writeByte(TAG_LONG);
+                writeZLong((Long) value);
+            } else if (clazz == Short.class) {
+                writeByte(TAG_SHORT);
+                writeZLong((Short) value);
+            } else if (clazz == Byte.class) {
+                writeByte(TAG_BYTE);
+                writeByte((Byte) value);
+            } else if (clazz == Double.class) {
+                writeByte(TAG_DOUBLE);
+                writeFixedLong(Double.doubleToRawLongBits((Double) value));
+            } else if (clazz == Float.class) {
+                writeByte(TAG_FLOAT);
+                writeFixedLong(Float.floatToRawIntBits((Float) value));
+            } else if (clazz == BigInteger.class) {
+                writeByte(TAG_BIG_INTEGER);
+                writeBytes(((BigInteger) value).toByteArray());
+            } else if (clazz == BigDecimal.class) {
+                writeByte(TAG_BIG_DECIMAL);
+                writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+                writeZLong(((BigDecimal) value).scale());
+            } else if (value instanceof Enum) {
+                writeByte(TAG_ENUM);
+                writeString(((Enum<?>) value).getDeclaringClass().getName());
+                writeString(((Enum<?>) value).name());
+            } else if (value instanceof InetAddress) {
+                writeByte(TAG_INET_ADDRESS);
+                writeInetAddress((InetAddress) value);
+            } else if (clazz == InetSocketAddress.class) {
+                final InetSocketAddress address = (InetSocketAddress) value;
+                writeByte(TAG_INET_SOCKET_ADDRESS);
+                if (address.isUnresolved()) {
+                    writeByte((byte) 0);
+                    writeString(address.getHostString());
+                } else {
+                    writeByte((byte) 1);
+                    writeInetAddress(address.getAddress());
+                }
+                writeZLong(address.getPort());
+            } else if (clazz == Pattern.class) {
+                writeByte(TAG_PATTERN);
+                writeString(((Pattern) value).pattern());
+                writeZLong(((Pattern) value).flags());
+            } else if (clazz == String[].class) {
+                final String[] array = (String[]) value;
+                writeByte(TAG_STRING_ARRAY);
+                writeVInt(array.length);
+                for (String element : array) {
+                    writeValue(element);
+                }
+            } else if (clazz == byte[].class) {
+                writeByte(TAG_BYTE_ARRAY);
+                writeBytes((byte[]) value);
+            } else if (value instanceof Map || value instanceof Collection) {
+                writeContainer(value);
+            } else {
+                throw new IllegalArgumentException("Unsupported type for compact encoding " + clazz.getName());
+            }
+        }
+
+        private void writeContainer(final Object value) {
+            final Integer index = containers.get(value);
+            if (index != null) {
+                if (writing.contains(value)) {
+                    throw new IllegalArgumentException("Compact encoding does not support collections holding themselves");
+                }
+                writeByte(TAG_REFERENCE);
+                writeVInt(index);
+                return;
+            }
+            containers.put(value, containers.size());
+            writing.add(value);
+            if (value instanceof Map) {
+                final Map<?, ?> map = (Map<?, ?>) value;
+                writeByte(map instanceof SortedMap && ((SortedMap<?, ?>) map).comparator() == null ? TAG_SORTED_MAP : TAG_MAP);
+                writeVInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else {
+                final Collection<?> collection = (Collection<?>) value;
+                if (collection instanceof SortedSet && ((SortedSet<?>) collection).comparator() == null) {
+                    writeByte(TAG_SORTED_SET);
+                } else {
+                    writeByte(collection instanceof Set ? TAG_SET : TAG_LIST);
+                }
+                writeVInt(collection.size());
+                for (Object element : collection) {
+                    writeValue(element);
+                }
+            }
+            writing.remove(value);
+        }
+
+        private void writeInetAddress(final InetAddress address) {
+            // toString does not resolve the host name, unlike getHostName
+            final String text = address.toString();
+            final int slash = text.indexOf('/');
+            writeString(slash > 0 ? text.substring(0, slash) : "");
+            writeBytes(address.getAddress());
+            writeZLong(address instanceof Inet6Address ? ((Inet6Address) address).getScopeId() : 0);
+        }
+
+        void writeString(final String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeBytes(final byte[] bytes) {
+            writeVInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        /** Writes a signed value zigzag encoded, so that small negative values stay short. */
+        void writeZLong(final long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                writeByte((byte) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            writeByte((byte) zigzag);
+        }
+
+        void writeVInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((byte) value);
+        }
+
+        void writeFixedLong(final long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeByte(final byte value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+        }
+
+        private void ensureCapacity(final int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] bytes;
+        private int position;
+        /** Collections and maps read so far, null while they are still being read. */
+        private final List<Object> containers = new ArrayList<>();
+
+        Input(final byte[] bytes, final int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        Object readValue(final int depth) {
+            final byte tag = readByte();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_STRING:
+                    return readString();
+                case TAG_INT:
+                    return (int) readZLong();
+                case TAG_LONG:
+                    return readZLong();
+                case TAG_SHORT:
+                    return (short) readZLong();
+                case TAG_BYTE:
+                    return readByte();
+                case TAG_DOUBLE:
+                    return Double.longBitsToDouble(readFixedLong());
+                case TAG_FLOAT:
+                    return Float.intBitsToFloat((int) readFixedLong());
+                case TAG_BIG_INTEGER:
+                    return new BigInteger(readBytes());
+                case TAG_BIG_DECIMAL:
+                    return new BigDecimal(new BigInteger(readBytes()), (int) readZLong());
+                case TAG_ENUM:
+                    return readEnum();
+                case TAG_INET_ADDRESS:
+                    return readInetAddress();
+                case TAG_INET_SOCKET_ADDRESS: {
+                    if (readByte() == 0) {
+                        final String host = readString();
+                        return InetSocketAddress.createUnresolved(host, (int) readZLong());
+                    }
+                    final InetAddress address = readInetAddress();
+                    return new InetSocketAddress(address, (int) readZLong());
+                }
+                case TAG_PATTERN: {
+                    final String pattern = readString();
+                    return Pattern.compile(pattern, (int) readZLong());
+                }
+                case TAG_STRING_ARRAY: {
+                    final String[] array = new String[readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        final Object element = readValue(depth + 1);
+                        if (element != null && !(element instanceof String)) {
+                            throw new IllegalArgumentException("Invalid string array element " + element.getClass().getName());
+                        }
+                        array[i] = (String) element;
+                    }
+                    return array;
+                }
+                case TAG_BYTE_ARRAY:
+                    return readBytes();
+                case TAG_REFERENCE: {
+                    final int index = readVInt();
+                    final Object container = index >= 0 && index < containers.size() ? containers.get(index) : null;
+                    if (container == null) {
+                        throw new IllegalArgumentException("Invalid compact encoding reference " + index);
+                    }
+                    return container;
+                }
+                case TAG_LIST:
+                case TAG_SET:
+                case TAG_SORTED_SET:
+                case TAG_MAP:
+                case TAG_SORTED_MAP:
+                    return readContainer(tag, depth + 1);
+                default:
+                    throw new IllegalArgumentException("Unknown compact encoding tag " + tag);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readContainer(final byte tag, final int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Compact encoded value nested deeper than " + MAX_DEPTH);
+            }
+            final int index = containers.size();
+            containers.add(null);
+            final int size = readLength();
+            final Object container;
+            if (tag == TAG_MAP || tag == TAG_SORTED_MAP) {
+                final Map<Object, Object> map = tag == TAG_MAP ? new LinkedHashMap<>() : new TreeMap<>();
+                for (int i = 0; i < size; i++) {
+                    final Object key = readValue(depth);
+                    map.put(key, readValue(depth));
+                }
+                container = map;
+            } else {
+                final Collection<Object> collection;
+                if (tag == TAG_LIST) {
+                    collection = new ArrayList<>(size);
+                } else {
+                    collection = tag == TAG_SET ? new LinkedHashSet<>() : new TreeSet<>();
+                }
+                for (int i = 0; i < size; i++) {
+                    collection.add(readValue(depth));
+                }
+                container = collection;
+            }
+            containers.set(index, container);
+            return container;
+        }
+
+        private Object readEnum() {
+            final String className = readString();
+            final String name = readString();
+            try {
+                final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+                final Class<?> clazz = Class.forName(className, false, loader != null ? loader : CompactCodec.class.getClassLoader());
+                if (!clazz.isEnum()) {
+                    throw new IllegalArgumentException("Not an enum " + className);
+                }
+                for (Object constant : clazz.getEnumConstants()) {
+                    if (((Enum<?>) constant).name().equals(name)) {
+                        return constant;
+                    }
+                }
+                throw new IllegalArgumentException("No enum constant " + className + "." + name);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Unknown enum " + className, e);
+            }
+        }
+
+        private InetAddress readInetAddress() {
+            final String host = readString();
+            final byte[] address = readBytes();
+            final int scopeId = (int) readZLong();
+            try {
+                if (scopeId != 0) {
+                    return Inet6Address.getByAddress(host.isEmpty() ? null : host, address, scopeId);
+                }
+                return InetAddress.getByAddress(host.isEmpty() ? null : host, address);
+            } catch (UnknownHostException e) {
+                throw new IllegalArgumentException("Invalid address of " + address.length + " bytes", e);
+            }
+        }
+
+        String readString() {
+            final int length = readLength();
+            final String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        byte[] readBytes() {
+            final int length = readLength();
+            final byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return value;
+        }
+
+        /** Reads a length, which must fit in the remaining bytes since every element takes at least one byte. */
+        int readLength() {
+            final int length = readVInt();
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException("Invalid compact encoding length " + length);
+            }
+            return length;
+        }
+
+        long readZLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IllegalArgumentException("Invalid compact encoded number");
+        }
+
+        int readVInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Invalid compact encoding length");
+        }
+
+        long readFixedLong() {
+            if (bytes.length - position < Long.BYTES) {
+                throw new IllegalArgumentException("Truncated compact encoded value");
+            }
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        byte readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated compact encoded value");
+            }
+            return bytes[position++];
+        }
+    }
+}
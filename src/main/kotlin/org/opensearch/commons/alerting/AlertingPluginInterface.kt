@@ -30,12 +30,9 @@ import org.opensearch.commons.alerting.action.IndexWorkflowResponse
 import org.opensearch.commons.alerting.action.PublishFindingsRequest
 import org.opensearch.commons.alerting.action.SearchMonitorRequest
 import org.opensearch.commons.alerting.action.SubscribeFindingsResponse
-import org.opensearch.commons.notifications.action.BaseResponse
-import org.opensearch.commons.utils.recreateObject
+import org.opensearch.commons.utils.wrapActionListener
 import org.opensearch.core.action.ActionListener
-import org.opensearch.core.action.ActionResponse
 import org.opensearch.core.common.io.stream.NamedWriteableRegistry
-import org.opensearch.core.common.io.stream.Writeable
 import org.opensearch.transport.client.node.NodeClient
 
 /**
@@ -59,13 +56,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.INDEX_MONITOR_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response, namedWriteableRegistry) {
-                    IndexMonitorResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener, namedWriteableRegistry) { IndexMonitorResponse(it) }
         )
     }
 
@@ -77,13 +68,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.DELETE_MONITOR_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    DeleteMonitorResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { DeleteMonitorResponse(it) }
         )
     }
 
@@ -102,13 +87,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.INDEX_WORKFLOW_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    IndexWorkflowResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { IndexWorkflowResponse(it) }
         )
     }
 
@@ -120,13 +99,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.DELETE_WORKFLOW_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    DeleteWorkflowResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { DeleteWorkflowResponse(it) }
         )
     }
 
@@ -144,13 +117,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.GET_ALERTS_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    GetAlertsResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { GetAlertsResponse(it) }
         )
     }
 
@@ -168,13 +135,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.GET_WORKFLOW_ALERTS_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    GetWorkflowAlertsResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { GetWorkflowAlertsResponse(it) }
         )
     }
 
@@ -192,13 +153,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.GET_WORKFLOW_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    GetWorkflowResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { GetWorkflowResponse(it) }
         )
     }
 
@@ -216,13 +171,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.GET_FINDINGS_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    GetFindingsResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { GetFindingsResponse(it) }
         )
     }
 
@@ -240,13 +189,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.ACKNOWLEDGE_ALERTS_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    AcknowledgeAlertResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { AcknowledgeAlertResponse(it) }
         )
     }
 
@@ -258,13 +201,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.SUBSCRIBE_FINDINGS_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    SubscribeFindingsResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { SubscribeFindingsResponse(it) }
         )
     }
 
@@ -282,13 +219,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.ACKNOWLEDGE_CHAINED_ALERTS_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    AcknowledgeAlertResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { AcknowledgeAlertResponse(it) }
         )
     }
 
@@ -306,13 +237,7 @@ object AlertingPluginInterface {
         client.execute(
             AlertingActions.GET_MONITOR_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    GetMonitorResponse(
-                        it
-                    )
-                }
-            }
+            wrapActionListener(listener) { GetMonitorResponse(it) }
         )
     }
 
@@ -336,21 +261,4 @@ object AlertingPluginInterface {
             listener
         )
     }
-
-    @Suppress("UNCHECKED_CAST")
-    private fun <Response : BaseResponse> wrapActionListener(
-        listener: ActionListener<Response>,
-        recreate: (Writeable) -> Response
-    ): ActionListener<Response> {
-        return object : ActionListener<ActionResponse> {
-            override fun onResponse(response: ActionResponse) {
-                val recreated = response as? Response ?: recreate(response)
-                listener.onResponse(recreated)
-            }
-
-            override fun onFailure(exception: java.lang.Exception) {
-                listener.onFailure(exception)
-            }
-        } as ActionListener<Response>
-    }
 }
@@ -5,15 +5,20 @@
 
 package org.opensearch.commons.alerting.action
 
+import org.opensearch.Version
 import org.opensearch.action.ActionRequest
 import org.opensearch.action.ActionRequestValidationException
 import org.opensearch.action.DocRequest
+import org.opensearch.commons.alerting.model.DocLevelMonitorInput
+import org.opensearch.commons.alerting.model.DocLevelQuery
 import org.opensearch.commons.alerting.model.IndexExecutionContext
 import org.opensearch.commons.alerting.model.Monitor
 import org.opensearch.commons.alerting.model.MonitorMetadata
 import org.opensearch.commons.alerting.model.ScheduledJob
+import org.opensearch.commons.alerting.model.SerializedMonitor
 import org.opensearch.commons.alerting.model.WorkflowRunContext
 import org.opensearch.commons.alerting.util.AlertingConstants
+import org.opensearch.commons.alerting.util.TrustedReads
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
 import org.opensearch.core.index.shard.ShardId
@@ -32,6 +37,28 @@ class DocLevelMonitorFanOutRequest : ActionRequest, DocRequest, ToXContentObject
     val concreteIndicesSeenSoFar: List<String>
     val workflowRunContext: WorkflowRunContext?
 
+    /** Serialized [monitor] shared by the node requests of an execution, if any. */
+    private val serializedMonitor: SerializedMonitor?
+
+    /**
+     * Whether the doc-level queries of [monitor] are sent as their fingerprint only, because the receiving node
+     * holds them in its [DocLevelQuerySetCache]. On the receiving node the request is then read without the queries,
+     * which [DocLevelQuerySetCache.resolve] puts back.
+     */
+    val queriesByFingerprint: Boolean
+
+    /** Fingerprint received with the request, which stands for the queries left out of [monitor]. */
+    private var receivedFingerprint: String? = null
+
+    /** [DocLevelMonitorInput.queriesFingerprint] of the doc-level queries of the monitor, if it has any. */
+    val queriesFingerprint: String?
+        get() = receivedFingerprint ?: docLevelInput(monitor)?.queriesFingerprint
+
+    /**
+     * @param serializedMonitor the serialized [monitor], shared by all node requests of an execution so that the
+     * monitor is serialized once rather than once per node
+     * @param queriesByFingerprint send the doc-level queries as their fingerprint only, see [DocLevelQuerySetCache]
+     */
     constructor(
         monitor: Monitor,
         dryRun: Boolean,
@@ -40,7 +67,9 @@ class DocLevelMonitorFanOutRequest : ActionRequest, DocRequest, ToXContentObject
         indexExecutionContext: IndexExecutionContext?,
         shardIds: List<ShardId>,
         concreteIndicesSeenSoFar: List<String>,
-        workflowRunContext: WorkflowRunContext?
+        workflowRunContext: WorkflowRunContext?,
+        serializedMonitor: SerializedMonitor? = null,
+        queriesByFingerprint: Boolean = false
     ) : super() {
         this.monitor = monitor
         this.dryRun = dryRun
@@ -50,12 +79,25 @@ class DocLevelMonitorFanOutRequest : ActionRequest, DocRequest, ToXContentObject
         this.shardIds = shardIds
         this.concreteIndicesSeenSoFar = concreteIndicesSeenSoFar
         this.workflowRunContext = workflowRunContext
+        this.serializedMonitor = serializedMonitor
+        this.queriesByFingerprint = queriesByFingerprint
         require(false == shardIds.isEmpty()) { }
+        require(serializedMonitor == null || serializedMonitor.monitor === monitor) {
+            "Serialized monitor must be the monitor of the request"
+        }
     }
 
     @Throws(IOException::class)
-    constructor(sin: StreamInput) : this(
-        monitor = Monitor.readFrom(sin)!!,
+    constructor(sin: StreamInput) : this(sin, MonitorHeader.readFrom(sin))
+
+    @Throws(IOException::class)
+    private constructor(sin: StreamInput, header: MonitorHeader) : this(sin, header.monitor, header.withoutQueries) {
+        receivedFingerprint = header.fingerprint
+    }
+
+    @Throws(IOException::class)
+    private constructor(sin: StreamInput, monitor: Monitor, withoutQueries: Boolean) : this(
+        monitor = monitor,
         dryRun = sin.readBoolean(),
         monitorMetadata = MonitorMetadata.readFrom(sin),
         executionId = sin.readString(),
@@ -64,12 +106,40 @@ class DocLevelMonitorFanOutRequest : ActionRequest, DocRequest, ToXContentObject
         workflowRunContext = if (sin.readBoolean()) {
             WorkflowRunContext(sin)
         } else { null },
-        indexExecutionContext = IndexExecutionContext(sin)
+        indexExecutionContext = if (sin.version.onOrAfter(Version.V_3_8_0) && sin.readBoolean()) {
+            IndexExecutionContext(sin, docLevelQueries(monitor))
+        } else {
+            IndexExecutionContext(sin)
+        },
+        queriesByFingerprint = withoutQueries
     )
 
+    /** Whether the index execution context runs the queries of the monitor, which are then not sent twice. */
+    private val sharesMonitorQueries: Boolean by lazy {
+        val contextQueries = indexExecutionContext?.queries
+        val monitorQueries = docLevelQueries(monitor)
+        contextQueries != null && monitorQueries != null &&
+            (contextQueries === monitorQueries || contextQueries == monitorQueries)
+    }
+
     @Throws(IOException::class)
     override fun writeTo(out: StreamOutput) {
-        monitor.writeTo(out)
+        var withoutQueries = false
+        if (out.version.onOrAfter(Version.V_3_8_0)) {
+            val fingerprint = queriesFingerprint
+            out.writeOptionalString(fingerprint)
+            if (fingerprint != null) {
+                withoutQueries = queriesByFingerprint
+                out.writeBoolean(withoutQueries)
+            }
+        }
+        val serializedMonitor = serializedMonitor
+        when {
+            serializedMonitor == null && withoutQueries -> SerializedMonitor.withoutDocLevelQueries(monitor).writeTo(out)
+            serializedMonitor == null -> monitor.writeTo(out)
+            withoutQueries -> serializedMonitor.bytesWithoutQueries(out.version).writeTo(out)
+            else -> serializedMonitor.writeTo(out)
+        }
         out.writeBoolean(dryRun)
         monitorMetadata.writeTo(out)
         out.writeString(executionId)
@@ -77,7 +147,30 @@ class DocLevelMonitorFanOutRequest : ActionRequest, DocRequest, ToXContentObject
         out.writeStringCollection(concreteIndicesSeenSoFar)
         out.writeBoolean(workflowRunContext != null)
         workflowRunContext?.writeTo(out)
-        indexExecutionContext?.writeTo(out)
+        if (out.version.onOrAfter(Version.V_3_8_0)) {
+            out.writeBoolean(sharesMonitorQueries)
+            indexExecutionContext?.writeTo(out, includeQueries = !sharesMonitorQueries)
+        } else {
+            indexExecutionContext?.writeTo(out)
+        }
+    }
+
+    /**
+     * Returns this request with [queries] as the doc-level queries of the monitor, and of the index execution
+     * context if it runs the queries of the monitor.
+     */
+    fun withDocLevelQueries(queries: List<DocLevelQuery>): DocLevelMonitorFanOutRequest {
+        val context = indexExecutionContext
+        return DocLevelMonitorFanOutRequest(
+            SerializedMonitor.withDocLevelQueries(monitor, queries),
+            dryRun,
+            monitorMetadata,
+            executionId,
+            if (context != null && context.queries === docLevelQueries(monitor)) context.copy(queries = queries) else context,
+            shardIds,
+            concreteIndicesSeenSoFar,
+            workflowRunContext
+        )
     }
 
     override fun validate(): ActionRequestValidationException? {
@@ -113,4 +206,34 @@ class DocLevelMonitorFanOutRequest : ActionRequest, DocRequest, ToXContentObject
     override fun type(): String {
         return AlertingConstants.MONITOR_RESOURCE_TYPE
     }
+
+    companion object {
+        private fun docLevelInput(monitor: Monitor): DocLevelMonitorInput? {
+            return monitor.inputs.firstOrNull() as? DocLevelMonitorInput
+        }
+
+        private fun docLevelQueries(monitor: Monitor): List<DocLevelQuery>? {
+            return docLevelInput(monitor)?.queries
+        }
+    }
+
+    /** The monitor of a request as read from the stream, with the fingerprint of its doc-level queries. */
+    private class MonitorHeader(val fingerprint: String?, val withoutQueries: Boolean, val monitor: Monitor) {
+        companion object {
+            @Throws(IOException::class)
+            fun readFrom(sin: StreamInput): MonitorHeader {
+                var fingerprint: String? = null
+                var withoutQueries = false
+                if (sin.version.onOrAfter(Version.V_3_8_0)) {
+                    fingerprint = sin.readOptionalString()
+                    if (fingerprint != null) {
+                        withoutQueries = sin.readBoolean()
+                    }
+                }
+                // Sent by the node running the monitor, which validated it
+                val monitor = TrustedReads.read(sin, (Monitor)::readFrom)!!
+                return MonitorHeader(fingerprint, withoutQueries, monitor)
+            }
+        }
+    }
 }
@@ -5,8 +5,11 @@
 
 package org.opensearch.commons.alerting.action
 
+import org.opensearch.Version
 import org.opensearch.commons.alerting.model.DocumentLevelTriggerRunResult
 import org.opensearch.commons.alerting.model.InputRunResults
+import org.opensearch.commons.alerting.model.ShardCheckpoints
+import org.opensearch.commons.alerting.model.TriggeredDocIds
 import org.opensearch.commons.alerting.util.AlertingException
 import org.opensearch.core.action.ActionResponse
 import org.opensearch.core.common.io.stream.StreamInput
@@ -25,15 +28,22 @@ class DocLevelMonitorFanOutResponse : ActionResponse, ToXContentObject {
     val triggerResults: Map<String, DocumentLevelTriggerRunResult>
     val exception: AlertingException?
 
+    /**
+     * Fingerprint of the doc-level query set the request was sent by, if the node did not hold it and ran nothing.
+     * See [DocLevelQuerySetCache].
+     */
+    val missingQuerySet: String?
+
     @Throws(IOException::class)
     constructor(sin: StreamInput) : this(
         nodeId = sin.readString(),
         executionId = sin.readString(),
         monitorId = sin.readString(),
-        lastRunContexts = sin.readMap()!! as MutableMap<String, Any>,
+        lastRunContexts = ShardCheckpoints.readLastRunContext(sin),
         inputResults = InputRunResults.readFrom(sin),
-        triggerResults = suppressWarning(sin.readMap(StreamInput::readString, DocumentLevelTriggerRunResult::readFrom)),
-        exception = sin.readException()
+        triggerResults = readTriggerResults(sin),
+        exception = sin.readException(),
+        missingQuerySet = if (sin.version.onOrAfter(Version.V_3_8_0)) sin.readOptionalString() else null
     )
 
     constructor(
@@ -43,7 +53,8 @@ class DocLevelMonitorFanOutResponse : ActionResponse, ToXContentObject {
         lastRunContexts: MutableMap<String, Any>,
         inputResults: InputRunResults = InputRunResults(), // partial,
         triggerResults: Map<String, DocumentLevelTriggerRunResult> = mapOf(),
-        exception: AlertingException? = null
+        exception: AlertingException? = null,
+        missingQuerySet: String? = null
     ) : super() {
         this.nodeId = nodeId
         this.executionId = executionId
@@ -52,6 +63,7 @@ class DocLevelMonitorFanOutResponse : ActionResponse, ToXContentObject {
         this.inputResults = inputResults
         this.triggerResults = triggerResults
         this.exception = exception
+        this.missingQuerySet = missingQuerySet
     }
 
     @Throws(IOException::class)
@@ -59,14 +71,36 @@ class DocLevelMonitorFanOutResponse : ActionResponse, ToXContentObject {
         out.writeString(nodeId)
         out.writeString(executionId)
         out.writeString(monitorId)
-        out.writeMap(lastRunContexts)
+        ShardCheckpoints.writeLastRunContext(out, lastRunContexts)
         inputResults.writeTo(out)
-        out.writeMap(
-            triggerResults,
-            StreamOutput::writeString,
-            { stream, stats -> stats.writeTo(stream) }
-        )
+        if (out.version.onOrAfter(Version.V_3_8_0)) {
+            writeCompactTriggerResults(out)
+        } else {
+            out.writeMap(
+                triggerResults,
+                StreamOutput::writeString,
+                { stream, stats -> stats.writeTo(stream) }
+            )
+        }
         out.writeException(exception)
+        if (out.version.onOrAfter(Version.V_3_8_0)) {
+            out.writeOptionalString(missingQuerySet)
+        }
+    }
+
+    /**
+     * Writes the trigger results with their triggered docs in the compact encoding, see [TriggeredDocIds].
+     * The index dictionary shared by all triggers precedes them.
+     */
+    private fun writeCompactTriggerResults(out: StreamOutput) {
+        val dictionary = TriggeredDocIds.Dictionary()
+        val encodedDocs = triggerResults.mapValues { dictionary.encode(it.value.triggeredDocs) }
+        out.writeStringCollection(dictionary.indices)
+        out.writeVInt(triggerResults.size)
+        triggerResults.forEach { (triggerId, result) ->
+            out.writeString(triggerId)
+            result.writeCompactTo(out, encodedDocs.getValue(triggerId))
+        }
     }
 
     @Throws(IOException::class)
@@ -84,6 +118,33 @@ class DocLevelMonitorFanOutResponse : ActionResponse, ToXContentObject {
     }
 
     companion object {
+        /**
+         * Returns the response of a node that ran nothing because it does not hold the doc-level query set
+         * [request] was sent by, i.e. [DocLevelQuerySetCache.resolve] returned null.
+         */
+        fun querySetMissing(nodeId: String, request: DocLevelMonitorFanOutRequest): DocLevelMonitorFanOutResponse {
+            return DocLevelMonitorFanOutResponse(
+                nodeId,
+                request.executionId,
+                request.monitor.id,
+                mutableMapOf(),
+                missingQuerySet = requireNotNull(request.queriesFingerprint) { "Request was not sent by fingerprint" }
+            )
+        }
+
+        /**
+         * Reads the trigger results. From 3.8.0 on the triggered docs of each result are a [TriggeredDocIds], which
+         * the coordinating node can walk without decoding them to Strings.
+         */
+        @Throws(IOException::class)
+        private fun readTriggerResults(sin: StreamInput): Map<String, DocumentLevelTriggerRunResult> {
+            if (!sin.version.onOrAfter(Version.V_3_8_0)) {
+                return suppressWarning(sin.readMap(StreamInput::readString, DocumentLevelTriggerRunResult::readFrom))
+            }
+            val indices = sin.readStringList()
+            return sin.readMap(StreamInput::readString) { DocumentLevelTriggerRunResult(it, indices) }
+        }
+
         @Suppress("UNCHECKED_CAST")
         fun suppressWarning(map: MutableMap<String?, Any?>?): Map<String, DocumentLevelTriggerRunResult> {
             return map as Map<String, DocumentLevelTriggerRunResult>
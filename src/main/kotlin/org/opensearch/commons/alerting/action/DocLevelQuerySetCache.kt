@@ -0,0 +1,112 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.action
+
+import org.opensearch.common.cache.Cache
+import org.opensearch.common.cache.CacheBuilder
+import org.opensearch.common.lifecycle.AbstractLifecycleComponent
+import org.opensearch.commons.alerting.model.DocLevelMonitorInput
+import org.opensearch.commons.alerting.model.DocLevelQuery
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Node-local cache of doc-level query sets keyed by [DocLevelMonitorInput.queriesFingerprint], letting
+ * [DocLevelMonitorFanOutRequest] send a fingerprint instead of queries the receiving node already holds.
+ * The plugin creates one per node and closes it with the node.
+ *
+ * The protocol is:
+ * - The transport handler of the fan-out action passes every request through [resolve]. A request with the full
+ *   queries has them cached under the fingerprint computed on this node.
+ * - The coordinating node records with [markHeldBy] every node that successfully handled such a request, and
+ *   sends later requests to those nodes with `queriesByFingerprint` set when [isHeldBy] says so.
+ * - A node that no longer holds the query set, e.g. because it was evicted or the node restarted, gets null from
+ *   [resolve] and answers with [DocLevelMonitorFanOutResponse.querySetMissing]. The coordinating node recognizes
+ *   the response with [isQuerySetMissing], which also forgets the node, and resends the request with the full
+ *   queries.
+ */
+class DocLevelQuerySetCache : AbstractLifecycleComponent() {
+
+    companion object {
+        /** Upper bound of the number of queries cached by a node, across all query sets. */
+        const val MAX_CACHED_QUERIES = 100_000L
+
+        /** Upper bound of the (node, query set) pairs remembered by a coordinating node. */
+        const val MAX_HELD_QUERY_SETS = 10_000L
+    }
+
+    private val querySets: Cache<String, List<DocLevelQuery>> = CacheBuilder.builder<String, List<DocLevelQuery>>()
+        .setMaximumWeight(MAX_CACHED_QUERIES)
+        .weigher { _, queries -> maxOf(1L, queries.size.toLong()) }
+        .build()
+    private val heldQuerySets: Cache<String, Boolean> = CacheBuilder.builder<String, Boolean>()
+        .setMaximumWeight(MAX_HELD_QUERY_SETS)
+        .build()
+    private val hits = LongAdder()
+    private val misses = LongAdder()
+
+    override fun doStart() {}
+
+    override fun doStop() {}
+
+    override fun doClose() {
+        querySets.invalidateAll()
+        heldQuerySets.invalidateAll()
+    }
+
+    /**
+     * Returns [request] with the doc-level queries it was sent without, or null if this node does not hold them.
+     * Requests carrying their queries are returned as they are, after caching the queries.
+     */
+    fun resolve(request: DocLevelMonitorFanOutRequest): DocLevelMonitorFanOutRequest? {
+        val fingerprint = request.queriesFingerprint ?: return request
+        if (request.queriesByFingerprint) {
+            val queries = querySets.get(fingerprint)
+            if (queries == null) {
+                misses.increment()
+                return null
+            }
+            hits.increment()
+            return request.withDocLevelQueries(queries)
+        }
+        val input = request.monitor.inputs.firstOrNull() as? DocLevelMonitorInput ?: return request
+        // Cached under the fingerprint of the queries received rather than the one sent along with them, so that
+        // a fingerprint always stands for the queries it was computed from
+        querySets.put(input.queriesFingerprint, input.queries)
+        return request
+    }
+
+    /** Records that [nodeId] holds the query set with [fingerprint]. */
+    fun markHeldBy(nodeId: String, fingerprint: String) {
+        heldQuerySets.put(heldKey(nodeId, fingerprint), true)
+    }
+
+    /** Returns whether [nodeId] is known to hold the query set with [fingerprint]. */
+    fun isHeldBy(nodeId: String, fingerprint: String): Boolean {
+        return heldQuerySets.get(heldKey(nodeId, fingerprint)) != null
+    }
+
+    /**
+     * Returns whether [response] reports a query set missing on the node that sent it. If so the node is no longer
+     * considered to hold it and the request should be resent with the full queries.
+     */
+    fun isQuerySetMissing(response: DocLevelMonitorFanOutResponse): Boolean {
+        val fingerprint = response.missingQuerySet ?: return false
+        heldQuerySets.invalidate(heldKey(response.nodeId, fingerprint))
+        return true
+    }
+
+    /**
+     * Hit and miss counters of the node-local query sets.
+     * @property hits requests resolved from the cache
+     * @property misses requests answered with a missing query set because it was not cached
+     * @property size query sets currently cached
+     */
+    data class Stats(val hits: Long, val misses: Long, val size: Int)
+
+    fun stats(): Stats = Stats(hits.sum(), misses.sum(), querySets.count())
+
+    private fun heldKey(nodeId: String, fingerprint: String) = "$nodeId/$fingerprint"
+}
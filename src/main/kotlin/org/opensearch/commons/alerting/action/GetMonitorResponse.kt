@@ -10,6 +10,7 @@ import org.opensearch.commons.alerting.util.IndexUtils.Companion._ID
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._PRIMARY_TERM
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._SEQ_NO
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._VERSION
+import org.opensearch.commons.alerting.util.TrustedReads
 import org.opensearch.commons.notifications.action.BaseResponse
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
@@ -49,7 +50,7 @@ class GetMonitorResponse : BaseResponse {
         seqNo = sin.readLong(), // seqNo
         primaryTerm = sin.readLong(), // primaryTerm
         monitor = if (sin.readBoolean()) {
-            Monitor.readFrom(sin) // monitor
+            TrustedReads.read(sin, (Monitor)::readFrom) // monitor
         } else {
             null
         },
@@ -10,6 +10,7 @@ import org.opensearch.commons.alerting.util.IndexUtils.Companion._ID
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._PRIMARY_TERM
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._SEQ_NO
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._VERSION
+import org.opensearch.commons.alerting.util.TrustedReads
 import org.opensearch.commons.notifications.action.BaseResponse
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
@@ -50,7 +51,7 @@ class GetWorkflowResponse : BaseResponse {
         sin.readLong(), // primaryTerm
         sin.readEnum(RestStatus::class.java), // RestStatus
         if (sin.readBoolean()) {
-            Workflow.readFrom(sin) // monitor
+            TrustedReads.read(sin, (Workflow)::readFrom) // monitor
         } else {
             null
         }
@@ -5,6 +5,7 @@ import org.opensearch.commons.alerting.util.IndexUtils.Companion._ID
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._PRIMARY_TERM
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._SEQ_NO
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._VERSION
+import org.opensearch.commons.alerting.util.TrustedReads
 import org.opensearch.commons.notifications.action.BaseResponse
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
@@ -39,7 +40,7 @@ class IndexMonitorResponse : BaseResponse {
         sin.readLong(), // version
         sin.readLong(), // seqNo
         sin.readLong(), // primaryTerm
-        Monitor.readFrom(sin) as Monitor // monitor
+        TrustedReads.read(sin, (Monitor)::readFrom) as Monitor // monitor
     )
 
     @Throws(IOException::class)
@@ -2,6 +2,7 @@ package org.opensearch.commons.alerting.action
 
 import org.opensearch.commons.alerting.model.Workflow
 import org.opensearch.commons.alerting.util.IndexUtils
+import org.opensearch.commons.alerting.util.TrustedReads
 import org.opensearch.commons.notifications.action.BaseResponse
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
@@ -36,7 +37,7 @@ class IndexWorkflowResponse : BaseResponse {
         sin.readLong(), // version
         sin.readLong(), // seqNo
         sin.readLong(), // primaryTerm
-        Workflow.readFrom(sin) as Workflow // workflow
+        TrustedReads.read(sin, (Workflow)::readFrom) as Workflow // workflow
     )
 
     @Throws(IOException::class)
@@ -0,0 +1,209 @@
+package org.opensearch.commons.alerting.aggregation.bucketselectorext
+
+import org.opensearch.script.Script
+import org.opensearch.script.ScriptType
+
+/**
+ * A bucket selector condition evaluated natively over the values of the buckets, without compiling a script.
+ *
+ * Only the simple conditions bucket-level triggers mostly use are recognized: comparisons `<`, `<=`, `>`, `>=`, `==`
+ * and `!=` between bucket path variables, read as `params.name` or `params['name']`, and numeric literals, combined
+ * with `&&`, `||`, `!` before parentheses and parentheses, e.g. `params.avg_latency >= 500 && params._count > 10`.
+ * A numeric script param can stand in for a literal. All values are compared as doubles, which is how Painless
+ * compares them. [parse] returns null for anything else, which is left to the script, including sources Painless
+ * reads differently, such as `010`, an octal literal, or rejects, such as `!params._count > 10`.
+ *
+ * The script is still compiled for every reduce, so the script settings and compile errors apply as they do to
+ * scripts that are run.
+ */
+internal class BucketSelectorExpression private constructor(
+    private val root: Condition,
+    /** The bucket path variables the condition reads, in the order of the values passed to [test]. */
+    val variables: List<String>
+) {
+
+    /** Returns whether a bucket with the given values of [variables] is selected. */
+    fun test(values: DoubleArray): Boolean = root.test(values)
+
+    private sealed class Condition {
+        abstract fun test(values: DoubleArray): Boolean
+    }
+
+    private class And(private val left: Condition, private val right: Condition) : Condition() {
+        override fun test(values: DoubleArray): Boolean = left.test(values) && right.test(values)
+    }
+
+    private class Or(private val left: Condition, private val right: Condition) : Condition() {
+        override fun test(values: DoubleArray): Boolean = left.test(values) || right.test(values)
+    }
+
+    private class Not(private val condition: Condition) : Condition() {
+        override fun test(values: DoubleArray): Boolean = !condition.test(values)
+    }
+
+    private class Comparison(private val left: Operand, private val operator: String, private val right: Operand) : Condition() {
+        override fun test(values: DoubleArray): Boolean {
+            val l = left.value(values)
+            val r = right.value(values)
+            return when (operator) {
+                "<" -> l < r
+                "<=" -> l <= r
+                ">" -> l > r
+                ">=" -> l >= r
+                "==" -> l == r
+                else -> l != r
+            }
+        }
+    }
+
+    private sealed class Operand {
+        abstract fun value(values: DoubleArray): Double
+    }
+
+    private class Variable(private val index: Int) : Operand() {
+        override fun value(values: DoubleArray): Double = values[index]
+    }
+
+    private class Constant(private val value: Double) : Operand() {
+        override fun value(values: DoubleArray): Double = value
+    }
+
+    /** Recursive descent over the script source, giving up with null on anything outside the recognized grammar. */
+    private class Parser(private val source: String, private val bucketsPathsMap: Map<String, String>, private val params: Map<String, Any>) {
+        private var position = 0
+        val variables = mutableListOf<String>()
+
+        fun parse(): Condition? {
+            val condition = or() ?: return null
+            skipWhitespace()
+            if (position < source.length && source[position] == ';') position++
+            skipWhitespace()
+            return if (position == source.length) condition else null
+        }
+
+        private fun or(): Condition? {
+            var condition = and() ?: return null
+            while (consume("||")) {
+                condition = Or(condition, and() ?: return null)
+            }
+            return condition
+        }
+
+        private fun and(): Condition? {
+            var condition = unary() ?: return null
+            while (consume("&&")) {
+                condition = And(condition, unary() ?: return null)
+            }
+            return condition
+        }
+
+        private fun unary(): Condition? {
+            if (!peek("!=") && consume("!")) {
+                // Painless applies ! to the operand of a comparison, not to the comparison, so !params.a > 1 fails
+                if (!peek("(") && !(peek("!") && !peek("!="))) return null
+                return Not(unary() ?: return null)
+            }
+            if (consume("(")) {
+                val condition = or() ?: return null
+                return if (consume(")")) condition else null
+            }
+            val left = operand() ?: return null
+            val operator = COMPARISON_OPERATORS.firstOrNull { consume(it) } ?: return null
+            val right = operand() ?: return null
+            return Comparison(left, operator, right)
+        }
+
+        private fun operand(): Operand? {
+            skipWhitespace()
+            if (position < source.length && (source[position] == '-' || source[position].isDigit())) return number()
+            if (!consumeWord("params")) return null
+            val name = when {
+                consume(".") -> identifier()
+                consume("[") -> quoted()?.takeIf { consume("]") }
+                else -> null
+            } ?: return null
+            // Bucket path values are put over the script params of the same name
+            if (bucketsPathsMap.containsKey(name)) {
+                val index = variables.indexOf(name)
+                if (index >= 0) return Variable(index)
+                variables.add(name)
+                return Variable(variables.size - 1)
+            }
+            val value = params[name] as? Number ?: return null
+            return Constant(value.toDouble())
+        }
+
+        private fun number(): Operand? {
+            val match = NUMBER.matchAt(source, position) ?: return null
+            position = match.range.last + 1
+            // Literals with a type suffix, e.g. float literals, may not compare like doubles
+            if (position < source.length && (source[position].isLetterOrDigit() || source[position] == '.')) return null
+            // Integer literals with a leading zero are octal in Painless
+            val digits = match.groupValues[1]
+            if (digits.length > 1 && digits[0] == '0' && digits[1].isDigit()) return null
+            return Constant(match.value.toDouble())
+        }
+
+        private fun identifier(): String? {
+            skipWhitespace()
+            val start = position
+            while (position < source.length && (source[position].isLetterOrDigit() || source[position] == '_')) position++
+            return if (position > start && !source[start].isDigit()) source.substring(start, position) else null
+        }
+
+        private fun quoted(): String? {
+            skipWhitespace()
+            if (position >= source.length) return null
+            val quote = source[position]
+            if (quote != '\'' && quote != '"') return null
+            val end = source.indexOf(quote, position + 1)
+            if (end < 0) return null
+            val name = source.substring(position + 1, end)
+            position = end + 1
+            return if (name.contains('\\')) null else name
+        }
+
+        private fun consumeWord(word: String): Boolean {
+            skipWhitespace()
+            val end = position + word.length
+            if (!source.startsWith(word, position)) return false
+            if (end < source.length && (source[end].isLetterOrDigit() || source[end] == '_')) return false
+            position = end
+            return true
+        }
+
+        private fun consume(token: String): Boolean {
+            if (!peek(token)) return false
+            position += token.length
+            return true
+        }
+
+        private fun peek(token: String): Boolean {
+            skipWhitespace()
+            return source.startsWith(token, position)
+        }
+
+        private fun skipWhitespace() {
+            while (position < source.length && source[position].isWhitespace()) position++
+        }
+    }
+
+    companion object {
+        /** Longer operators first, so that `<=` is not read as `<`. */
+        private val COMPARISON_OPERATORS = listOf("<=", ">=", "==", "!=", "<", ">")
+
+        private val NUMBER = Regex("-?(\\d+(\\.\\d+)?([eE][+-]?\\d+)?)")
+
+        /**
+         * Returns the native form of the condition of [script] over the variables of [bucketsPathsMap], or null if the
+         * script is not an inline Painless script or its condition is not one of the recognized ones.
+         */
+        @JvmStatic
+        fun parse(script: Script, bucketsPathsMap: Map<String, String>): BucketSelectorExpression? {
+            if (script.type != ScriptType.INLINE || script.lang != Script.DEFAULT_SCRIPT_LANG) return null
+            val parser = Parser(script.idOrCode, bucketsPathsMap, script.params ?: emptyMap())
+            val condition = parser.parse() ?: return null
+            return BucketSelectorExpression(condition, parser.variables)
+        }
+    }
+}
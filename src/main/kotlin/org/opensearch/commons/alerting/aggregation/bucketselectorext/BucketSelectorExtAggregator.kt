@@ -1,6 +1,7 @@
 package org.opensearch.commons.alerting.aggregation.bucketselectorext
 
 import org.apache.lucene.util.BytesRef
+import org.apache.lucene.util.NumericUtils
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.script.BucketAggregationSelectorScript
 import org.opensearch.script.Script
@@ -57,52 +58,20 @@ class BucketSelectorExtAggregator : SiblingPipelineAggregator {
         }
     }
 
+    /** The parsed [parentBucketPath], which does not change between reduces. */
+    private val parentBucketPathList: List<String> by lazy { AggregationPath.parse(parentBucketPath).pathElementsAsStringList }
+
     override fun doReduce(aggregations: Aggregations, reduceContext: InternalAggregation.ReduceContext): InternalAggregation {
-        val parentBucketPathList = AggregationPath.parse(parentBucketPath).pathElementsAsStringList
         var subAggregations: Aggregations = aggregations
         for (i in 0 until parentBucketPathList.size - 1) {
             subAggregations = subAggregations.get<SingleBucketAggregation>(parentBucketPathList[0]).aggregations
         }
         val originalAgg = subAggregations.get(parentBucketPathList.last()) as InternalMultiBucketAggregation<*, *>
         val buckets = originalAgg.buckets
-        val factory = reduceContext.scriptService().compile(script, BucketAggregationSelectorScript.CONTEXT)
+        val plan = ReducePlan(reduceContext)
         val selectedBucketsIndex: MutableList<Int> = ArrayList()
         for (i in buckets.indices) {
-            val bucket = buckets[i]
-            if (bucketSelectorExtFilter != null) {
-                var accepted = true
-                if (bucketSelectorExtFilter!!.isCompositeAggregation) {
-                    val compBucketKeyObj = (bucket as InternalComposite.InternalBucket).key
-                    val filtersMap: HashMap<String, IncludeExclude>? = bucketSelectorExtFilter!!.filtersMap
-                    for (sourceKey in compBucketKeyObj.keys) {
-                        if (filtersMap != null) {
-                            if (filtersMap.containsKey(sourceKey)) {
-                                val obj = compBucketKeyObj[sourceKey]
-                                accepted = isAccepted(obj!!, filtersMap[sourceKey])
-                                if (!accepted) break
-                            } else {
-                                accepted = false
-                                break
-                            }
-                        }
-                    }
-                } else {
-                    accepted = isAccepted(bucket.key, bucketSelectorExtFilter!!.filters)
-                }
-                if (!accepted) continue
-            }
-
-            val vars: MutableMap<String, Any> = HashMap()
-            if (script.params != null) {
-                vars.putAll(script.params)
-            }
-            for ((varName, bucketsPath) in bucketsPathsMap) {
-                val value = BucketHelpers.resolveBucketValue(originalAgg, bucket, bucketsPath, gapPolicy)
-                vars[varName] = value
-            }
-            val executableScript = factory.newInstance(vars)
-            // TODO: can we use one instance of the script for all buckets? it should be stateless?
-            if (executableScript.execute()) {
+            if (plan.select(originalAgg, buckets[i])) {
                 selectedBucketsIndex.add(i)
             }
         }
@@ -115,22 +84,77 @@ class BucketSelectorExtAggregator : SiblingPipelineAggregator {
         )
     }
 
-    private fun isAccepted(obj: Any, filter: IncludeExclude?): Boolean {
-        return when (obj.javaClass) {
-            String::class.java -> {
-                val stringFilter = filter!!.convertToStringFilter(DocValueFormat.RAW)
-                stringFilter.accept(BytesRef(obj as String))
+    /**
+     * The condition of [script] evaluated natively, or null if the script is not one of the simple conditions
+     * [BucketSelectorExpression] recognizes and has to be run.
+     */
+    private val expression: BucketSelectorExpression? by lazy { BucketSelectorExpression.parse(script, bucketsPathsMap) }
+
+    /**
+     * Everything selecting a bucket needs that does not depend on the bucket, prepared once per reduce: the filters
+     * converted per source key, the native [expression] and the compiled script. The script is compiled even when
+     * the expression evaluates every bucket, so that the allowed script types and contexts and compile errors apply as
+     * they do without it. Each bucket still gets its own script instance and variables, since a script may change its
+     * params or keep state, which must not carry over to the next bucket.
+     */
+    private inner class ReducePlan(reduceContext: InternalAggregation.ReduceContext) {
+        private val filter = bucketSelectorExtFilter?.filters?.let { KeyFilter(it) }
+        private val filtersBySourceKey = bucketSelectorExtFilter?.filtersMap?.mapValues { KeyFilter(it.value) }
+        private val isCompositeAggregation = bucketSelectorExtFilter?.isCompositeAggregation == true
+        private val expression = this@BucketSelectorExtAggregator.expression
+        private val expressionPaths = expression?.variables?.map { bucketsPathsMap.getValue(it) }.orEmpty()
+        private val values = DoubleArray(expressionPaths.size)
+        private val factory = reduceContext.scriptService().compile(script, BucketAggregationSelectorScript.CONTEXT)
+
+        fun select(originalAgg: InternalMultiBucketAggregation<*, *>, bucket: InternalMultiBucketAggregation.InternalBucket): Boolean {
+            if (bucketSelectorExtFilter != null && !isAccepted(bucket)) return false
+            if (expression != null) {
+                for (i in expressionPaths.indices) {
+                    values[i] = BucketHelpers.resolveBucketValue(originalAgg, bucket, expressionPaths[i], gapPolicy)
+                        ?: return runScript(originalAgg, bucket)
+                }
+                return expression.test(values)
             }
-            java.lang.Long::class.java, Long::class.java -> {
-                val longFilter = filter!!.convertToLongFilter(DocValueFormat.RAW)
-                longFilter.accept(obj as Long)
+            return runScript(originalAgg, bucket)
+        }
+
+        private fun runScript(originalAgg: InternalMultiBucketAggregation<*, *>, bucket: InternalMultiBucketAggregation.InternalBucket): Boolean {
+            val vars: MutableMap<String, Any> = HashMap()
+            if (script.params != null) {
+                vars.putAll(script.params)
             }
-            java.lang.Double::class.java, Double::class.java -> {
-                val doubleFilter = filter!!.convertToDoubleFilter()
-                doubleFilter.accept(obj as Long)
+            for ((varName, bucketsPath) in bucketsPathsMap) {
+                vars[varName] = BucketHelpers.resolveBucketValue(originalAgg, bucket, bucketsPath, gapPolicy)
             }
-            else -> {
-                throw IllegalStateException("Object is not comparable. Please use one of String, Long or Double type.")
+            return factory.newInstance(vars).execute()
+        }
+
+        private fun isAccepted(bucket: InternalMultiBucketAggregation.InternalBucket): Boolean {
+            if (!isCompositeAggregation) return filter!!.accept(bucket.key)
+            val filters = filtersBySourceKey ?: return true
+            for ((sourceKey, value) in (bucket as InternalComposite.InternalBucket).key) {
+                val keyFilter = filters[sourceKey] ?: return false
+                if (!keyFilter.accept(value!!)) return false
+            }
+            return true
+        }
+    }
+
+    /** An [IncludeExclude] converted to the filter of each key type on first use. */
+    private class KeyFilter(private val includeExclude: IncludeExclude) {
+        private val stringFilter by lazy(LazyThreadSafetyMode.NONE) { includeExclude.convertToStringFilter(DocValueFormat.RAW) }
+        private val longFilter by lazy(LazyThreadSafetyMode.NONE) { includeExclude.convertToLongFilter(DocValueFormat.RAW) }
+        private val doubleFilter by lazy(LazyThreadSafetyMode.NONE) { includeExclude.convertToDoubleFilter() }
+
+        fun accept(obj: Any): Boolean {
+            return when (obj.javaClass) {
+                String::class.java -> stringFilter.accept(BytesRef(obj as String))
+                java.lang.Long::class.java, Long::class.java -> longFilter.accept(obj as Long)
+                // The double filter holds doubles as sortable longs
+                java.lang.Double::class.java, Double::class.java -> doubleFilter.accept(NumericUtils.doubleToSortableLong(obj as Double))
+                else -> {
+                    throw IllegalStateException("Object is not comparable. Please use one of String, Long or Double type.")
+                }
             }
         }
     }
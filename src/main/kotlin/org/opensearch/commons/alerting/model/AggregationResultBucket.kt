@@ -1,5 +1,6 @@
 package org.opensearch.commons.alerting.model
 
+import org.opensearch.Version
 import org.opensearch.core.common.ParsingException
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
@@ -16,18 +17,30 @@ import java.util.Locale
 data class AggregationResultBucket(
     val parentBucketPath: String?,
     val bucketKeys: List<String>,
-    val bucket: Map<String, Any>? // TODO: Should reduce contents to only top-level to not include sub-aggs here
+    /** Buckets read from the wire or parsed are [BucketContents], holding sub-aggregations as bytes until read. */
+    val bucket: Map<String, Any>?
 ) : Writeable, ToXContentObject {
 
     @Throws(IOException::class)
-    constructor(sin: StreamInput) : this(sin.readString(), sin.readStringList(), sin.readMap())
+    constructor(sin: StreamInput) : this(
+        sin.readString(),
+        sin.readStringList(),
+        if (sin.version.onOrAfter(Version.V_3_8_0)) sin.readOptionalWriteable(::BucketContents) else sin.readMap()
+    )
 
     override fun writeTo(out: StreamOutput) {
         out.writeString(parentBucketPath)
         out.writeStringCollection(bucketKeys)
-        out.writeMap(bucket)
+        if (out.version.onOrAfter(Version.V_3_8_0)) {
+            out.writeOptionalWriteable(bucket?.let { BucketContents.of(it) })
+        } else {
+            out.writeMap(bucket)
+        }
     }
 
+    /** Returns this bucket with its contents as [BucketContents], for alerts that keep the bucket around. */
+    fun trimmed(): AggregationResultBucket = if (bucket == null || bucket is BucketContents) this else copy(bucket = BucketContents.of(bucket))
+
     override fun toXContent(builder: XContentBuilder, params: ToXContent.Params): XContentBuilder {
         builder.startObject()
         innerXContent(builder)
@@ -38,9 +51,9 @@ data class AggregationResultBucket(
         builder.startObject(CONFIG_NAME)
             .field(PARENTS_BUCKET_PATH, parentBucketPath)
             .field(BUCKET_KEYS, bucketKeys.toTypedArray())
-            .field(BUCKET, bucket)
-            .endObject()
-        return builder
+        // Contents write their sub-aggregations from the bytes they hold
+        if (bucket is BucketContents) builder.field(BUCKET, bucket as ToXContent) else builder.field(BUCKET, bucket)
+        return builder.endObject()
     }
 
     companion object {
@@ -52,7 +65,7 @@ data class AggregationResultBucket(
         fun parse(xcp: XContentParser): AggregationResultBucket {
             var parentBucketPath: String? = null
             var bucketKeys = mutableListOf<String>()
-            var bucket: MutableMap<String, Any>? = null
+            var bucket: Map<String, Any>? = null
             ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp)
 
             if (CONFIG_NAME != xcp.currentName()) {
@@ -77,7 +90,12 @@ data class AggregationResultBucket(
                             bucketKeys.add(xcp.text())
                         }
                     }
-                    BUCKET -> bucket = xcp.map()
+                    BUCKET -> bucket = if (xcp.currentToken() == Token.VALUE_NULL) {
+                        // Read as an empty map, as XContentParser.map() does
+                        BucketContents.of(emptyMap())
+                    } else {
+                        BucketContents.parse(xcp)
+                    }
                 }
             }
             return AggregationResultBucket(parentBucketPath, bucketKeys, bucket)
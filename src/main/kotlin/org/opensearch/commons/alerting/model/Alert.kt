@@ -275,7 +275,7 @@ data class Alert(
         severity = trigger.severity,
         actionExecutionResults = actionExecutionResults,
         schemaVersion = schemaVersion,
-        aggregationResultBucket = aggregationResultBucket,
+        aggregationResultBucket = aggregationResultBucket.trimmed(),
         findingIds = findingIds,
         relatedDocIds = emptyList(),
         executionId = executionId,
@@ -396,7 +396,7 @@ data class Alert(
         monitorName = sin.readString(),
         monitorVersion = sin.readLong(),
         monitorUser = if (sin.readBoolean()) {
-            User(sin)
+            User.readFrom(sin)
         } else {
             null
         },
@@ -49,7 +49,7 @@ open class BaseAlert(
         version = sin.readLong(),
         schemaVersion = sin.readInt(),
         user = if (sin.readBoolean()) {
-            User(sin)
+            User.readFrom(sin)
         } else {
             null
         },
@@ -0,0 +1,183 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.common.xcontent.XContentFactory
+import org.opensearch.common.xcontent.XContentType
+import org.opensearch.commons.utils.createJsonParser
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.common.io.stream.StreamInput
+import org.opensearch.core.common.io.stream.StreamOutput
+import org.opensearch.core.common.io.stream.Writeable
+import org.opensearch.core.xcontent.ToXContent
+import org.opensearch.core.xcontent.ToXContentObject
+import org.opensearch.core.xcontent.XContentBuilder
+import org.opensearch.core.xcontent.XContentParser
+import org.opensearch.core.xcontent.XContentParserUtils
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * The contents of an [AggregationResultBucket], read as the bucket map.
+ *
+ * Only the top-level values of the bucket are held as objects: the doc count, the key, and the single and multi
+ * value metrics whose values are all scalars. Every other entry, such as a sub-aggregation with its own buckets, is
+ * held as the JSON bytes of its value and only parsed when it is read, typically by a template of an action that
+ * uses it. The bytes are written as is to the alert documents and over the transport, so alerts of buckets with
+ * large sub-aggregations do not rebuild nested maps to be indexed or sent.
+ */
+class BucketContents private constructor(
+    private val topLevel: Map<String, Any>,
+    private val subAggregations: Map<String, BytesReference>
+) : AbstractMap<String, Any>(), Writeable, ToXContentObject {
+
+    private val parsed = ConcurrentHashMap<String, Any>()
+
+    @Throws(IOException::class)
+    constructor(sin: StreamInput) : this(
+        suppressWarning(sin.readMap()),
+        sin.readMap(StreamInput::readString, StreamInput::readBytesReference)
+    )
+
+    override val size: Int
+        get() = topLevel.size + subAggregations.size
+
+    override val keys: Set<String>
+        get() = topLevel.keys + subAggregations.keys
+
+    override val entries: Set<Map.Entry<String, Any>>
+        get() {
+            val entries = LinkedHashMap(topLevel)
+            subAggregations.keys.forEach { entries[it] = subAggregation(it) }
+            return entries.entries
+        }
+
+    override fun containsKey(key: String): Boolean = topLevel.containsKey(key) || subAggregations.containsKey(key)
+
+    override fun get(key: String): Any? = topLevel[key] ?: if (subAggregations.containsKey(key)) subAggregation(key) else null
+
+    /** Names of the entries held as bytes until read. */
+    fun subAggregationNames(): Set<String> = subAggregations.keys
+
+    /** Returns the JSON bytes of the entry [name] if it is held as bytes, without parsing them. */
+    internal fun subAggregationBytes(name: String): BytesReference? = subAggregations[name]
+
+    private fun subAggregation(name: String): Any = parsed.computeIfAbsent(name) {
+        subAggregations.getValue(it).streamInput().createJsonParser().use { xcp ->
+            if (xcp.nextToken() == XContentParser.Token.START_ARRAY) xcp.list() else xcp.map()
+        }
+    }
+
+    @Throws(IOException::class)
+    override fun writeTo(out: StreamOutput) {
+        out.writeMap(topLevel)
+        out.writeMap(subAggregations, StreamOutput::writeString, StreamOutput::writeBytesReference)
+    }
+
+    override fun toXContent(builder: XContentBuilder, params: ToXContent.Params): XContentBuilder {
+        builder.startObject()
+        topLevel.forEach { (name, value) -> builder.field(name, value) }
+        subAggregations.forEach { (name, bytes) -> builder.rawField(name, bytes.streamInput(), XContentType.JSON) }
+        return builder.endObject()
+    }
+
+    companion object {
+        /** Returns [bucket] split into its top-level values and the bytes of every other entry. */
+        @JvmStatic
+        fun of(bucket: Map<String, Any>): BucketContents {
+            if (bucket is BucketContents) return bucket
+            val topLevel = LinkedHashMap<String, Any>()
+            val subAggregations = LinkedHashMap<String, BytesReference>()
+            bucket.forEach { (name, value) ->
+                if (isTopLevel(value)) {
+                    topLevel[name] = value
+                } else {
+                    subAggregations[name] = BytesReference.bytes(XContentFactory.jsonBuilder().value(value))
+                }
+            }
+            return BucketContents(topLevel, subAggregations)
+        }
+
+        /**
+         * Parses the bucket object [xcp] is at. The sub-aggregations are copied from the parser to their bytes as
+         * they are, without building their maps, and only the top-level values are materialized.
+         */
+        @JvmStatic
+        @Throws(IOException::class)
+        fun parse(xcp: XContentParser): BucketContents {
+            XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp)
+            val topLevel = LinkedHashMap<String, Any?>()
+            val subAggregations = LinkedHashMap<String, BytesReference>()
+            while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+                val name = xcp.currentName()
+                when (xcp.nextToken()) {
+                    XContentParser.Token.START_ARRAY ->
+                        subAggregations[name] = BytesReference.bytes(XContentFactory.jsonBuilder().copyCurrentStructure(xcp))
+                    XContentParser.Token.START_OBJECT -> parseObject(xcp, name, topLevel, subAggregations)
+                    else -> topLevel[name] = scalarValue(xcp)
+                }
+            }
+            return BucketContents(suppressWarning(topLevel), subAggregations)
+        }
+
+        /**
+         * Parses an object entry of a bucket: a metric with scalar values goes to [topLevel], anything else is copied
+         * to [subAggregations]. Both are read in the same pass, the values up to the first nested one are simply
+         * held both ways until it is known which one the object is.
+         */
+        private fun parseObject(
+            xcp: XContentParser,
+            name: String,
+            topLevel: MutableMap<String, Any?>,
+            subAggregations: MutableMap<String, BytesReference>
+        ) {
+            val builder = XContentFactory.jsonBuilder().startObject()
+            val values = LinkedHashMap<String, Any?>()
+            var nested = false
+            while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+                builder.field(xcp.currentName())
+                val token = xcp.nextToken()
+                if (token == XContentParser.Token.START_OBJECT || token == XContentParser.Token.START_ARRAY) {
+                    nested = true
+                } else if (!nested) {
+                    values[xcp.currentName()] = scalarValue(xcp)
+                }
+                builder.copyCurrentStructure(xcp)
+            }
+            if (nested) {
+                subAggregations[name] = BytesReference.bytes(builder.endObject())
+            } else {
+                topLevel[name] = values
+            }
+        }
+
+        /** Returns the scalar value [xcp] is at, as [XContentParser.map] reads it. */
+        private fun scalarValue(xcp: XContentParser): Any? = when (xcp.currentToken()) {
+            XContentParser.Token.VALUE_NULL -> null
+            XContentParser.Token.VALUE_STRING -> xcp.text()
+            XContentParser.Token.VALUE_NUMBER -> xcp.numberValue()
+            XContentParser.Token.VALUE_BOOLEAN -> xcp.booleanValue()
+            else -> xcp.objectText()
+        }
+
+        @JvmStatic
+        @Throws(IOException::class)
+        fun readFrom(sin: StreamInput): BucketContents {
+            return BucketContents(sin)
+        }
+
+        private fun isTopLevel(value: Any): Boolean = when (value) {
+            is Map<*, *> -> value.values.none { it is Map<*, *> || it is Collection<*> || it is Array<*> }
+            is Collection<*>, is Array<*> -> false
+            else -> true
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        private fun suppressWarning(map: Map<String, Any?>?): Map<String, Any> {
+            return map as Map<String, Any>
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.apache.lucene.util.IntroSorter
+import org.opensearch.common.xcontent.XContentFactory
+import org.opensearch.commons.alerting.util.string
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.common.io.stream.StreamInput
+import org.opensearch.core.common.io.stream.StreamOutput
+import org.opensearch.core.common.io.stream.Writeable
+import org.opensearch.core.xcontent.ToXContent
+import org.opensearch.core.xcontent.ToXContentObject
+import org.opensearch.core.xcontent.XContentBuilder
+import org.opensearch.core.xcontent.XContentParser
+import org.opensearch.core.xcontent.XContentParserUtils
+import java.io.IOException
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.nio.ByteBuffer
+
+/**
+ * Digests of the buckets a bucket-level trigger evaluated in the last run, held in [MonitorMetadata] by trigger id.
+ *
+ * Every bucket is recorded as the [BucketKey.hash] of its key and a digest of its contents. A bucket of the next run
+ * with the same key hash and digest is taken as unchanged, so the runner can keep the outcome of the last run for it
+ * instead of evaluating the trigger condition and reconciling its alert again. Both are 64-bit hashes compared without
+ * the values they were computed from, so a changed bucket is taken as unchanged only if both collide, which is
+ * unlikely but not impossible. The fingerprints also record a digest of the trigger condition and are only valid for
+ * the condition they were taken with, see [isValidFor].
+ *
+ * Fingerprints are held as two arrays of longs sorted by key hash and persisted as their bytes. Buckets whose key
+ * hashes collide within a run are left out, so they are always evaluated.
+ */
+class BucketFingerprints private constructor(
+    /** Digest of the condition of the trigger the buckets were evaluated with. */
+    val conditionDigest: Long,
+    private val keyHashes: LongArray,
+    private val digests: LongArray
+) : Writeable, ToXContentObject {
+
+    @Throws(IOException::class)
+    constructor(sin: StreamInput) : this(sin.readLong(), sin.readLongArray(), sin.readLongArray())
+
+    val size: Int
+        get() = keyHashes.size
+
+    /** Returns whether these fingerprints were taken with the current condition of [trigger]. */
+    fun isValidFor(trigger: BucketLevelTrigger): Boolean = conditionDigest == conditionDigest(trigger)
+
+    /** Returns the digest of the bucket with [key] in the last run, or null if it was not recorded. */
+    fun digest(key: BucketKey): Long? {
+        val index = keyHashes.binarySearch(key.hash)
+        return if (index >= 0) digests[index] else null
+    }
+
+    /** Returns whether [bucket] has the same contents as in the last run. */
+    fun isUnchanged(bucket: AggregationResultBucket): Boolean = digest(BucketKey.of(bucket)) == digest(bucket.bucket)
+
+    /** Returns the buckets of [buckets] that changed or are new since the last run, in their order. */
+    fun changedBuckets(buckets: Collection<AggregationResultBucket>): List<AggregationResultBucket> = buckets.filterNot { isUnchanged(it) }
+
+    @Throws(IOException::class)
+    override fun writeTo(out: StreamOutput) {
+        out.writeLong(conditionDigest)
+        // Key hashes and digests are spread over the whole range, so they are written as fixed length longs
+        out.writeLongArray(keyHashes)
+        out.writeLongArray(digests)
+    }
+
+    override fun toXContent(builder: XContentBuilder, params: ToXContent.Params): XContentBuilder {
+        return builder.startObject()
+            .field(CONDITION_DIGEST_FIELD, conditionDigest)
+            .field(KEY_HASHES_FIELD, toBytes(keyHashes))
+            .field(DIGESTS_FIELD, toBytes(digests))
+            .endObject()
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is BucketFingerprints) return false
+        return conditionDigest == other.conditionDigest && keyHashes.contentEquals(other.keyHashes) && digests.contentEquals(other.digests)
+    }
+
+    override fun hashCode(): Int = 31 * (31 * conditionDigest.hashCode() + keyHashes.contentHashCode()) + digests.contentHashCode()
+
+    override fun toString(): String = "BucketFingerprints(conditionDigest=$conditionDigest, size=$size)"
+
+    /** Collects the fingerprints of the buckets of a run, in any order. */
+    class Builder(trigger: BucketLevelTrigger) {
+        private val conditionDigest = conditionDigest(trigger)
+        private var keyHashes = LongArray(16)
+        private var digests = LongArray(16)
+        private var size = 0
+
+        fun add(bucket: AggregationResultBucket): Builder {
+            if (size == keyHashes.size) {
+                keyHashes = keyHashes.copyOf(size * 2)
+                digests = digests.copyOf(size * 2)
+            }
+            keyHashes[size] = BucketKey.of(bucket).hash
+            digests[size] = digest(bucket.bucket)
+            size++
+            return this
+        }
+
+        fun build(): BucketFingerprints {
+            // Sorts the parallel arrays in place rather than an order of boxed indices, as monitors may have
+            // tens of thousands of buckets
+            object : IntroSorter() {
+                private var pivot = 0L
+
+                override fun swap(i: Int, j: Int) {
+                    val keyHash = keyHashes[i]
+                    keyHashes[i] = keyHashes[j]
+                    keyHashes[j] = keyHash
+                    val digest = digests[i]
+                    digests[i] = digests[j]
+                    digests[j] = digest
+                }
+
+                override fun compare(i: Int, j: Int): Int = keyHashes[i].compareTo(keyHashes[j])
+
+                override fun setPivot(i: Int) {
+                    pivot = keyHashes[i]
+                }
+
+                override fun comparePivot(j: Int): Int = pivot.compareTo(keyHashes[j])
+            }.sort(0, size)
+            val sortedKeyHashes = LongArray(size)
+            val sortedDigests = LongArray(size)
+            var count = 0
+            var i = 0
+            while (i < size) {
+                val keyHash = keyHashes[i]
+                var end = i + 1
+                while (end < size && keyHashes[end] == keyHash) end++
+                if (end == i + 1) {
+                    sortedKeyHashes[count] = keyHash
+                    sortedDigests[count] = digests[i]
+                    count++
+                }
+                i = end
+            }
+            return BucketFingerprints(conditionDigest, sortedKeyHashes.copyOf(count), sortedDigests.copyOf(count))
+        }
+    }
+
+    companion object {
+        const val BUCKET_FINGERPRINTS_FIELD = "bucket_fingerprints"
+        const val CONDITION_DIGEST_FIELD = "condition_digest"
+        const val KEY_HASHES_FIELD = "key_hashes"
+        const val DIGESTS_FIELD = "digests"
+
+        private const val FNV_OFFSET = -0x340d631b7bdddcdbL
+        private const val FNV_PRIME = 0x100000001b3L
+
+        /** Returns the digest of the condition of [trigger], as written in the monitor. */
+        @JvmStatic
+        fun conditionDigest(trigger: BucketLevelTrigger): Long {
+            val builder = XContentFactory.jsonBuilder().startObject()
+            trigger.bucketSelector.internalXContent(builder, ToXContent.EMPTY_PARAMS)
+            return finish(mixString(FNV_OFFSET, builder.endObject().string()))
+        }
+
+        /**
+         * Returns the digest of the contents of a bucket. The top-level values are digested in key order and numbers
+         * by value. Sub-aggregations are digested from the JSON bytes [BucketContents] holds them as, without parsing
+         * them, so that a bucket read back from a document or from [BucketContents] has the digest it had when
+         * searched.
+         */
+        @JvmStatic
+        fun digest(bucket: Map<String, Any>?): Long {
+            if (bucket == null) return finish(mixValue(FNV_OFFSET, null))
+            val contents = BucketContents.of(bucket)
+            var result = mixLong(mixLong(FNV_OFFSET, 5L), contents.size.toLong())
+            for (name in contents.keys.sorted()) {
+                result = mixString(result, name)
+                val bytes = contents.subAggregationBytes(name)
+                result = if (bytes != null) mixBytes(mixLong(result, 9L), bytes) else mixValue(result, contents[name])
+            }
+            return finish(result)
+        }
+
+        @JvmStatic
+        @Throws(IOException::class)
+        fun readFrom(sin: StreamInput): BucketFingerprints {
+            return BucketFingerprints(sin)
+        }
+
+        @JvmStatic
+        @Throws(IOException::class)
+        fun parse(xcp: XContentParser): BucketFingerprints {
+            var conditionDigest = 0L
+            var keyHashes = LongArray(0)
+            var digests = LongArray(0)
+
+            XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp)
+            while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+                val fieldName = xcp.currentName()
+                xcp.nextToken()
+
+                when (fieldName) {
+                    CONDITION_DIGEST_FIELD -> conditionDigest = xcp.longValue()
+                    KEY_HASHES_FIELD -> keyHashes = toLongs(xcp.binaryValue())
+                    DIGESTS_FIELD -> digests = toLongs(xcp.binaryValue())
+                    else -> xcp.skipChildren()
+                }
+            }
+            require(keyHashes.size == digests.size) { "Bucket fingerprints have ${keyHashes.size} key hashes but ${digests.size} digests" }
+            return BucketFingerprints(conditionDigest, keyHashes, digests)
+        }
+
+        private fun toBytes(values: LongArray): ByteArray {
+            val buffer = ByteBuffer.allocate(values.size * java.lang.Long.BYTES)
+            buffer.asLongBuffer().put(values)
+            return buffer.array()
+        }
+
+        private fun toLongs(bytes: ByteArray): LongArray {
+            require(bytes.size % java.lang.Long.BYTES == 0) { "Bucket fingerprints must be a multiple of 8 bytes, got ${bytes.size}" }
+            val values = LongArray(bytes.size / java.lang.Long.BYTES)
+            ByteBuffer.wrap(bytes).asLongBuffer().get(values)
+            return values
+        }
+
+        private fun mixLong(h: Long, value: Long): Long = (h xor value) * FNV_PRIME
+
+        private fun mixString(h: Long, value: String): Long {
+            var result = h
+            for (i in value.indices) result = mixLong(result, value[i].code.toLong())
+            return mixLong(result, value.length.toLong())
+        }
+
+        private fun mixBytes(h: Long, bytes: BytesReference): Long {
+            var result = h
+            val iterator = bytes.iterator()
+            var ref = iterator.next()
+            while (ref != null) {
+                for (i in ref.offset until ref.offset + ref.length) result = mixLong(result, ref.bytes[i].toLong())
+                ref = iterator.next()
+            }
+            return mixLong(result, bytes.length().toLong())
+        }
+
+        /** Digests [value] with a tag per type, so that e.g. a string and a number with the same text differ. */
+        private fun mixValue(h: Long, value: Any?): Long = when (value) {
+            null -> mixLong(h, 0L)
+            is String -> mixString(mixLong(h, 1L), value)
+            is Boolean -> mixLong(mixLong(h, 2L), if (value) 1L else 0L)
+            is Byte, is Short, is Int, is Long -> mixLong(mixLong(h, 3L), (value as Number).toLong())
+            is Float, is Double -> mixDouble(h, (value as Number).toDouble())
+            is BigInteger -> if (value.bitLength() < 64) mixLong(mixLong(h, 3L), value.toLong()) else mixString(mixLong(h, 4L), value.toString())
+            is BigDecimal -> mixDouble(h, value.toDouble())
+            is Map<*, *> -> {
+                var result = mixLong(mixLong(h, 5L), value.size.toLong())
+                value.entries.sortedBy { it.key.toString() }.forEach { (key, entryValue) ->
+                    result = mixValue(mixString(result, key.toString()), entryValue)
+                }
+                result
+            }
+            is Collection<*> -> {
+                var result = mixLong(mixLong(h, 6L), value.size.toLong())
+                value.forEach { result = mixValue(result, it) }
+                result
+            }
+            is Array<*> -> mixValue(h, value.asList())
+            else -> mixString(mixLong(h, 7L), value.toString())
+        }
+
+        /** Whole doubles digest like the long of the same value, since JSON does not keep the number type. */
+        private fun mixDouble(h: Long, value: Double): Long {
+            if (value == Math.rint(value) && Math.abs(value) < 9.2e18) return mixLong(mixLong(h, 3L), value.toLong())
+            return mixLong(mixLong(h, 8L), java.lang.Double.doubleToLongBits(value))
+        }
+
+        /** MurmurHash3 finalizer, FNV alone mixes the low bits poorly. */
+        private fun finish(h: Long): Long {
+            var result = h xor (h ushr 33)
+            result *= -0xae502812aa7333L
+            result = result xor (result ushr 33)
+            result *= -0x3b314601e57a13adL
+            return result xor (result ushr 33)
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.util.getBucketKeysHash
+
+/**
+ * The key values of an aggregation bucket, used to match the buckets of a run with each other and with the alerts of
+ * earlier runs.
+ *
+ * Keys compare value by value, so keys whose values contain `#` do not collide like their joined
+ * [getBucketKeysHash] strings can. The 64-bit [hash] is computed once over the values, which are shared with the
+ * bucket rather than copied. The joined string form is still what is persisted, see [toHashString].
+ */
+class BucketKey(val values: List<String>) {
+
+    /** Hash over every value and its length, so that splitting the same characters differently hashes differently. */
+    val hash: Long = hash(values)
+
+    /** Returns the joined form of the values stored in documents and in [BucketLevelTriggerRunResult] maps. */
+    fun toHashString(): String = getBucketKeysHash(values)
+
+    /** Returns whether the values of this key are [other], without building a key for them. */
+    fun matches(other: List<String>): Boolean {
+        if (values.size != other.size) return false
+        for (i in values.indices) {
+            if (values[i] != other[i]) return false
+        }
+        return true
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is BucketKey) return false
+        return hash == other.hash && matches(other.values)
+    }
+
+    override fun hashCode(): Int = (hash xor (hash ushr 32)).toInt()
+
+    override fun toString(): String = values.toString()
+
+    companion object {
+        private const val FNV_OFFSET = -0x340d631b7bdddcdbL
+        private const val FNV_PRIME = 0x100000001b3L
+
+        /** Returns the key of [bucket]. */
+        @JvmStatic
+        fun of(bucket: AggregationResultBucket): BucketKey = BucketKey(bucket.bucketKeys)
+
+        /** Returns the [hash] of a key with [values], to look them up without building a key. */
+        @JvmStatic
+        fun hash(values: List<String>): Long {
+            var h = FNV_OFFSET
+            for (value in values) {
+                for (i in value.indices) {
+                    h = (h xor value[i].code.toLong()) * FNV_PRIME
+                }
+                h = (h xor value.length.toLong()) * FNV_PRIME
+            }
+            // FNV mixes the low bits poorly, finish with the MurmurHash3 finalizer
+            h = h xor (h ushr 33)
+            h *= -0xae502812aa7333L
+            h = h xor (h ushr 33)
+            h *= -0x3b314601e57a13adL
+            return h xor (h ushr 33)
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+/**
+ * Map from [BucketKey] to the buckets or alerts of a bucket-level monitor, for matching the buckets of a run against
+ * the alerts of earlier runs.
+ *
+ * Entries are kept in flat arrays with linear probing on the precomputed key hash, which is stored next to the key so
+ * that probing only compares the values of keys with the same hash. [get] and [remove] also take the plain key values
+ * of a bucket, so looking a bucket up does not build a key or a joined string. Not thread safe.
+ */
+class BucketKeyMap<V : Any>(expectedSize: Int = 16) {
+    private var keys: Array<BucketKey?>
+    private var values: Array<Any?>
+    private var hashes: LongArray
+    private var mask: Int
+
+    var size: Int = 0
+        private set
+
+    init {
+        require(expectedSize >= 0) { "Expected size must not be negative, got $expectedSize" }
+        val capacity = capacityFor(expectedSize)
+        keys = arrayOfNulls(capacity)
+        values = arrayOfNulls(capacity)
+        hashes = LongArray(capacity)
+        mask = capacity - 1
+    }
+
+    fun isEmpty(): Boolean = size == 0
+
+    operator fun get(key: BucketKey): V? = valueAt(find(key.hash, key.values))
+
+    operator fun get(bucketKeys: List<String>): V? = valueAt(find(BucketKey.hash(bucketKeys), bucketKeys))
+
+    fun containsKey(key: BucketKey): Boolean = find(key.hash, key.values) >= 0
+
+    /** Associates [value] with [key], returning the previous value of the key if any. */
+    fun put(key: BucketKey, value: V): V? {
+        var slot = find(key.hash, key.values)
+        if (slot >= 0) {
+            val previous = valueAt(slot)
+            values[slot] = value
+            return previous
+        }
+        if ((size + 1) * LOAD_FACTOR_DENOMINATOR > keys.size * LOAD_FACTOR_NUMERATOR) grow()
+        slot = key.hash.toInt() and mask
+        while (keys[slot] != null) slot = (slot + 1) and mask
+        keys[slot] = key
+        values[slot] = value
+        hashes[slot] = key.hash
+        size++
+        return null
+    }
+
+    fun remove(key: BucketKey): V? = removeAt(find(key.hash, key.values))
+
+    fun remove(bucketKeys: List<String>): V? = removeAt(find(BucketKey.hash(bucketKeys), bucketKeys))
+
+    fun forEach(action: (key: BucketKey, value: V) -> Unit) {
+        for (slot in keys.indices) {
+            val key = keys[slot] ?: continue
+            action(key, valueAt(slot)!!)
+        }
+    }
+
+    fun values(): List<V> {
+        val result = ArrayList<V>(size)
+        forEach { _, value -> result.add(value) }
+        return result
+    }
+
+    /** Returns the entries keyed by the joined [BucketKey.toHashString] form, as [BucketLevelTriggerRunResult] stores them. */
+    fun toHashStringMap(): Map<String, V> {
+        val result = LinkedHashMap<String, V>(size * 2)
+        forEach { key, value -> result[key.toHashString()] = value }
+        return result
+    }
+
+    private fun find(hash: Long, bucketKeys: List<String>): Int {
+        var slot = hash.toInt() and mask
+        while (true) {
+            val key = keys[slot] ?: return -1
+            if (hashes[slot] == hash && key.matches(bucketKeys)) return slot
+            slot = (slot + 1) and mask
+        }
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun valueAt(slot: Int): V? = if (slot < 0) null else values[slot] as V
+
+    /** Empties [slot] and shifts the following entries of the probe sequence back, so that no tombstones are needed. */
+    private fun removeAt(slot: Int): V? {
+        if (slot < 0) return null
+        val removed = valueAt(slot)
+        var hole = slot
+        var next = (slot + 1) and mask
+        while (keys[next] != null) {
+            val home = hashes[next].toInt() and mask
+            // Move the entry into the hole unless its home slot lies cyclically in (hole, next]
+            if (((next - home) and mask) >= ((next - hole) and mask)) {
+                keys[hole] = keys[next]
+                values[hole] = values[next]
+                hashes[hole] = hashes[next]
+                hole = next
+            }
+            next = (next + 1) and mask
+        }
+        keys[hole] = null
+        values[hole] = null
+        size--
+        return removed
+    }
+
+    private fun grow() {
+        val oldKeys = keys
+        val oldValues = values
+        val oldHashes = hashes
+        val capacity = oldKeys.size * 2
+        keys = arrayOfNulls(capacity)
+        values = arrayOfNulls(capacity)
+        hashes = LongArray(capacity)
+        mask = capacity - 1
+        for (i in oldKeys.indices) {
+            val key = oldKeys[i] ?: continue
+            var slot = oldHashes[i].toInt() and mask
+            while (keys[slot] != null) slot = (slot + 1) and mask
+            keys[slot] = key
+            values[slot] = oldValues[i]
+            hashes[slot] = oldHashes[i]
+        }
+    }
+
+    companion object {
+        /** Tables are grown past three quarters full to keep probe sequences short. */
+        private const val LOAD_FACTOR_NUMERATOR = 3
+        private const val LOAD_FACTOR_DENOMINATOR = 4
+
+        private fun capacityFor(expectedSize: Int): Int {
+            val minimum = maxOf(2, (expectedSize.toLong() * LOAD_FACTOR_DENOMINATOR / LOAD_FACTOR_NUMERATOR + 1).toInt())
+            return Integer.highestOneBit(minimum - 1) shl 1
+        }
+
+        /** Returns the [buckets] by key. */
+        @JvmStatic
+        fun ofBuckets(buckets: Collection<AggregationResultBucket>): BucketKeyMap<AggregationResultBucket> {
+            val map = BucketKeyMap<AggregationResultBucket>(buckets.size)
+            buckets.forEach { map.put(BucketKey.of(it), it) }
+            return map
+        }
+
+        /** Returns the [alerts] by the key of their bucket, skipping alerts without a bucket. */
+        @JvmStatic
+        fun ofAlerts(alerts: Collection<Alert>): BucketKeyMap<Alert> {
+            val map = BucketKeyMap<Alert>(alerts.size)
+            alerts.forEach { alert -> alert.aggregationResultBucket?.let { map.put(BucketKey.of(it), alert) } }
+            return map
+        }
+    }
+}
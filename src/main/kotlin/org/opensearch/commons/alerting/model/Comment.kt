@@ -33,7 +33,7 @@ data class Comment(
         content = sin.readString(),
         createdTime = sin.readInstant(),
         lastUpdatedTime = sin.readOptionalInstant(),
-        user = if (sin.readBoolean()) User(sin) else null
+        user = if (sin.readBoolean()) User.readFrom(sin) else null
     )
 
     constructor(
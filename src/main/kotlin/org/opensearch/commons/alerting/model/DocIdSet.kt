@@ -0,0 +1,246 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.common.io.stream.StreamInput
+import org.opensearch.core.common.io.stream.StreamOutput
+import org.opensearch.core.common.io.stream.Writeable
+import java.io.IOException
+
+/**
+ * Immutable sorted set of doc ids, front coded in a single byte array and read as a sorted list without duplicates.
+ *
+ * Every doc id only stores the characters following the prefix it shares with the previous one, except for the
+ * first id of each block of [BLOCK_SIZE] ids, which is stored whole. [contains] and [indexOf] binary search the
+ * block first ids and decode at most one block, [forEachDocId] and [intersect] walk the ids without creating a
+ * String per id. Since the set is a [List], it can stand in for the doc id lists of [WorkflowRunContext].
+ */
+class DocIdSet private constructor(
+    private val encoded: ByteArray,
+    override val size: Int
+) : AbstractList<String>(), Writeable {
+
+    /** Offsets of the first id of every block. */
+    private val blocks: IntArray = IntArray((size + BLOCK_SIZE - 1) / BLOCK_SIZE).also {
+        val decoder = Decoder(0)
+        for (index in 0 until size) {
+            if (index % BLOCK_SIZE == 0) it[index / BLOCK_SIZE] = decoder.position
+            decoder.skip()
+        }
+    }
+
+    @Throws(IOException::class)
+    constructor(sin: StreamInput) : this(sin.readByteArray(), sin.readVInt())
+
+    /** Size of the encoded doc ids in bytes. */
+    val encodedSize: Int
+        get() = encoded.size
+
+    override fun get(index: Int): String {
+        if (index < 0 || index >= size) throw IndexOutOfBoundsException("Index $index out of bounds for size $size")
+        val decoder = Decoder(blocks[index / BLOCK_SIZE])
+        repeat(index % BLOCK_SIZE + 1) { decoder.next() }
+        return decoder.docId.toString()
+    }
+
+    override fun contains(element: String): Boolean = indexOf(element) >= 0
+
+    override fun indexOf(element: String): Int = indexOf(element as CharSequence)
+
+    override fun lastIndexOf(element: String): Int = indexOf(element)
+
+    override fun iterator(): Iterator<String> = object : Iterator<String> {
+        private val decoder = Decoder(0)
+        private var index = 0
+
+        override fun hasNext(): Boolean = index < size
+
+        override fun next(): String {
+            if (!hasNext()) throw NoSuchElementException()
+            decoder.next()
+            index++
+            return decoder.docId.toString()
+        }
+    }
+
+    /** Returns the position of [docId] in the set, or -1 if it is not in the set. */
+    fun indexOf(docId: CharSequence): Int {
+        if (size == 0) return -1
+        val decoder = Decoder(0)
+        var low = 0
+        var high = blocks.size - 1
+        while (low < high) {
+            val mid = (low + high + 1) ushr 1
+            decoder.position = blocks[mid]
+            decoder.next()
+            if (CharSequence.compare(decoder.docId, docId) <= 0) low = mid else high = mid - 1
+        }
+        decoder.position = blocks[low]
+        var index = low * BLOCK_SIZE
+        val end = minOf(size, index + BLOCK_SIZE)
+        while (index < end) {
+            decoder.next()
+            val comparison = CharSequence.compare(decoder.docId, docId)
+            if (comparison == 0) return index
+            if (comparison > 0) return -1
+            index++
+        }
+        return -1
+    }
+
+    /**
+     * Calls [consumer] with every doc id in ascending order.
+     * The doc id is only valid during the call, copy it with `toString()` to keep it.
+     */
+    fun forEachDocId(consumer: (docId: CharSequence) -> Unit) {
+        val decoder = Decoder(0)
+        repeat(size) {
+            decoder.next()
+            consumer(decoder.docId)
+        }
+    }
+
+    /**
+     * Returns the doc ids in both this set and [other]. Sets of similar size are merged, and a much smaller set is
+     * looked up in the larger one.
+     */
+    fun intersect(other: DocIdSet): DocIdSet {
+        if (size == 0 || other.size == 0) return EMPTY
+        val builder = Builder()
+        val (small, large) = if (size <= other.size) this to other else other to this
+        if (small.size.toLong() * LOOKUP_RATIO < large.size) {
+            small.forEachDocId { if (large.indexOf(it) >= 0) builder.add(it) }
+            return builder.build()
+        }
+        val left = Decoder(0)
+        val right = other.Decoder(0)
+        var leftIndex = 0
+        var rightIndex = 0
+        left.next()
+        right.next()
+        while (true) {
+            val comparison = CharSequence.compare(left.docId, right.docId)
+            if (comparison == 0) builder.add(left.docId)
+            if (comparison <= 0) {
+                if (++leftIndex == size) break
+                left.next()
+            }
+            if (comparison >= 0) {
+                if (++rightIndex == other.size) break
+                right.next()
+            }
+        }
+        return builder.build()
+    }
+
+    @Throws(IOException::class)
+    override fun writeTo(out: StreamOutput) {
+        out.writeByteArray(encoded)
+        out.writeVInt(size)
+    }
+
+    override fun equals(other: Any?): Boolean {
+        // The encoding of a set is unique, so sets compare by their bytes
+        if (other is DocIdSet) return size == other.size && encoded.contentEquals(other.encoded)
+        return super.equals(other)
+    }
+
+    override fun hashCode(): Int = super.hashCode()
+
+    /** Reads the encoded ids from [position] on, keeping the current id in [docId]. */
+    private inner class Decoder(var position: Int) {
+        val docId = StringBuilder()
+
+        fun next() {
+            docId.setLength(readVInt())
+            repeat(readVInt()) { docId.append(readVInt().toChar()) }
+        }
+
+        fun skip() {
+            readVInt()
+            repeat(readVInt()) { readVInt() }
+        }
+
+        private fun readVInt(): Int {
+            var b = encoded[position++].toInt()
+            var value = b and 0x7F
+            var shift = 7
+            while (b and 0x80 != 0) {
+                b = encoded[position++].toInt()
+                value = value or ((b and 0x7F) shl shift)
+                shift += 7
+            }
+            return value
+        }
+    }
+
+    /** Builds a [DocIdSet] from doc ids added in strictly ascending order. */
+    class Builder {
+        private val out = BytesStreamOutput()
+        private val previous = StringBuilder()
+        private var size = 0
+
+        fun add(docId: CharSequence): Builder {
+            if (size > 0) {
+                require(CharSequence.compare(previous, docId) < 0) {
+                    "Doc ids must be added in ascending order without duplicates, got [$docId] after [$previous]"
+                }
+            }
+            val shared = if (size % BLOCK_SIZE == 0) 0 else sharedPrefixLength(previous, docId)
+            out.writeVInt(shared)
+            out.writeVInt(docId.length - shared)
+            for (i in shared until docId.length) {
+                out.writeVInt(docId[i].code)
+            }
+            previous.setLength(shared)
+            previous.append(docId, shared, docId.length)
+            size++
+            return this
+        }
+
+        fun build(): DocIdSet = if (size == 0) EMPTY else DocIdSet(BytesReference.toBytes(out.bytes()), size)
+
+        private fun sharedPrefixLength(a: CharSequence, b: CharSequence): Int {
+            val max = minOf(a.length, b.length)
+            var i = 0
+            while (i < max && a[i] == b[i]) i++
+            return i
+        }
+    }
+
+    companion object {
+        /** Number of ids per block, trading lookup cost against the ids stored whole. */
+        const val BLOCK_SIZE = 16
+
+        /** Sets this many times smaller than the other set are intersected by lookups rather than a merge. */
+        private const val LOOKUP_RATIO = 32
+
+        @JvmField
+        val EMPTY = DocIdSet(ByteArray(0), 0)
+
+        /** Returns the set of [docIds], sorted and without duplicates. */
+        @JvmStatic
+        fun of(docIds: Collection<String>): DocIdSet {
+            if (docIds is DocIdSet) return docIds
+            val sorted = docIds.toTypedArray()
+            sorted.sort()
+            val builder = Builder()
+            for (i in sorted.indices) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) builder.add(sorted[i])
+            }
+            return builder.build()
+        }
+
+        @JvmStatic
+        @Throws(IOException::class)
+        fun readFrom(sin: StreamInput): DocIdSet {
+            val docIds = DocIdSet(sin)
+            return if (docIds.size == 0) EMPTY else docIds
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.action.DocLevelMonitorFanOutResponse
+import org.opensearch.commons.alerting.util.AlertingException
+
+/**
+ * Merges the [DocLevelMonitorFanOutResponse]s of a doc-level monitor execution as they arrive on the coordinating
+ * node, one response per node.
+ *
+ * Last run contexts map each index name to a map of shard id to the last seq no the shard was read up to, next to
+ * entries such as `index` or `shards_count` which are not shard ids. The merged context keeps the max seq no per
+ * shard in a primitive long array per index, and the last value of every other entry. Input results are merged
+ * into one map of query id to doc ids, and trigger results by trigger id with their triggered docs, action results
+ * and errors combined. Responses failed with an exception are only recorded in [failures].
+ *
+ * Index names are interned, so that the merged context holds one copy of each name rather than the copies read from
+ * every response.
+ *
+ * Each response is merged in time linear in its own size, independent of the responses merged before it.
+ * All methods are synchronized on the accumulator.
+ *
+ * @param lastRunContext the last run context the execution started from, merged before any response
+ */
+class DocLevelFanOutAccumulator(lastRunContext: Map<String, Any> = emptyMap()) {
+    private val indices = HashMap<String, IndexContext>()
+    private val queryResults = LinkedHashMap<String, LinkedHashSet<String>>()
+    private var inputError: Exception? = null
+    private val triggers = LinkedHashMap<String, TriggerAccumulator>()
+    private val failures = mutableListOf<AlertingException>()
+    private var responses = 0
+
+    init {
+        mergeLastRunContext(lastRunContext)
+    }
+
+    /** Number of responses added, including failed ones. */
+    @get:Synchronized
+    val responseCount: Int
+        get() = responses
+
+    /** Exceptions of the responses that failed. */
+    @Synchronized
+    fun failures(): List<AlertingException> = failures.toList()
+
+    /** Merges [response] into the accumulated results. */
+    @Synchronized
+    fun add(response: DocLevelMonitorFanOutResponse) {
+        responses++
+        val exception = response.exception
+        if (exception != null) {
+            failures.add(exception)
+            return
+        }
+        mergeLastRunContext(response.lastRunContexts)
+        mergeInputResults(response.inputResults)
+        response.triggerResults.forEach { (triggerId, result) ->
+            triggers.getOrPut(triggerId) { TriggerAccumulator(result.triggerName) }.add(result)
+        }
+    }
+
+    /**
+     * Merges a last run context of index name to shard contexts, keeping the max seq no of every shard.
+     * Index entries that are not maps are ignored.
+     */
+    @Synchronized
+    fun mergeLastRunContext(lastRunContext: Map<String, Any>) {
+        lastRunContext.forEach { (index, context) ->
+            if (context is Map<*, *>) {
+                indices.getOrPut(index) { IndexContext(index.intern()) }.merge(context)
+            }
+        }
+    }
+
+    /** Returns the merged last run context, to be stored as [MonitorMetadata.lastRunContext]. */
+    @Synchronized
+    fun lastRunContext(): MutableMap<String, Any> {
+        val lastRunContext = LinkedHashMap<String, Any>(indices.size * 2)
+        indices.values.forEach { lastRunContext[it.index] = it.toMap() }
+        return lastRunContext
+    }
+
+    /** Returns [metadata] with its last run context replaced by the merged one. */
+    fun updateMetadata(metadata: MonitorMetadata): MonitorMetadata = metadata.copy(lastRunContext = lastRunContext())
+
+    /** Returns the merged input results: a single map of query id to the doc ids it matched, and the first error. */
+    @Synchronized
+    fun inputResults(): InputRunResults {
+        val results = LinkedHashMap<String, Any>(queryResults.size * 2)
+        queryResults.forEach { (queryId, docIds) -> results[queryId] = docIds.toMutableSet() }
+        return InputRunResults(listOf(results), inputError)
+    }
+
+    /** Returns the merged trigger results by trigger id. */
+    @Synchronized
+    fun triggerResults(): Map<String, DocumentLevelTriggerRunResult> {
+        return triggers.mapValuesTo(LinkedHashMap()) { it.value.toResult() }
+    }
+
+    private fun mergeInputResults(inputResults: InputRunResults) {
+        if (inputError == null) inputError = inputResults.error
+        inputResults.results.forEach { result ->
+            result.forEach { (queryId, docIds) ->
+                if (docIds is Collection<*>) {
+                    val merged = queryResults.getOrPut(queryId) { LinkedHashSet() }
+                    docIds.forEach { if (it != null) merged.add(it.toString()) }
+                }
+            }
+        }
+    }
+
+    /** Context of one index: the seq nos of its shards by shard number and its other entries. */
+    private class IndexContext(val index: String) {
+        private var seqNos = LongArray(INITIAL_SHARDS) { NO_SEQ_NO }
+        private var shards = 0
+        private val entries = LinkedHashMap<String, Any>()
+
+        fun merge(context: Map<*, *>) {
+            val checkpoints = ShardCheckpoints.backing(context)
+            if (checkpoints != null) {
+                merge(checkpoints)
+                return
+            }
+            context.forEach { (key, value) ->
+                if (key !is String || value == null) return@forEach
+                val shard = ShardCheckpoints.shardNumber(key)
+                val seqNo = (value as? Number)?.toLong()
+                if (shard < 0 || seqNo == null) {
+                    entries[key] = if (value == index) index else value
+                } else {
+                    mergeShard(shard, seqNo)
+                }
+            }
+        }
+
+        /** Merges checkpoints read from the wire without going through their map view. */
+        private fun merge(checkpoints: ShardCheckpoints) {
+            entries[ShardCheckpoints.INDEX_FIELD] = if (checkpoints.index == index) index else checkpoints.index
+            checkpoints.indexUuid?.let { entries[ShardCheckpoints.INDEX_UUID_FIELD] = it }
+            entries[ShardCheckpoints.SHARDS_COUNT_FIELD] = checkpoints.shardCount
+            for (shard in 0 until checkpoints.shardCount) {
+                val seqNo = checkpoints[shard]
+                if (seqNo != ShardCheckpoints.NO_CHECKPOINT) mergeShard(shard, seqNo)
+            }
+        }
+
+        private fun mergeShard(shard: Int, seqNo: Long) {
+            if (shard >= seqNos.size) {
+                val size = seqNos.size
+                seqNos = seqNos.copyOf(maxOf(shard + 1, size * 2))
+                seqNos.fill(NO_SEQ_NO, size)
+            }
+            if (seqNo > seqNos[shard]) seqNos[shard] = seqNo
+            if (shard >= shards) shards = shard + 1
+        }
+
+        fun toMap(): MutableMap<String, Any> {
+            val map = LinkedHashMap<String, Any>((entries.size + shards) * 2)
+            map.putAll(entries)
+            for (shard in 0 until shards) {
+                if (seqNos[shard] != NO_SEQ_NO) map[shard.toString()] = seqNos[shard]
+            }
+            return map
+        }
+    }
+
+    /** Merged result of one trigger across nodes. */
+    private class TriggerAccumulator(val triggerName: String) {
+        private val triggeredDocs = ArrayList<String>()
+        private val actionResults = LinkedHashMap<String, MutableMap<String, ActionRunResult>>()
+        private val errors = mutableListOf<AlertingException>()
+
+        fun add(result: DocumentLevelTriggerRunResult) {
+            triggeredDocs.addAll(result.triggeredDocs)
+            actionResults.putAll(result.actionResultsMap)
+            result.error?.let { errors.add(it as? AlertingException ?: AlertingException.wrap(it) as AlertingException) }
+        }
+
+        fun toResult(): DocumentLevelTriggerRunResult {
+            val error = if (errors.isEmpty()) null else AlertingException.merge(*errors.toTypedArray())
+            return DocumentLevelTriggerRunResult(triggerName, ArrayList(triggeredDocs), error, LinkedHashMap(actionResults))
+        }
+    }
+
+    private companion object {
+        private const val INITIAL_SHARDS = 8
+
+        /** Marks shards without a seq no, below every seq no including the unassigned ones. */
+        private const val NO_SEQ_NO = Long.MIN_VALUE
+    }
+}
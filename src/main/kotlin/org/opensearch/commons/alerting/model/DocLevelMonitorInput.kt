@@ -11,6 +11,9 @@ import org.opensearch.core.xcontent.XContentBuilder
 import org.opensearch.core.xcontent.XContentParser
 import org.opensearch.core.xcontent.XContentParserUtils
 import java.io.IOException
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+import java.util.HexFormat
 
 data class DocLevelMonitorInput(
     val description: String = NO_DESCRIPTION,
@@ -27,6 +30,12 @@ data class DocLevelMonitorInput(
         if (sin.version.onOrAfter(Version.V_2_15_0)) sin.readOptionalBoolean() else true // fanoutEnabled
     )
 
+    /**
+     * Stable hash over the id, name, fields, query, tags and query field names of every query, in order.
+     * Equal query lists have equal fingerprints on every node, so the fingerprint can stand in for the queries.
+     */
+    val queriesFingerprint: String by lazy { fingerprint(queries) }
+
     override fun asTemplateArg(): Map<String, Any> {
         return mapOf(
             DESCRIPTION_FIELD to description,
@@ -121,6 +130,32 @@ data class DocLevelMonitorInput(
             return DocLevelMonitorInput(description = description, indices = indices, queries = docLevelQueries, fanoutEnabled = fanoutEnabled)
         }
 
+        /** Returns the [queriesFingerprint] of the given queries. */
+        @JvmStatic
+        fun fingerprint(queries: List<DocLevelQuery>): String {
+            val digest = MessageDigest.getInstance("SHA-256")
+            val length = ByteBuffer.allocate(Int.SIZE_BYTES)
+            fun update(value: String) {
+                val bytes = value.toByteArray(Charsets.UTF_8)
+                // Length prefixed, so that moving characters between fields changes the fingerprint
+                digest.update(length.clear().putInt(bytes.size).array())
+                digest.update(bytes)
+            }
+            fun update(values: List<String>) {
+                digest.update(length.clear().putInt(values.size).array())
+                values.forEach { update(it) }
+            }
+            update(queries.map { it.id })
+            for (query in queries) {
+                update(query.name)
+                update(query.fields)
+                update(query.query)
+                update(query.tags)
+                update(query.queryFieldNames)
+            }
+            return HexFormat.of().formatHex(digest.digest())
+        }
+
         @JvmStatic
         @Throws(IOException::class)
         fun readFrom(sin: StreamInput): DocLevelMonitorInput {
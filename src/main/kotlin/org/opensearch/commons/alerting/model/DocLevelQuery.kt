@@ -1,5 +1,6 @@
 package org.opensearch.commons.alerting.model
 
+import org.opensearch.commons.alerting.util.TrustedReads
 import org.opensearch.commons.notifications.model.BaseModel
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
@@ -21,10 +22,12 @@ data class DocLevelQuery(
 ) : BaseModel {
 
     init {
-        // Ensure the name and tags have valid characters
-        validateQueryName(name)
-        for (tag in tags) {
-            validateQueryTag(tag)
+        if (!TrustedReads.isActive) {
+            // Ensure the name and tags have valid characters
+            validateQueryName(name)
+            for (tag in tags) {
+                validateQueryTag(tag)
+            }
         }
     }
 
@@ -28,6 +28,15 @@ data class DocumentLevelTriggerRunResult(
         actionResultsMap = readActionResults(sin)
     )
 
+    /** Reads a result written by [writeCompactTo], whose index names are in [indices]. */
+    @Throws(IOException::class)
+    internal constructor(sin: StreamInput, indices: List<String>) : this(
+        triggerName = sin.readString(),
+        error = sin.readException(),
+        triggeredDocs = TriggeredDocIds(indices, sin.readByteArray(), sin.readVInt()),
+        actionResultsMap = readActionResults(sin)
+    )
+
     override fun internalXContent(builder: XContentBuilder, params: ToXContent.Params): XContentBuilder {
         if (error is ScriptException) error = Exception((error as ScriptException).toJsonString(), error)
         return builder
@@ -39,6 +48,22 @@ data class DocumentLevelTriggerRunResult(
     override fun writeTo(out: StreamOutput) {
         super.writeTo(out)
         out.writeStringCollection(triggeredDocs)
+        writeActionResults(out)
+    }
+
+    /**
+     * Writes the result with its triggered docs in the compact encoding, see [TriggeredDocIds].
+     * @param encodedDocs the triggered docs encoded with the dictionary of the enclosing message
+     */
+    @Throws(IOException::class)
+    internal fun writeCompactTo(out: StreamOutput, encodedDocs: ByteArray) {
+        super.writeTo(out)
+        out.writeByteArray(encodedDocs)
+        out.writeVInt(triggeredDocs.size)
+        writeActionResults(out)
+    }
+
+    private fun writeActionResults(out: StreamOutput) {
         out.writeInt(actionResultsMap.size)
         actionResultsMap.forEach { (alert, actionResults) ->
             out.writeString(alert)
@@ -27,10 +27,17 @@ data class IndexExecutionContext(
 ) : Writeable, ToXContent {
 
     @Throws(IOException::class)
-    constructor(sin: StreamInput) : this(
-        queries = sin.readList { DocLevelQuery(sin) },
-        lastRunContext = sin.readMap() as MutableMap<String, Any>,
-        updatedLastRunContext = sin.readMap() as MutableMap<String, Any>,
+    constructor(sin: StreamInput) : this(sin, null)
+
+    /**
+     * Reads a context written with `includeQueries = false`, running the given [queries], or reads the queries
+     * from the stream if [queries] is null.
+     */
+    @Throws(IOException::class)
+    constructor(sin: StreamInput, queries: List<DocLevelQuery>?) : this(
+        queries = queries ?: sin.readList { DocLevelQuery(sin) },
+        lastRunContext = ShardCheckpoints.readLastRunContext(sin),
+        updatedLastRunContext = ShardCheckpoints.readLastRunContext(sin),
         indexName = sin.readString(),
         concreteIndexName = sin.readString(),
         updatedIndexNames = sin.readStringList(),
@@ -41,9 +48,20 @@ data class IndexExecutionContext(
     )
 
     override fun writeTo(out: StreamOutput?) {
-        out!!.writeCollection(queries)
-        out.writeMap(lastRunContext)
-        out.writeMap(updatedLastRunContext)
+        writeTo(out!!, includeQueries = true)
+    }
+
+    /**
+     * Writes the context, leaving out the queries if [includeQueries] is false. Such contexts are read back with
+     * the queries known to the reader, e.g. the queries of the monitor sent along.
+     */
+    @Throws(IOException::class)
+    fun writeTo(out: StreamOutput, includeQueries: Boolean) {
+        if (includeQueries) {
+            out.writeCollection(queries)
+        }
+        ShardCheckpoints.writeLastRunContext(out, lastRunContext)
+        ShardCheckpoints.writeLastRunContext(out, updatedLastRunContext)
         out.writeString(indexName)
         out.writeString(concreteIndexName)
         out.writeStringCollection(updatedIndexNames)
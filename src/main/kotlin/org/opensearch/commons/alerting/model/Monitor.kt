@@ -8,6 +8,7 @@ import org.opensearch.commons.alerting.util.IndexUtils.Companion.NO_SCHEMA_VERSI
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._ID
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._VERSION
 import org.opensearch.commons.alerting.util.IndexUtils.Companion.supportedClusterMetricsSettings
+import org.opensearch.commons.alerting.util.TrustedReads
 import org.opensearch.commons.alerting.util.instant
 import org.opensearch.commons.alerting.util.isBucketLevelMonitor
 import org.opensearch.commons.alerting.util.isPPLMonitor
@@ -53,78 +54,83 @@ data class Monitor(
     override val type = MONITOR_TYPE
 
     init {
-        // Ensure that trigger ids are unique within a monitor
-        val triggerIds = mutableSetOf<String>()
-        triggers.forEach { trigger ->
-            // NoOpTrigger is only used in "Monitor Error Alerts" as a placeholder
-            require(trigger !is NoOpTrigger)
-
-            require(triggerIds.add(trigger.id)) { "Duplicate trigger id: ${trigger.id}. Trigger ids must be unique." }
-            // Verify Trigger type based on Monitor type
-            when (monitorType) {
-                MonitorType.QUERY_LEVEL_MONITOR.value ->
-                    require(trigger is QueryLevelTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
-                MonitorType.BUCKET_LEVEL_MONITOR.value ->
-                    require(trigger is BucketLevelTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
-                MonitorType.CLUSTER_METRICS_MONITOR.value ->
-                    require(trigger is QueryLevelTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
-                MonitorType.DOC_LEVEL_MONITOR.value ->
-                    require(trigger is DocumentLevelTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
-                MonitorType.PPL_MONITOR.value ->
-                    require(trigger is PPLTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
+        if (!TrustedReads.isActive) {
+            // Ensure that trigger ids are unique within a monitor
+            val triggerIds = mutableSetOf<String>()
+            triggers.forEach { trigger ->
+                // NoOpTrigger is only used in "Monitor Error Alerts" as a placeholder
+                require(trigger !is NoOpTrigger)
+
+                require(triggerIds.add(trigger.id)) { "Duplicate trigger id: ${trigger.id}. Trigger ids must be unique." }
+                // Verify Trigger type based on Monitor type
+                when (monitorType) {
+                    MonitorType.QUERY_LEVEL_MONITOR.value ->
+                        require(trigger is QueryLevelTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
+                    MonitorType.BUCKET_LEVEL_MONITOR.value ->
+                        require(trigger is BucketLevelTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
+                    MonitorType.CLUSTER_METRICS_MONITOR.value ->
+                        require(trigger is QueryLevelTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
+                    MonitorType.DOC_LEVEL_MONITOR.value ->
+                        require(trigger is DocumentLevelTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
+                    MonitorType.PPL_MONITOR.value ->
+                        require(trigger is PPLTrigger) { "Incompatible trigger [${trigger.id}] for monitor type [$monitorType]" }
+                }
             }
-        }
-        if (enabled) {
-            requireNotNull(enabledTime)
-        } else {
-            require(enabledTime == null)
-        }
-        require(inputs.size <= MONITOR_MAX_INPUTS) { "Monitors can only have $MONITOR_MAX_INPUTS search input." }
-        if (this.isBucketLevelMonitor()) {
-            inputs.forEach { input ->
-                require(input is SearchInput) { "Unsupported input [$input] for Monitor" }
-                // TODO: Keeping query validation simple for now, only term aggregations have full support for the "group by" on the
-                //  initial release. Should either add tests for other aggregation types or add validation to prevent using them.
-                require(input.query.aggregations() != null && !input.query.aggregations().aggregatorFactories.isEmpty()) {
-                    "At least one aggregation is required for the input [$input]"
+            if (enabled) {
+                requireNotNull(enabledTime)
+            } else {
+                require(enabledTime == null)
+            }
+            require(inputs.size <= MONITOR_MAX_INPUTS) { "Monitors can only have $MONITOR_MAX_INPUTS search input." }
+            if (this.isBucketLevelMonitor()) {
+                inputs.forEach { input ->
+                    require(input is SearchInput) { "Unsupported input [$input] for Monitor" }
+                    // TODO: Keeping query validation simple for now, only term aggregations have full support for the "group by" on the
+                    //  initial release. Should either add tests for other aggregation types or add validation to prevent using them.
+                    require(input.query.aggregations() != null && !input.query.aggregations().aggregatorFactories.isEmpty()) {
+                        "At least one aggregation is required for the input [$input]"
+                    }
                 }
             }
-        }
 
-        if (this.isPPLMonitor()) {
-            require(inputs.size == 1) { "Exactly 1 PPL query must be specified for PPL Monitor" }
+            if (this.isPPLMonitor()) {
+                require(inputs.size == 1) { "Exactly 1 PPL query must be specified for PPL Monitor" }
 
-            val pplInput = inputs[0]
+                val pplInput = inputs[0]
 
-            require(pplInput is PPLInput) { "Unsupported input [${pplInput.name()}] for PPL Monitor" }
+                require(pplInput is PPLInput) { "Unsupported input [${pplInput.name()}] for PPL Monitor" }
 
-            require(pplInput.queryLanguage == PPLInput.QueryLanguage.PPL) { "SQL queries are not supported. Please use a PPL query." }
+                require(pplInput.queryLanguage == PPLInput.QueryLanguage.PPL) { "SQL queries are not supported. Please use a PPL query." }
 
-            // this is a new check for PPL Alerting specifically, PPL Monitors will enforce
-            // a max name length, but it won't be enforced on other Monitor types to avoid
-            // adding a breaking change
-            require(this.name.length <= ALERTING_MAX_NAME_LENGTH) {
-                "Monitor name too long, length must be at most $ALERTING_MAX_NAME_LENGTH."
-            }
+                // this is a new check for PPL Alerting specifically, PPL Monitors will enforce
+                // a max name length, but it won't be enforced on other Monitor types to avoid
+                // adding a breaking change
+                require(this.name.length <= ALERTING_MAX_NAME_LENGTH) {
+                    "Monitor name too long, length must be at most $ALERTING_MAX_NAME_LENGTH."
+                }
 
-            // this is a new check for PPL Alerting specifically, other Monitor types allow
-            // themselves to be created without any Triggers
-            require(this.triggers.isNotEmpty()) { "PPL Monitor must include at least 1 trigger." }
+                // this is a new check for PPL Alerting specifically, other Monitor types allow
+                // themselves to be created without any Triggers
+                require(this.triggers.isNotEmpty()) { "PPL Monitor must include at least 1 trigger." }
+            }
         }
     }
 
     @Throws(IOException::class)
-    constructor(sin: StreamInput) : this(
-        id = sin.readString(),
+    constructor(sin: StreamInput) : this(sin.readString(), sin)
+
+    @Throws(IOException::class)
+    private constructor(id: String, sin: StreamInput) : this(
+        id = id,
         version = sin.readLong(),
         name = sin.readString(),
         enabled = sin.readBoolean(),
-        schedule = Schedule.readFrom(sin),
+        schedule = Schedule.readFrom(sin).forJob(id),
         lastUpdateTime = sin.readInstant(),
         enabledTime = sin.readOptionalInstant(),
         monitorType = sin.readString(),
         user = if (sin.readBoolean()) {
-            User(sin)
+            User.readFrom(sin)
         } else {
             null
         },
@@ -457,7 +463,7 @@ data class Monitor(
                 version,
                 requireNotNull(name) { "Monitor name is null" },
                 enabled,
-                requireNotNull(schedule) { "Monitor schedule is null" },
+                requireNotNull(schedule) { "Monitor schedule is null" }.forJob(id),
                 lastUpdateTime ?: Instant.now(),
                 enabledTime,
                 monitorType,
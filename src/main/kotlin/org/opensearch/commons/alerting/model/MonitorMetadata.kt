@@ -5,6 +5,8 @@
 
 package org.opensearch.commons.alerting.model
 
+import org.opensearch.Version
+import org.opensearch.commons.alerting.model.BucketFingerprints.Companion.BUCKET_FINGERPRINTS_FIELD
 import org.opensearch.commons.alerting.model.Monitor.Companion.NO_ID
 import org.opensearch.commons.alerting.util.instant
 import org.opensearch.core.common.io.stream.StreamInput
@@ -26,7 +28,9 @@ data class MonitorMetadata(
     val lastActionExecutionTimes: List<ActionExecutionTime>,
     val lastRunContext: Map<String, Any>,
     // Maps (sourceIndex + monitorId) --> concreteQueryIndex
-    val sourceToQueryIndexMapping: MutableMap<String, String> = mutableMapOf()
+    val sourceToQueryIndexMapping: MutableMap<String, String> = mutableMapOf(),
+    // Maps bucket-level triggerId --> digests of the buckets evaluated in the last run
+    val bucketFingerprints: Map<String, BucketFingerprints> = mapOf()
 ) : Writeable, ToXContent {
 
     @Throws(IOException::class)
@@ -36,8 +40,13 @@ data class MonitorMetadata(
         primaryTerm = sin.readLong(),
         monitorId = sin.readString(),
         lastActionExecutionTimes = sin.readList(ActionExecutionTime.Companion::readFrom),
-        lastRunContext = Monitor.suppressWarning(sin.readMap()),
-        sourceToQueryIndexMapping = sin.readMap() as MutableMap<String, String>
+        lastRunContext = ShardCheckpoints.readLastRunContext(sin),
+        sourceToQueryIndexMapping = sin.readMap() as MutableMap<String, String>,
+        bucketFingerprints = if (sin.version.onOrAfter(Version.V_3_8_0)) {
+            sin.readMap(StreamInput::readString, ::BucketFingerprints)
+        } else {
+            mapOf()
+        }
     )
 
     override fun writeTo(out: StreamOutput) {
@@ -46,8 +55,11 @@ data class MonitorMetadata(
         out.writeLong(primaryTerm)
         out.writeString(monitorId)
         out.writeCollection(lastActionExecutionTimes)
-        out.writeMap(lastRunContext)
+        ShardCheckpoints.writeLastRunContext(out, lastRunContext)
         out.writeMap(sourceToQueryIndexMapping as MutableMap<String, Any>)
+        if (out.version.onOrAfter(Version.V_3_8_0)) {
+            out.writeMap(bucketFingerprints, StreamOutput::writeString) { valueOut, fingerprints -> fingerprints.writeTo(valueOut) }
+        }
     }
 
     override fun toXContent(builder: XContentBuilder, params: ToXContent.Params): XContentBuilder {
@@ -59,6 +71,11 @@ data class MonitorMetadata(
         if (sourceToQueryIndexMapping.isNotEmpty()) {
             builder.field(SOURCE_TO_QUERY_INDEX_MAP_FIELD, sourceToQueryIndexMapping as MutableMap<String, Any>)
         }
+        if (bucketFingerprints.isNotEmpty()) {
+            builder.startObject(BUCKET_FINGERPRINTS_FIELD)
+            bucketFingerprints.forEach { (triggerId, fingerprints) -> builder.field(triggerId, fingerprints) }
+            builder.endObject()
+        }
         if (params.paramAsBoolean("with_type", false)) builder.endObject()
         return builder.endObject()
     }
@@ -83,6 +100,7 @@ data class MonitorMetadata(
             val lastActionExecutionTimes = mutableListOf<ActionExecutionTime>()
             var lastRunContext: Map<String, Any> = mapOf()
             var sourceToQueryIndexMapping: MutableMap<String, String> = mutableMapOf()
+            val bucketFingerprints = mutableMapOf<String, BucketFingerprints>()
 
             XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp)
             while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
@@ -97,8 +115,16 @@ data class MonitorMetadata(
                             lastActionExecutionTimes.add(ActionExecutionTime.parse(xcp))
                         }
                     }
-                    LAST_RUN_CONTEXT_FIELD -> lastRunContext = xcp.map()
+                    LAST_RUN_CONTEXT_FIELD -> lastRunContext = ShardCheckpoints.compact(xcp.map())
                     SOURCE_TO_QUERY_INDEX_MAP_FIELD -> sourceToQueryIndexMapping = xcp.map() as MutableMap<String, String>
+                    BUCKET_FINGERPRINTS_FIELD -> {
+                        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp)
+                        while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+                            val triggerId = xcp.currentName()
+                            xcp.nextToken()
+                            bucketFingerprints[triggerId] = BucketFingerprints.parse(xcp)
+                        }
+                    }
                 }
             }
 
@@ -109,7 +135,8 @@ data class MonitorMetadata(
                 monitorId = monitorId,
                 lastActionExecutionTimes = lastActionExecutionTimes,
                 lastRunContext = lastRunContext,
-                sourceToQueryIndexMapping = sourceToQueryIndexMapping
+                sourceToQueryIndexMapping = sourceToQueryIndexMapping,
+                bucketFingerprints = bucketFingerprints
             )
         }
 
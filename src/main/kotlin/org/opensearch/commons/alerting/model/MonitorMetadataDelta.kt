@@ -0,0 +1,175 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.commons.alerting.model.MonitorMetadata.Companion.LAST_ACTION_EXECUTION_FIELD
+import org.opensearch.commons.alerting.model.MonitorMetadata.Companion.LAST_RUN_CONTEXT_FIELD
+import org.opensearch.commons.alerting.model.MonitorMetadata.Companion.METADATA
+import org.opensearch.commons.alerting.model.MonitorMetadata.Companion.SOURCE_TO_QUERY_INDEX_MAP_FIELD
+import org.opensearch.core.common.io.stream.StreamInput
+import org.opensearch.core.common.io.stream.StreamOutput
+import org.opensearch.core.common.io.stream.Writeable
+import org.opensearch.core.xcontent.ToXContent
+import org.opensearch.core.xcontent.XContentBuilder
+import java.io.IOException
+
+/**
+ * The changes of a run to a [MonitorMetadata], persisted as a partial update of the metadata document instead of
+ * rewriting it whole.
+ *
+ * A delta holds, for every index of the last run context, only the entries that changed, typically the seq nos of
+ * the shards that moved, and the whole context of indices new to the metadata. Query index mappings are recorded
+ * when added or changed. The last action execution times are stored as an array, which a partial update replaces as
+ * a whole, so the delta carries the full updated list when any of them changed; monitors only have a few actions.
+ *
+ * [toXContent] writes the partial update body, a partial metadata document that the update merges into the stored
+ * one. Such a merge cannot remove entries, so [between] returns null when the update removes any and the metadata
+ * has to be written whole. The delta is meant to be indexed with the [seqNo] and [primaryTerm] of the base metadata.
+ */
+data class MonitorMetadataDelta(
+    val id: String,
+    val seqNo: Long,
+    val primaryTerm: Long,
+    val lastRunContext: Map<String, Map<String, Any>> = mapOf(),
+    val lastActionExecutionTimes: List<ActionExecutionTime>? = null,
+    val sourceToQueryIndexMapping: Map<String, String> = mapOf()
+) : Writeable, ToXContent {
+
+    @Throws(IOException::class)
+    constructor(sin: StreamInput) : this(
+        id = sin.readString(),
+        seqNo = sin.readLong(),
+        primaryTerm = sin.readLong(),
+        lastRunContext = suppressWarning(ShardCheckpoints.readLastRunContext(sin)),
+        lastActionExecutionTimes = if (sin.readBoolean()) sin.readList(ActionExecutionTime::readFrom) else null,
+        sourceToQueryIndexMapping = sin.readMap(StreamInput::readString, StreamInput::readString)
+    )
+
+    /** Returns whether the delta changes nothing, in which case the metadata does not need to be written. */
+    fun isEmpty(): Boolean = lastRunContext.isEmpty() && lastActionExecutionTimes == null && sourceToQueryIndexMapping.isEmpty()
+
+    /**
+     * Returns [base] with the delta applied, as the stored document reads after the partial update.
+     * The last run context of every changed index is copied, the other indices are shared with [base].
+     */
+    fun applyTo(base: MonitorMetadata): MonitorMetadata {
+        require(base.id == id) { "Delta of metadata [$id] cannot be applied to metadata [${base.id}]" }
+        val mergedContext = LinkedHashMap<String, Any>(base.lastRunContext)
+        lastRunContext.forEach { (index, changes) ->
+            val context = LinkedHashMap<String, Any>()
+            (base.lastRunContext[index] as? Map<*, *>)?.forEach { (key, value) ->
+                if (key is String && value != null) context[key] = value
+            }
+            context.putAll(changes)
+            mergedContext[index] = ShardCheckpoints.of(context)?.asMap() ?: context
+        }
+        val mergedMapping = LinkedHashMap(base.sourceToQueryIndexMapping)
+        mergedMapping.putAll(sourceToQueryIndexMapping)
+        return base.copy(
+            lastActionExecutionTimes = lastActionExecutionTimes ?: base.lastActionExecutionTimes,
+            lastRunContext = mergedContext,
+            sourceToQueryIndexMapping = mergedMapping
+        )
+    }
+
+    @Throws(IOException::class)
+    override fun writeTo(out: StreamOutput) {
+        out.writeString(id)
+        out.writeLong(seqNo)
+        out.writeLong(primaryTerm)
+        ShardCheckpoints.writeLastRunContext(out, lastRunContext)
+        out.writeBoolean(lastActionExecutionTimes != null)
+        lastActionExecutionTimes?.let { out.writeCollection(it) }
+        out.writeMap(sourceToQueryIndexMapping, StreamOutput::writeString, StreamOutput::writeString)
+    }
+
+    /** Writes the partial update body, wrapped in the metadata object when `with_type` is set like [MonitorMetadata]. */
+    override fun toXContent(builder: XContentBuilder, params: ToXContent.Params): XContentBuilder {
+        builder.startObject()
+        if (params.paramAsBoolean("with_type", false)) builder.startObject(METADATA)
+        if (lastRunContext.isNotEmpty()) builder.field(LAST_RUN_CONTEXT_FIELD, lastRunContext)
+        lastActionExecutionTimes?.let { builder.field(LAST_ACTION_EXECUTION_FIELD, it.toTypedArray()) }
+        if (sourceToQueryIndexMapping.isNotEmpty()) builder.field(SOURCE_TO_QUERY_INDEX_MAP_FIELD, sourceToQueryIndexMapping)
+        if (params.paramAsBoolean("with_type", false)) builder.endObject()
+        return builder.endObject()
+    }
+
+    companion object {
+        /**
+         * Returns the changes from [base] to [updated], or null if they cannot be written as a partial update because
+         * [updated] removes an index, a last run context entry or a query index mapping of [base], or changes its
+         * bucket fingerprints, which are replaced whole.
+         */
+        @JvmStatic
+        fun between(base: MonitorMetadata, updated: MonitorMetadata): MonitorMetadataDelta? {
+            require(base.id == updated.id) { "Metadata [${updated.id}] is not an update of metadata [${base.id}]" }
+            if (!updated.lastRunContext.keys.containsAll(base.lastRunContext.keys)) return null
+            if (!updated.sourceToQueryIndexMapping.keys.containsAll(base.sourceToQueryIndexMapping.keys)) return null
+            if (updated.bucketFingerprints != base.bucketFingerprints) return null
+
+            val lastRunContext = LinkedHashMap<String, Map<String, Any>>()
+            for ((index, updatedContext) in updated.lastRunContext) {
+                val baseContext = base.lastRunContext[index]
+                if (baseContext == null) {
+                    lastRunContext[index] = contextEntries(updatedContext) ?: return null
+                    continue
+                }
+                val changes = changedEntries(baseContext, updatedContext) ?: return null
+                if (changes.isNotEmpty()) lastRunContext[index] = changes
+            }
+            val mapping = updated.sourceToQueryIndexMapping.filter { (key, value) -> base.sourceToQueryIndexMapping[key] != value }
+            return MonitorMetadataDelta(
+                id = updated.id,
+                seqNo = base.seqNo,
+                primaryTerm = base.primaryTerm,
+                lastRunContext = lastRunContext,
+                lastActionExecutionTimes = updated.lastActionExecutionTimes.takeIf { it != base.lastActionExecutionTimes },
+                sourceToQueryIndexMapping = mapping
+            )
+        }
+
+        @JvmStatic
+        @Throws(IOException::class)
+        fun readFrom(sin: StreamInput): MonitorMetadataDelta {
+            return MonitorMetadataDelta(sin)
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        fun suppressWarning(map: MutableMap<String, Any>): Map<String, Map<String, Any>> {
+            return map as Map<String, Map<String, Any>>
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        private fun contextEntries(context: Any): Map<String, Any>? = context as? Map<String, Any>
+
+        /**
+         * Returns the entries of [updated] that are new or differ from [base], or null if [updated] drops an entry.
+         * Shard checkpoints on both sides are compared by shard without boxing the unchanged seq nos.
+         */
+        private fun changedEntries(base: Any, updated: Any): Map<String, Any>? {
+            val baseCheckpoints = ShardCheckpoints.backing(base)
+            val updatedCheckpoints = ShardCheckpoints.backing(updated)
+            if (baseCheckpoints != null && updatedCheckpoints != null &&
+                baseCheckpoints.index == updatedCheckpoints.index &&
+                baseCheckpoints.indexUuid == updatedCheckpoints.indexUuid &&
+                baseCheckpoints.shardCount == updatedCheckpoints.shardCount
+            ) {
+                val changes = LinkedHashMap<String, Any>()
+                for (shard in 0 until baseCheckpoints.shardCount) {
+                    val seqNo = updatedCheckpoints[shard]
+                    if (seqNo == baseCheckpoints[shard]) continue
+                    if (seqNo == ShardCheckpoints.NO_CHECKPOINT) return null
+                    changes[shard.toString()] = seqNo
+                }
+                return changes
+            }
+            val baseEntries = base as? Map<*, *> ?: return null
+            val updatedEntries = contextEntries(updated) ?: return null
+            if (!updatedEntries.keys.containsAll(baseEntries.keys)) return null
+            return updatedEntries.filter { (key, value) -> baseEntries[key] != value }
+        }
+    }
+}
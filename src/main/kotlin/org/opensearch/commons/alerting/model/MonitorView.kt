@@ -0,0 +1,234 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.common.xcontent.LoggingDeprecationHandler
+import org.opensearch.common.xcontent.XContentFactory
+import org.opensearch.common.xcontent.XContentType
+import org.opensearch.commons.alerting.model.Monitor.Companion.ENABLED_FIELD
+import org.opensearch.commons.alerting.model.Monitor.Companion.ENABLED_TIME_FIELD
+import org.opensearch.commons.alerting.model.Monitor.Companion.MONITOR_TYPE
+import org.opensearch.commons.alerting.model.Monitor.Companion.MONITOR_TYPE_FIELD
+import org.opensearch.commons.alerting.model.Monitor.Companion.MONITOR_TYPE_PATTERN
+import org.opensearch.commons.alerting.model.Monitor.Companion.NAME_FIELD
+import org.opensearch.commons.alerting.model.Monitor.Companion.NO_ID
+import org.opensearch.commons.alerting.model.Monitor.Companion.NO_VERSION
+import org.opensearch.commons.alerting.model.Monitor.Companion.SCHEDULE_FIELD
+import org.opensearch.commons.alerting.util.instant
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.common.io.stream.StreamInput
+import org.opensearch.core.common.io.stream.StreamOutput
+import org.opensearch.core.common.io.stream.Writeable
+import org.opensearch.core.xcontent.NamedXContentRegistry
+import org.opensearch.core.xcontent.ToXContent
+import org.opensearch.core.xcontent.XContentParser
+import org.opensearch.core.xcontent.XContentParserUtils
+import java.io.IOException
+import java.time.Instant
+
+/**
+ * The name, type and scheduling fields of a [Monitor], with the rest of the monitor decoded on first use.
+ *
+ * Monitor listings and scheduler sweeps mostly need these fields only, while building a [Monitor] parses and validates
+ * every input, trigger, action and script. A view parsed from a monitor document with [parse] stops reading once it
+ * has the scheduling fields and keeps the document bytes, inputs, triggers and ui metadata included, to build the
+ * [Monitor] with [toMonitor] when it is needed. Views are sent over the transport as these fields and the document
+ * bytes, so reading one does not decode any input or trigger either.
+ *
+ * Documents written by [Monitor.toXContent] have the scheduling fields before the inputs, and the last update time
+ * after them, so the view does not hold it. Use [toMonitor] to read it and the other fields the view leaves out.
+ */
+class MonitorView private constructor(
+    val id: String,
+    val version: Long,
+    val name: String,
+    val monitorType: String,
+    val enabled: Boolean,
+    val schedule: Schedule,
+    val enabledTime: Instant?,
+    /** The JSON document of the monitor, or null for a view of a [Monitor] until it is written. */
+    private var source: BytesReference?,
+    /** Whether [source] has the monitor under a `monitor` field, as in the scheduled jobs index. */
+    private val wrapped: Boolean,
+    @Volatile private var monitor: Monitor?
+) : Writeable {
+
+    @Throws(IOException::class)
+    constructor(sin: StreamInput) : this(
+        id = sin.readString(),
+        version = sin.readLong(),
+        name = sin.readString(),
+        monitorType = sin.readString(),
+        enabled = sin.readBoolean(),
+        schedule = Schedule.readFrom(sin),
+        enabledTime = sin.readOptionalInstant(),
+        source = sin.readBytesReference(),
+        wrapped = sin.readBoolean(),
+        monitor = null
+    )
+
+    /** Returns whether the [Monitor] has been built, from the document or because the view was made from it. */
+    fun isMaterialized(): Boolean = monitor != null
+
+    /**
+     * Returns the monitor, parsing it from the document with [xContentRegistry] on first use.
+     * The registry must know the queries and aggregations of the inputs, as when parsing the [Monitor] itself.
+     */
+    @Throws(IOException::class)
+    fun toMonitor(xContentRegistry: NamedXContentRegistry): Monitor {
+        monitor?.let { return it }
+        val parsed = createParser(source!!, xContentRegistry).use { xcp ->
+            xcp.nextToken()
+            if (wrapped) {
+                XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp)
+                while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+                    val fieldName = xcp.currentName()
+                    xcp.nextToken()
+                    if (fieldName == MONITOR_TYPE && xcp.currentToken() == XContentParser.Token.START_OBJECT) break
+                    xcp.skipChildren()
+                }
+            }
+            Monitor.parse(xcp, id, version)
+        }
+        monitor = parsed
+        return parsed
+    }
+
+    @Throws(IOException::class)
+    override fun writeTo(out: StreamOutput) {
+        out.writeString(id)
+        out.writeLong(version)
+        out.writeString(name)
+        out.writeString(monitorType)
+        out.writeBoolean(enabled)
+        if (schedule is CronSchedule) {
+            out.writeEnum(Schedule.TYPE.CRON)
+        } else {
+            out.writeEnum(Schedule.TYPE.INTERVAL)
+        }
+        schedule.writeTo(out)
+        out.writeOptionalInstant(enabledTime)
+        out.writeBytesReference(source())
+        out.writeBoolean(wrapped)
+    }
+
+    private fun source(): BytesReference {
+        source?.let { return it }
+        val bytes = BytesReference.bytes(monitor!!.toXContentWithUser(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS))
+        source = bytes
+        return bytes
+    }
+
+    companion object {
+        /** Returns the view of a monitor already built. */
+        @JvmStatic
+        fun of(monitor: Monitor): MonitorView = MonitorView(
+            id = monitor.id,
+            version = monitor.version,
+            name = monitor.name,
+            monitorType = monitor.monitorType,
+            enabled = monitor.enabled,
+            schedule = monitor.schedule,
+            enabledTime = monitor.enabledTime,
+            source = null,
+            wrapped = false,
+            monitor = monitor
+        )
+
+        /**
+         * Parses the view of the JSON monitor document [source], either the monitor object or a scheduled job document
+         * with the monitor under a `monitor` field. Only the fields up to the schedule are read.
+         */
+        @JvmStatic
+        @JvmOverloads
+        @Throws(IOException::class)
+        fun parse(source: BytesReference, id: String = NO_ID, version: Long = NO_VERSION): MonitorView {
+            return createParser(source, NamedXContentRegistry.EMPTY).use { xcp ->
+                xcp.nextToken()
+                Header(id, version).parse(xcp, allowWrapper = true).build(source)
+            }
+        }
+
+        /** Reads the header of a monitor object, stopping as soon as the scheduling fields are known. */
+        private class Header(val id: String, val version: Long) {
+            var name: String? = null
+            var monitorType: String = Monitor.MonitorType.QUERY_LEVEL_MONITOR.toString()
+            var monitorTypeSeen = false
+            var enabled = true
+            var enabledSeen = false
+            var schedule: Schedule? = null
+            var enabledTime: Instant? = null
+            var wrapped = false
+
+            private val complete: Boolean
+                get() = name != null && monitorTypeSeen && enabledSeen && schedule != null && (!enabled || enabledTime != null)
+
+            fun parse(xcp: XContentParser, allowWrapper: Boolean): Header {
+                XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp)
+                while (!complete && xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+                    val fieldName = xcp.currentName()
+                    xcp.nextToken()
+
+                    when (fieldName) {
+                        MONITOR_TYPE -> if (allowWrapper && xcp.currentToken() == XContentParser.Token.START_OBJECT) {
+                            wrapped = true
+                            return parse(xcp, allowWrapper = false)
+                        } else {
+                            xcp.skipChildren()
+                        }
+                        NAME_FIELD -> name = xcp.text()
+                        MONITOR_TYPE_FIELD -> {
+                            monitorType = xcp.text()
+                            if (!MONITOR_TYPE_PATTERN.matcher(monitorType).matches()) {
+                                throw IllegalStateException("Monitor type should follow pattern ${MONITOR_TYPE_PATTERN.pattern()}")
+                            }
+                            monitorTypeSeen = true
+                        }
+                        ENABLED_FIELD -> {
+                            enabled = xcp.booleanValue()
+                            enabledSeen = true
+                        }
+                        SCHEDULE_FIELD -> schedule = Schedule.parse(xcp)
+                        ENABLED_TIME_FIELD -> enabledTime = xcp.instant()
+                        else -> xcp.skipChildren()
+                    }
+                }
+                return this
+            }
+
+            fun build(source: BytesReference): MonitorView {
+                // Same defaults as Monitor.parse
+                if (enabled && enabledTime == null) {
+                    enabledTime = Instant.now()
+                } else if (!enabled) {
+                    enabledTime = null
+                }
+                return MonitorView(
+                    id = id,
+                    version = version,
+                    name = requireNotNull(name) { "Monitor name is null" },
+                    monitorType = monitorType,
+                    enabled = enabled,
+                    schedule = requireNotNull(schedule) { "Monitor schedule is null" },
+                    enabledTime = enabledTime,
+                    source = source,
+                    wrapped = wrapped,
+                    monitor = null
+                )
+            }
+        }
+
+        private fun createParser(source: BytesReference, xContentRegistry: NamedXContentRegistry): XContentParser {
+            return XContentType.JSON.xContent().createParser(xContentRegistry, LoggingDeprecationHandler.INSTANCE, source.streamInput())
+        }
+
+        @JvmStatic
+        @Throws(IOException::class)
+        fun readFrom(sin: StreamInput): MonitorView {
+            return MonitorView(sin)
+        }
+    }
+}
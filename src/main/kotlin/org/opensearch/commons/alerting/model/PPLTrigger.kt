@@ -14,6 +14,7 @@ import org.opensearch.commons.alerting.model.Trigger.Companion.ID_FIELD
 import org.opensearch.commons.alerting.model.Trigger.Companion.NAME_FIELD
 import org.opensearch.commons.alerting.model.Trigger.Companion.SEVERITY_FIELD
 import org.opensearch.commons.alerting.model.action.Action
+import org.opensearch.commons.alerting.util.TrustedReads
 import org.opensearch.core.ParseField
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
@@ -57,63 +58,65 @@ data class PPLTrigger(
 ) : Trigger {
 
     init {
-        requireNotNull(this.name) { "Trigger name must be included." }
-        requireNotNull(this.severity) { "Trigger severity must be included." }
-        requireNotNull(this.conditionType) { "Trigger condition type must be included." }
+        if (!TrustedReads.isActive) {
+            requireNotNull(this.name) { "Trigger name must be included." }
+            requireNotNull(this.severity) { "Trigger severity must be included." }
+            requireNotNull(this.conditionType) { "Trigger condition type must be included." }
 
-        require(this.id.length <= UUID_LENGTH) {
-            "Trigger ID too long, length must be less than $UUID_LENGTH."
-        }
-
-        require(this.name.length <= ALERTING_MAX_NAME_LENGTH) {
-            "Trigger name too long, length must be less than $ALERTING_MAX_NAME_LENGTH."
-        }
-
-        this.actions.forEach {
-            require(it.name.length <= ALERTING_MAX_NAME_LENGTH) {
-                "Name of action with ID ${it.id} too long, length must be less than $ALERTING_MAX_NAME_LENGTH."
-            }
-            require(it.destinationId.length <= NOTIFICATIONS_ID_MAX_LENGTH) {
-                "Channel ID of action with ID ${it.id} too long, length must be less than $NOTIFICATIONS_ID_MAX_LENGTH."
+            require(this.id.length <= UUID_LENGTH) {
+                "Trigger ID too long, length must be less than $UUID_LENGTH."
             }
-            require(it.destinationId.isNotEmpty()) {
-                "Channel ID should not be empty."
+
+            require(this.name.length <= ALERTING_MAX_NAME_LENGTH) {
+                "Trigger name too long, length must be less than $ALERTING_MAX_NAME_LENGTH."
             }
-        }
 
-        when (this.conditionType) {
-            ConditionType.NUMBER_OF_RESULTS -> {
-                requireNotNull(this.numResultsCondition) {
-                    "if trigger condition is of type ${ConditionType.NUMBER_OF_RESULTS.value}, " +
-                        "$NUM_RESULTS_CONDITION_FIELD must be included."
+            this.actions.forEach {
+                require(it.name.length <= ALERTING_MAX_NAME_LENGTH) {
+                    "Name of action with ID ${it.id} too long, length must be less than $ALERTING_MAX_NAME_LENGTH."
                 }
-                requireNotNull(this.numResultsValue) {
-                    "if trigger condition is of type ${ConditionType.NUMBER_OF_RESULTS.value}, " +
-                        "$NUM_RESULTS_VALUE_FIELD must be included."
+                require(it.destinationId.length <= NOTIFICATIONS_ID_MAX_LENGTH) {
+                    "Channel ID of action with ID ${it.id} too long, length must be less than $NOTIFICATIONS_ID_MAX_LENGTH."
                 }
-                require(this.customCondition == null) {
-                    "if trigger condition is of type ${ConditionType.NUMBER_OF_RESULTS.value}, " +
-                        "$CUSTOM_CONDITION_FIELD must not be included."
+                require(it.destinationId.isNotEmpty()) {
+                    "Channel ID should not be empty."
                 }
             }
-            ConditionType.CUSTOM -> {
-                requireNotNull(this.customCondition) {
-                    "if trigger condition is of type ${ConditionType.CUSTOM.value}, " +
-                        "$CUSTOM_CONDITION_FIELD must be included."
-                }
-                require(this.numResultsCondition == null) {
-                    "if trigger condition is of type ${ConditionType.CUSTOM.value}, " +
-                        "$NUM_RESULTS_CONDITION_FIELD must not be included."
+
+            when (this.conditionType) {
+                ConditionType.NUMBER_OF_RESULTS -> {
+                    requireNotNull(this.numResultsCondition) {
+                        "if trigger condition is of type ${ConditionType.NUMBER_OF_RESULTS.value}, " +
+                            "$NUM_RESULTS_CONDITION_FIELD must be included."
+                    }
+                    requireNotNull(this.numResultsValue) {
+                        "if trigger condition is of type ${ConditionType.NUMBER_OF_RESULTS.value}, " +
+                            "$NUM_RESULTS_VALUE_FIELD must be included."
+                    }
+                    require(this.customCondition == null) {
+                        "if trigger condition is of type ${ConditionType.NUMBER_OF_RESULTS.value}, " +
+                            "$CUSTOM_CONDITION_FIELD must not be included."
+                    }
                 }
-                require(this.numResultsValue == null) {
-                    "if trigger condition is of type ${ConditionType.CUSTOM.value}, " +
-                        "$NUM_RESULTS_VALUE_FIELD must not be included."
+                ConditionType.CUSTOM -> {
+                    requireNotNull(this.customCondition) {
+                        "if trigger condition is of type ${ConditionType.CUSTOM.value}, " +
+                            "$CUSTOM_CONDITION_FIELD must be included."
+                    }
+                    require(this.numResultsCondition == null) {
+                        "if trigger condition is of type ${ConditionType.CUSTOM.value}, " +
+                            "$NUM_RESULTS_CONDITION_FIELD must not be included."
+                    }
+                    require(this.numResultsValue == null) {
+                        "if trigger condition is of type ${ConditionType.CUSTOM.value}, " +
+                            "$NUM_RESULTS_VALUE_FIELD must not be included."
+                    }
                 }
             }
-        }
 
-        if (conditionType == ConditionType.NUMBER_OF_RESULTS) {
-            require(this.numResultsValue!! >= 0L) { "Number of results to check for cannot be negative." }
+            if (conditionType == ConditionType.NUMBER_OF_RESULTS) {
+                require(this.numResultsValue!! >= 0L) { "Number of results to check for cannot be negative." }
+            }
         }
     }
 
@@ -4,6 +4,8 @@ import com.cronutils.model.CronType
 import com.cronutils.model.definition.CronDefinitionBuilder
 import com.cronutils.model.time.ExecutionTime
 import com.cronutils.parser.CronParser
+import org.opensearch.Version
+import org.opensearch.commons.alerting.util.ParsedCronCache
 import org.opensearch.commons.notifications.model.BaseModel
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
@@ -20,6 +22,7 @@ import java.time.ZonedDateTime
 import java.time.temporal.ChronoUnit
 import java.time.zone.ZoneRulesException
 import java.util.Locale
+import java.util.Optional
 
 sealed class Schedule : BaseModel {
     enum class TYPE { CRON, INTERVAL }
@@ -30,6 +33,10 @@ sealed class Schedule : BaseModel {
         const val PERIOD_FIELD = "period"
         const val INTERVAL_FIELD = "interval"
         const val UNIT_FIELD = "unit"
+        const val SPREAD_FIELD = "spread"
+
+        /** Returned by the epoch millis methods when the schedule has no such execution. */
+        const val NO_EXECUTION = Long.MIN_VALUE
 
         val cronParser = CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.UNIX))
 
@@ -40,6 +47,7 @@ sealed class Schedule : BaseModel {
             var timezone: ZoneId? = null
             var interval: Int? = null
             var unit: ChronoUnit? = null
+            var spread = false
             var schedule: Schedule? = null
             var type: TYPE? = null
             XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp)
@@ -59,6 +67,7 @@ sealed class Schedule : BaseModel {
                             when (cronFieldName) {
                                 EXPRESSION_FIELD -> expression = xcp.textOrNull()
                                 TIMEZONE_FIELD -> timezone = getTimeZone(xcp.text())
+                                SPREAD_FIELD -> spread = xcp.booleanValue()
                             }
                         }
                     }
@@ -70,6 +79,7 @@ sealed class Schedule : BaseModel {
                             when (cronFieldName) {
                                 INTERVAL_FIELD -> interval = xcp.intValue()
                                 UNIT_FIELD -> unit = ChronoUnit.valueOf(xcp.text().uppercase(Locale.getDefault()))
+                                SPREAD_FIELD -> spread = xcp.booleanValue()
                             }
                         }
                     }
@@ -81,12 +91,14 @@ sealed class Schedule : BaseModel {
             if (type == TYPE.CRON) {
                 schedule = CronSchedule(
                     requireNotNull(expression) { "Expression in cron schedule is null." },
-                    requireNotNull(timezone) { "Timezone in cron schedule is null." }
+                    requireNotNull(timezone) { "Timezone in cron schedule is null." },
+                    spread = spread
                 )
             } else if (type == TYPE.INTERVAL) {
                 schedule = IntervalSchedule(
                     requireNotNull(interval) { "Interval in period schedule is null." },
-                    requireNotNull(unit) { "Unit in period schedule is null." }
+                    requireNotNull(unit) { "Unit in period schedule is null." },
+                    spread = spread
                 )
             }
             return requireNotNull(schedule) { "Schedule is null." }
@@ -104,6 +116,21 @@ sealed class Schedule : BaseModel {
             }
         }
 
+        /**
+         * Returns a stable fraction in [0, 1) of the schedule period by which executions of the job are delayed.
+         * String.hashCode is specified by the JDK, so every node derives the same fraction for a job.
+         */
+        internal fun spreadFraction(jobId: String): Double {
+            var hash = jobId.hashCode().toLong()
+            // Finalizer of MurmurHash3, so that similar ids land far apart
+            hash = hash xor (hash ushr 33)
+            hash *= -0xae502812aa7333L
+            hash = hash xor (hash ushr 33)
+            hash *= -0x3b314601e57a13adL
+            hash = hash xor (hash ushr 33)
+            return (hash ushr 11).toDouble() / (1L shl 53)
+        }
+
         @JvmStatic
         @Throws(IOException::class)
         fun readFrom(sin: StreamInput): Schedule {
@@ -121,6 +148,21 @@ sealed class Schedule : BaseModel {
      */
     abstract fun nextTimeToExecute(enabledTime: Instant): Duration?
 
+    /**
+     * Whether executions of jobs on this schedule are spread across the schedule period.
+     * Each job is delayed by a stable fraction of the period derived from its id, so jobs sharing a schedule
+     * don't all fire at once. The delay only applies to the schedule returned by [forJob], which monitors and
+     * workflows hold once parsed or read with their id.
+     */
+    abstract val spread: Boolean
+
+    /**
+     * Returns this schedule with the spread delay of the job with [jobId] applied, or this schedule if it
+     * is not [spread] or [jobId] is empty, as it is for jobs not indexed yet. The job id is not part of the
+     * schedule's equality.
+     */
+    abstract fun forJob(jobId: String): Schedule
+
     /**
      * @param expectedPreviousExecutionTime is the calculated previous execution time that should always be correct,
      * the first time this is called the value passed in is the enabledTime which acts as the expectedPreviousExecutionTime
@@ -147,6 +189,26 @@ sealed class Schedule : BaseModel {
 
     abstract fun runningOnTime(lastExecutionTime: Instant?): Boolean
 
+    /*
+     * The epoch millis methods below back the Instant based methods above. They allocate nothing once the schedule
+     * is warmed up, so schedulers sweeping many jobs can call them directly.
+     */
+
+    /**
+     * Returns the epoch millis of the next execution after [nowMillis], or [NO_EXECUTION].
+     * @param enabledMillis is used in IntervalSchedule to anchor the executions.
+     */
+    abstract fun nextExecutionMillis(enabledMillis: Long, nowMillis: Long): Long
+
+    /**
+     * Returns the epoch millis of the last execution before [nowMillis] if it's a Cron schedule or [nowMillis] if it's an
+     * interval schedule, or [NO_EXECUTION].
+     */
+    abstract fun periodStartMillis(nowMillis: Long): Long
+
+    /** Returns whether an execution at [lastMillis] is on time at [nowMillis], see [runningOnTime]. */
+    abstract fun isOnTime(lastMillis: Long, nowMillis: Long): Boolean
+
     /** Returns a representation of the schedule suitable for passing into painless and mustache scripts. */
     abstract fun asTemplateArg(): Map<String, Any>
 }
@@ -158,15 +220,31 @@ data class CronSchedule(
     val expression: String,
     val timezone: ZoneId,
     // visible for testing
-    @Transient val testInstant: Instant? = null
+    @Transient val testInstant: Instant? = null,
+    override val spread: Boolean = false
 ) : Schedule() {
     @Transient
-    val executionTime: ExecutionTime = ExecutionTime.forCron(cronParser.parse(expression))
+    val executionTime: ExecutionTime = ParsedCronCache.get(expression).executionTime
+
+    /** The job the spread delay is derived from, set by [forJob]. */
+    @Transient
+    var jobId: String? = null
+        private set
+
+    @Transient
+    private var jobSpreadFraction = 0.0
+
+    private constructor(schedule: CronSchedule, jobId: String) :
+        this(schedule.expression, schedule.timezone, schedule.testInstant, schedule.spread) {
+        this.jobId = jobId
+        this.jobSpreadFraction = spreadFraction(jobId)
+    }
 
     @Throws(IOException::class)
     constructor(sin: StreamInput) : this(
         sin.readString(), // expression
-        sin.readZoneId() // timezone
+        sin.readZoneId(), // timezone
+        spread = if (sin.version.onOrAfter(Version.V_3_8_0)) sin.readBoolean() else false
     )
 
     companion object {
@@ -177,19 +255,127 @@ data class CronSchedule(
         }
     }
 
+    override fun forJob(jobId: String): CronSchedule =
+        if (!spread || jobId.isEmpty() || jobId == this.jobId) this else CronSchedule(this, jobId)
+
+    /**
+     * Next execution strictly after [time]. With a spread delay each execution is moved forward by a fixed
+     * fraction of the gap to the execution that follows it.
+     */
+    private fun nextExecution(time: ZonedDateTime): Optional<ZonedDateTime> {
+        if (jobSpreadFraction == 0.0) {
+            return executionTime.nextExecution(time)
+        }
+        var base = executionTime.lastExecution(time).or { executionTime.nextExecution(time) }.orElse(null)
+            ?: return Optional.empty()
+        while (true) {
+            val following = executionTime.nextExecution(base).orElse(null) ?: return Optional.empty()
+            val shifted = spreadExecution(base, following)
+            if (shifted.isAfter(time)) {
+                return Optional.of(shifted)
+            }
+            base = following
+        }
+    }
+
+    /** Last execution strictly before [time], see [nextExecution]. */
+    private fun lastExecution(time: ZonedDateTime): Optional<ZonedDateTime> {
+        if (jobSpreadFraction == 0.0) {
+            return executionTime.lastExecution(time)
+        }
+        var following = executionTime.nextExecution(time).or { executionTime.lastExecution(time) }.orElse(null)
+            ?: return Optional.empty()
+        while (true) {
+            val base = executionTime.lastExecution(following).orElse(null) ?: return Optional.empty()
+            val shifted = spreadExecution(base, following)
+            if (shifted.isBefore(time)) {
+                return Optional.of(shifted)
+            }
+            following = base
+        }
+    }
+
+    private fun spreadExecution(base: ZonedDateTime, following: ZonedDateTime): ZonedDateTime {
+        val gapSeconds = ChronoUnit.SECONDS.between(base, following)
+        return base.plusSeconds((gapSeconds * jobSpreadFraction).toLong())
+    }
+
+    /**
+     * The next execution after any time in [fromMillis, millis). Sweeps look up the same period over and over, so
+     * the execution found by the last lookup is kept and answered from without going through the cron and zone rules.
+     */
+    private class NextExecution(val fromMillis: Long, val millis: Long)
+
+    /** The last execution before any time in (millis, toMillis], see [NextExecution]. */
+    private class LastExecution(val millis: Long, val toMillis: Long)
+
+    @Transient
+    @Volatile
+    private var cachedNext: NextExecution? = null
+
+    @Transient
+    @Volatile
+    private var cachedLast: LastExecution? = null
+
+    /*
+     * @param enabledMillis is not used in CronSchedule.
+     */
+    override fun nextExecutionMillis(enabledMillis: Long, nowMillis: Long): Long {
+        val cached = cachedNext
+        if (cached != null && nowMillis >= cached.fromMillis && nowMillis < cached.millis) {
+            return cached.millis
+        }
+        val next = nextExecution(ZonedDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), timezone)).orElse(null)
+            ?: return NO_EXECUTION
+        val nextMillis = next.toInstant().toEpochMilli()
+        // Only the side asked for is computed. If the last execution is known and there is none at nowMillis, the
+        // next one is the same from the last execution on.
+        val last = cachedLast
+        val fromMillis = if (last != null && nowMillis > last.millis && nowMillis < last.toMillis) last.millis else nowMillis
+        cachedNext = NextExecution(fromMillis, nextMillis)
+        return nextMillis
+    }
+
+    /** Returns the last execution strictly before [nowMillis], the start of the period [nowMillis] is in. */
+    override fun periodStartMillis(nowMillis: Long): Long {
+        val cached = cachedLast
+        if (cached != null && nowMillis > cached.millis && nowMillis <= cached.toMillis) {
+            return cached.millis
+        }
+        val last = lastExecution(ZonedDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), timezone)).orElse(null)
+            ?: return NO_EXECUTION
+        val lastMillis = last.toInstant().toEpochMilli()
+        // See nextExecutionMillis, if the next execution is known and there is none at nowMillis, the last one is
+        // the same up to the next execution.
+        val next = cachedNext
+        val toMillis = if (next != null && nowMillis > next.fromMillis && nowMillis < next.millis) next.millis else nowMillis
+        cachedLast = LastExecution(lastMillis, toMillis)
+        return lastMillis
+    }
+
+    override fun isOnTime(lastMillis: Long, nowMillis: Long): Boolean {
+        val expectedMillis = periodStartMillis(nowMillis)
+        if (expectedMillis == NO_EXECUTION) {
+            // At this point we know lastExecutionTime is not null, this should never happen.
+            // If expected execution time is null, we shouldn't have executed the ScheduledJob.
+            return false
+        }
+        return (lastMillis - expectedMillis) / 1000 == 0L
+    }
+
     /*
      * @param enabledTime is not used in CronSchedule.
      */
     override fun nextTimeToExecute(enabledTime: Instant): Duration? {
-        val zonedDateTime = ZonedDateTime.ofInstant(testInstant ?: Instant.now(), timezone)
-        val timeToNextExecution = executionTime.timeToNextExecution(zonedDateTime)
-        return timeToNextExecution.orElse(null)
+        val nowMillis = testInstant?.toEpochMilli() ?: System.currentTimeMillis()
+        val nextMillis = nextExecutionMillis(enabledTime.toEpochMilli(), nowMillis)
+        return if (nextMillis == NO_EXECUTION) null else Duration.ofMillis(nextMillis - nowMillis)
     }
 
     override fun getExpectedNextExecutionTime(enabledTime: Instant, expectedPreviousExecutionTime: Instant?): Instant? {
-        val zonedDateTime = ZonedDateTime.ofInstant(expectedPreviousExecutionTime ?: testInstant ?: Instant.now(), timezone)
-        val nextExecution = executionTime.nextExecution(zonedDateTime)
-        return nextExecution.orElse(null)?.toInstant()
+        val fromMillis = (expectedPreviousExecutionTime ?: testInstant)?.toEpochMilli() ?: System.currentTimeMillis()
+        val nextMillis = nextExecutionMillis(enabledTime.toEpochMilli(), fromMillis)
+        return if (nextMillis == NO_EXECUTION) null else Instant.ofEpochMilli(nextMillis)
     }
 
     override fun getPeriodStartingAt(startTime: Instant?): Pair<Instant, Instant> {
@@ -197,52 +383,39 @@ data class CronSchedule(
             startTime
         } else {
             // Probably the first time we're running. Try to figure out the last execution time
-            val lastExecutionTime = executionTime.lastExecution(ZonedDateTime.now(timezone))
+            val lastExecutionMillis = periodStartMillis(System.currentTimeMillis())
             // This shouldn't happen unless the cron is configured to run only once, which our current cron syntax doesn't support
-            if (!lastExecutionTime.isPresent) {
+            if (lastExecutionMillis == NO_EXECUTION) {
                 val currentTime = Instant.now()
                 return Pair(currentTime, currentTime)
             }
-            lastExecutionTime.get().toInstant()
+            Instant.ofEpochMilli(lastExecutionMillis)
         }
-        val zonedDateTime = ZonedDateTime.ofInstant(realStartTime, timezone)
-        val newEndTime = executionTime.nextExecution(zonedDateTime).orElse(null)
-        return Pair(realStartTime, newEndTime?.toInstant() ?: realStartTime)
+        val newEndMillis = nextExecutionMillis(realStartTime.toEpochMilli(), realStartTime.toEpochMilli())
+        return Pair(realStartTime, if (newEndMillis == NO_EXECUTION) realStartTime else Instant.ofEpochMilli(newEndMillis))
     }
 
     override fun getPeriodEndingAt(endTime: Instant?): Pair<Instant, Instant> {
         val realEndTime = if (endTime != null) {
             endTime
         } else {
-            val nextExecutionTime = executionTime.nextExecution(ZonedDateTime.now(timezone))
+            val nextExecutionMillis = nextExecutionMillis(0, System.currentTimeMillis())
             // This shouldn't happen unless the cron is configured to run only once which our current cron syntax doesn't support
-            if (!nextExecutionTime.isPresent) {
+            if (nextExecutionMillis == NO_EXECUTION) {
                 val currentTime = Instant.now()
                 return Pair(currentTime, currentTime)
             }
-            nextExecutionTime.get().toInstant()
+            Instant.ofEpochMilli(nextExecutionMillis)
         }
-        val zonedDateTime = ZonedDateTime.ofInstant(realEndTime, timezone)
-        val newStartTime = executionTime.lastExecution(zonedDateTime).orElse(null)
-        return Pair(newStartTime?.toInstant() ?: realEndTime, realEndTime)
+        val newStartMillis = periodStartMillis(realEndTime.toEpochMilli())
+        return Pair(if (newStartMillis == NO_EXECUTION) realEndTime else Instant.ofEpochMilli(newStartMillis), realEndTime)
     }
 
     override fun runningOnTime(lastExecutionTime: Instant?): Boolean {
         if (lastExecutionTime == null) {
             return true
         }
-
-        val zonedDateTime = ZonedDateTime.ofInstant(testInstant ?: Instant.now(), timezone)
-        val expectedExecutionTime = executionTime.lastExecution(zonedDateTime)
-
-        if (!expectedExecutionTime.isPresent) {
-            // At this point we know lastExecutionTime is not null, this should never happen.
-            // If expected execution time is null, we shouldn't have executed the ScheduledJob.
-            return false
-        }
-        val actualExecutionTime = ZonedDateTime.ofInstant(lastExecutionTime, timezone)
-
-        return ChronoUnit.SECONDS.between(expectedExecutionTime.get(), actualExecutionTime) == 0L
+        return isOnTime(lastExecutionTime.toEpochMilli(), testInstant?.toEpochMilli() ?: System.currentTimeMillis())
     }
 
     override fun toXContent(builder: XContentBuilder, params: ToXContent.Params): XContentBuilder {
@@ -250,7 +423,10 @@ data class CronSchedule(
             .startObject(CRON_FIELD)
             .field(EXPRESSION_FIELD, expression)
             .field(TIMEZONE_FIELD, timezone.id)
-            .endObject()
+        if (spread) {
+            builder.field(SPREAD_FIELD, true)
+        }
+        builder.endObject()
             .endObject()
         return builder
     }
@@ -259,6 +435,9 @@ data class CronSchedule(
     override fun writeTo(out: StreamOutput) {
         out.writeString(expression)
         out.writeZoneId(timezone)
+        if (out.version.onOrAfter(Version.V_3_8_0)) {
+            out.writeBoolean(spread)
+        }
     }
 
     override fun asTemplateArg(): Map<String, Any> =
@@ -274,13 +453,21 @@ data class IntervalSchedule(
     val interval: Int,
     val unit: ChronoUnit,
     // visible for testing
-    @Transient val testInstant: Instant? = null
+    @Transient val testInstant: Instant? = null,
+    override val spread: Boolean = false
 ) : Schedule() {
     @Throws(IOException::class)
     constructor(sin: StreamInput) : this(
         sin.readInt(), // interval
-        sin.readEnum(ChronoUnit::class.java) // unit
+        sin.readEnum(ChronoUnit::class.java), // unit
+        spread = if (sin.version.onOrAfter(Version.V_3_8_0)) sin.readBoolean() else false
     )
+
+    private constructor(schedule: IntervalSchedule, jobId: String) :
+        this(schedule.interval, schedule.unit, schedule.testInstant, schedule.spread) {
+        this.jobId = jobId
+        this.spreadPhaseMillis = (intervalInMills - (intervalInMills * spreadFraction(jobId)).toLong()) % intervalInMills
+    }
     companion object {
         // Including SECONDS in this list for testing purposes to run test monitors in order of seconds
         @Transient
@@ -306,27 +493,56 @@ data class IntervalSchedule(
     @Transient
     private val intervalInMills = Duration.of(interval.toLong(), unit).toMillis()
 
-    override fun nextTimeToExecute(enabledTime: Instant): Duration? {
-        val enabledTimeEpochMillis = enabledTime.toEpochMilli()
+    /**
+     * Executions are delayed by a fraction of the interval after the enabled time. Subtracting the remainder of
+     * the interval from the enabled time gives the same execution times while keeping the anchor in the past.
+     */
+    @Transient
+    private var spreadPhaseMillis = 0L
+
+    /** The job the spread delay is derived from, set by [forJob]. */
+    @Transient
+    var jobId: String? = null
+        private set
+
+    override fun forJob(jobId: String): IntervalSchedule =
+        if (!spread || jobId.isEmpty() || jobId == this.jobId) this else IntervalSchedule(this, jobId)
 
-        val currentTime = testInstant ?: Instant.now()
-        val delta = currentTime.toEpochMilli() - enabledTimeEpochMillis
+    /**
+     * Returns the first execution after [nowMillis] of the executions every interval from [anchorMillis].
+     */
+    private fun nextExecutionAfter(anchorMillis: Long, nowMillis: Long): Long {
+        val delta = nowMillis - anchorMillis
         // Remainder of the Delta time is how much we have already spent waiting.
         // We need to subtract remainder of that time from the interval time to get remaining schedule time to wait.
         val remainingScheduleTime = intervalInMills - delta.rem(intervalInMills)
-        return Duration.of(remainingScheduleTime, ChronoUnit.MILLIS)
+        return nowMillis + remainingScheduleTime
+    }
+
+    override fun nextExecutionMillis(enabledMillis: Long, nowMillis: Long): Long =
+        nextExecutionAfter(enabledMillis - spreadPhaseMillis, nowMillis)
+
+    override fun periodStartMillis(nowMillis: Long): Long = nowMillis
+
+    override fun isOnTime(lastMillis: Long, nowMillis: Long): Boolean {
+        // Make sure the lastExecutionTime is less than interval time.
+        val delta = nowMillis - lastMillis
+        return 0 < delta && delta < intervalInMills
+    }
+
+    override fun nextTimeToExecute(enabledTime: Instant): Duration? {
+        val currentTime = testInstant?.toEpochMilli() ?: System.currentTimeMillis()
+        return Duration.ofMillis(nextExecutionMillis(enabledTime.toEpochMilli(), currentTime) - currentTime)
     }
 
     override fun getExpectedNextExecutionTime(enabledTime: Instant, expectedPreviousExecutionTime: Instant?): Instant? {
-        val expectedPreviousExecutionTimeEpochMillis = (expectedPreviousExecutionTime ?: enabledTime).toEpochMilli()
         // We still need to calculate the delta even when using expectedPreviousExecutionTime because the initial value passed in
         // is the enabledTime (which also happens with cluster/node restart)
-        val currentTime = testInstant ?: Instant.now()
-        val delta = currentTime.toEpochMilli() - expectedPreviousExecutionTimeEpochMillis
-        // Remainder of the Delta time is how much we have already spent waiting.
-        // We need to subtract remainder of that time from the interval time to get remaining schedule time to wait.
-        val remainingScheduleTime = intervalInMills - delta.rem(intervalInMills)
-        return Instant.ofEpochMilli(currentTime.toEpochMilli() + remainingScheduleTime)
+        val currentTime = testInstant?.toEpochMilli() ?: System.currentTimeMillis()
+        if (expectedPreviousExecutionTime == null) {
+            return Instant.ofEpochMilli(nextExecutionMillis(enabledTime.toEpochMilli(), currentTime))
+        }
+        return Instant.ofEpochMilli(nextExecutionAfter(expectedPreviousExecutionTime.toEpochMilli(), currentTime))
     }
 
     override fun getPeriodStartingAt(startTime: Instant?): Pair<Instant, Instant> {
@@ -345,10 +561,7 @@ data class IntervalSchedule(
         if (lastExecutionTime == null) {
             return true
         }
-
-        // Make sure the lastExecutionTime is less than interval time.
-        val delta = ChronoUnit.MILLIS.between(lastExecutionTime, testInstant ?: Instant.now())
-        return 0 < delta && delta < intervalInMills
+        return isOnTime(lastExecutionTime.toEpochMilli(), testInstant?.toEpochMilli() ?: System.currentTimeMillis())
     }
 
     override fun toXContent(builder: XContentBuilder, params: ToXContent.Params): XContentBuilder {
@@ -356,7 +569,10 @@ data class IntervalSchedule(
             .startObject(PERIOD_FIELD)
             .field(INTERVAL_FIELD, interval)
             .field(UNIT_FIELD, unit.name)
-            .endObject()
+        if (spread) {
+            builder.field(SPREAD_FIELD, true)
+        }
+        builder.endObject()
             .endObject()
         return builder
     }
@@ -365,6 +581,9 @@ data class IntervalSchedule(
     override fun writeTo(out: StreamOutput) {
         out.writeInt(interval)
         out.writeEnum(unit)
+        if (out.version.onOrAfter(Version.V_3_8_0)) {
+            out.writeBoolean(spread)
+        }
     }
 
     override fun asTemplateArg(): Map<String, Any> =
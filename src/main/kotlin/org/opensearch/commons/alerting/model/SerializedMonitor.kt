@@ -0,0 +1,67 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.Version
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.commons.alerting.util.TrustedReads
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.common.io.stream.StreamOutput
+import org.opensearch.core.common.io.stream.Writeable
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * A [Monitor] together with its transport serialization, computed once per wire version and shared by every
+ * request carrying the monitor, e.g. all node requests of a doc-level fan-out.
+ * The bytes are exactly what [Monitor.writeTo] produces, so readers use [Monitor.readFrom] as usual.
+ * The monitor must not be modified after the first serialization.
+ */
+class SerializedMonitor(val monitor: Monitor) : Writeable {
+
+    private val bytesByVersion = ConcurrentHashMap<Version, BytesReference>()
+    private val bytesWithoutQueriesByVersion = ConcurrentHashMap<Version, BytesReference>()
+
+    /** The monitor with the queries of its doc-level input left out, sent when the receiver holds the queries. */
+    val monitorWithoutQueries: Monitor by lazy { withoutDocLevelQueries(monitor) }
+
+    /** Returns the serialized monitor for streams of the given [version]. */
+    fun bytes(version: Version): BytesReference {
+        return bytesByVersion.computeIfAbsent(version) { serialize(monitor, it) }
+    }
+
+    /** Returns the serialized [monitorWithoutQueries] for streams of the given [version]. */
+    fun bytesWithoutQueries(version: Version): BytesReference {
+        return bytesWithoutQueriesByVersion.computeIfAbsent(version) { serialize(monitorWithoutQueries, it) }
+    }
+
+    @Throws(IOException::class)
+    override fun writeTo(out: StreamOutput) {
+        bytes(out.version).writeTo(out)
+    }
+
+    companion object {
+        private fun serialize(monitor: Monitor, version: Version): BytesReference {
+            val out = BytesStreamOutput()
+            out.version = version
+            monitor.writeTo(out)
+            return out.bytes()
+        }
+
+        /**
+         * Returns [monitor] with the queries of its doc-level input left out.
+         * Only the queries change, so the copy skips the validation [monitor] went through.
+         */
+        fun withoutDocLevelQueries(monitor: Monitor): Monitor = TrustedReads.derive {
+            monitor.copy(inputs = monitor.inputs.map { if (it is DocLevelMonitorInput) it.copy(queries = emptyList()) else it })
+        }
+
+        /** Returns [monitor] with [queries] as the queries of its doc-level input, see [withoutDocLevelQueries]. */
+        fun withDocLevelQueries(monitor: Monitor, queries: List<DocLevelQuery>): Monitor = TrustedReads.derive {
+            monitor.copy(inputs = monitor.inputs.map { if (it is DocLevelMonitorInput) it.copy(queries = queries) else it })
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.Version
+import org.opensearch.core.common.io.stream.StreamInput
+import org.opensearch.core.common.io.stream.StreamOutput
+import org.opensearch.core.common.io.stream.Writeable
+import java.io.IOException
+
+/**
+ * The last run context of one index of a doc-level monitor: the seq no each shard was read up to, by shard number.
+ *
+ * Last run contexts, e.g. [MonitorMetadata.lastRunContext] or [IndexExecutionContext.lastRunContext], map index
+ * names to maps such as `{"index": "logs", "shards_count": 2, "0": 41, "1": 17}`. [asMap] presents the checkpoints
+ * as such a map without copying them, so existing callers keep reading and updating last run contexts as maps while
+ * the seq nos stay in a single `long[]`. Shards may have no checkpoint, e.g. in the context returned by a node that
+ * only holds some of the shards.
+ *
+ * From 3.8.0 on last run contexts are written with [writeLastRunContext], which writes the checkpoints of every
+ * index in a compact form and any other context as a generic value.
+ */
+class ShardCheckpoints(
+    val index: String,
+    val indexUuid: String?,
+    shardCount: Int
+) : Writeable {
+    init {
+        require(shardCount in 0..MAX_SHARDS) { "Shard count must be between 0 and $MAX_SHARDS, got $shardCount" }
+    }
+
+    private val seqNos = LongArray(shardCount) { NO_CHECKPOINT }
+    private val view = MapView()
+
+    val shardCount: Int
+        get() = seqNos.size
+
+    @Throws(IOException::class)
+    constructor(sin: StreamInput) : this(sin.readString(), sin.readOptionalString(), sin.readVInt()) {
+        val checkpointCount = sin.readVInt()
+        if (checkpointCount == shardCount) {
+            for (shard in 0 until shardCount) {
+                seqNos[shard] = sin.readZLong()
+            }
+        } else {
+            repeat(checkpointCount) { seqNos[sin.readVInt()] = sin.readZLong() }
+        }
+    }
+
+    /** Returns the seq no [shard] was read up to, or [NO_CHECKPOINT]. */
+    operator fun get(shard: Int): Long = seqNos[shard]
+
+    /** Sets the seq no [shard] was read up to, [NO_CHECKPOINT] clears it. */
+    operator fun set(shard: Int, seqNo: Long) {
+        seqNos[shard] = seqNo
+    }
+
+    /** Moves the checkpoint of [shard] to [seqNo] unless it is already past it. */
+    fun advance(shard: Int, seqNo: Long) {
+        if (seqNo > seqNos[shard]) seqNos[shard] = seqNo
+    }
+
+    /** Number of shards with a checkpoint. */
+    fun checkpointCount(): Int = seqNos.count { it != NO_CHECKPOINT }
+
+    /**
+     * Returns the checkpoints as a last run context map, backed by this instance. Putting a number for a shard id
+     * sets its checkpoint. Any other change, e.g. a seq no put as a String or a removal, turns the map into a plain
+     * copy that is no longer backed by this instance and takes the change.
+     */
+    fun asMap(): MutableMap<String, Any> = view
+
+    @Throws(IOException::class)
+    override fun writeTo(out: StreamOutput) {
+        out.writeString(index)
+        out.writeOptionalString(indexUuid)
+        out.writeVInt(shardCount)
+        val checkpointCount = checkpointCount()
+        out.writeVInt(checkpointCount)
+        for (shard in 0 until shardCount) {
+            val seqNo = seqNos[shard]
+            if (checkpointCount == shardCount) {
+                out.writeZLong(seqNo)
+            } else if (seqNo != NO_CHECKPOINT) {
+                out.writeVInt(shard)
+                out.writeZLong(seqNo)
+            }
+        }
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is ShardCheckpoints) return false
+        return index == other.index && indexUuid == other.indexUuid && seqNos.contentEquals(other.seqNos)
+    }
+
+    override fun hashCode(): Int = 31 * (31 * index.hashCode() + (indexUuid?.hashCode() ?: 0)) + seqNos.contentHashCode()
+
+    override fun toString(): String = view.toString()
+
+    /** The last run context map of an index, in the order of the documents: index, index uuid, shard count, shards. */
+    private inner class MapView : AbstractMutableMap<String, Any>() {
+        /** Copy holding the entries once a change the checkpoints cannot hold was made, see [asMap]. */
+        private var detached: MutableMap<String, Any>? = null
+
+        /** The checkpoints behind the map, or null once it was detached from them. */
+        val checkpoints: ShardCheckpoints?
+            get() = if (detached == null) this@ShardCheckpoints else null
+
+        override val size: Int
+            get() = detached?.size ?: ((if (indexUuid == null) 2 else 3) + checkpointCount())
+
+        override fun get(key: String): Any? {
+            detached?.let { return it[key] }
+            return when (key) {
+                INDEX_FIELD -> index
+                INDEX_UUID_FIELD -> indexUuid
+                SHARDS_COUNT_FIELD -> shardCount
+                else -> {
+                    val shard = shardNumber(key)
+                    if (shard in 0 until shardCount && seqNos[shard] != NO_CHECKPOINT) seqNos[shard] else null
+                }
+            }
+        }
+
+        override fun containsKey(key: String): Boolean = detached?.containsKey(key) ?: (get(key) != null)
+
+        override fun put(key: String, value: Any): Any? {
+            detached?.let { return it.put(key, value) }
+            val shard = shardNumber(key)
+            if (shard in 0 until shardCount && value is Number) {
+                val previous = get(key)
+                seqNos[shard] = value.toLong()
+                return previous
+            }
+            val current = get(key)
+            if (current == value) return current
+            return detach().put(key, value)
+        }
+
+        override fun remove(key: String): Any? = (detached ?: detach()).remove(key)
+
+        override fun clear() {
+            (detached ?: detach()).clear()
+        }
+
+        override val entries: MutableSet<MutableMap.MutableEntry<String, Any>>
+            get() = detached?.entries ?: EntrySet()
+
+        fun detach(): MutableMap<String, Any> {
+            val copy = LinkedHashMap<String, Any>(size * 2)
+            EntryIterator().forEach { copy[it.key] = it.value }
+            detached = copy
+            return copy
+        }
+    }
+
+    private inner class EntrySet : AbstractMutableSet<MutableMap.MutableEntry<String, Any>>() {
+        override val size: Int
+            get() = view.size
+
+        override fun add(element: MutableMap.MutableEntry<String, Any>): Boolean = throw UnsupportedOperationException()
+
+        override fun iterator(): MutableIterator<MutableMap.MutableEntry<String, Any>> = EntryIterator()
+    }
+
+    /** Iterates positions 0 to 2 for the index, index uuid and shard count entries, and 3 on for the shards. */
+    private inner class EntryIterator : MutableIterator<MutableMap.MutableEntry<String, Any>> {
+        private var position = nextPosition(-1)
+        private var lastKey: String? = null
+
+        override fun hasNext(): Boolean = position < FIRST_SHARD_POSITION + shardCount
+
+        override fun next(): MutableMap.MutableEntry<String, Any> {
+            if (!hasNext()) throw NoSuchElementException()
+            val key = when (position) {
+                0 -> INDEX_FIELD
+                1 -> INDEX_UUID_FIELD
+                2 -> SHARDS_COUNT_FIELD
+                else -> shardKey(position - FIRST_SHARD_POSITION)
+            }
+            position = nextPosition(position)
+            lastKey = key
+            return Entry(key)
+        }
+
+        /** Detaches the map, the remaining entries are still iterated since the checkpoints do not change. */
+        override fun remove() {
+            val key = checkNotNull(lastKey) { "next() was not called" }
+            view.remove(key)
+            lastKey = null
+        }
+
+        private fun nextPosition(position: Int): Int {
+            var next = position + 1
+            if (next == 1 && indexUuid == null) next++
+            while (next >= FIRST_SHARD_POSITION && next < FIRST_SHARD_POSITION + shardCount &&
+                seqNos[next - FIRST_SHARD_POSITION] == NO_CHECKPOINT
+            ) {
+                next++
+            }
+            return next
+        }
+    }
+
+    private inner class Entry(override val key: String) : MutableMap.MutableEntry<String, Any> {
+        override val value: Any
+            get() = view[key]!!
+
+        override fun setValue(newValue: Any): Any = view.put(key, newValue)!!
+
+        override fun equals(other: Any?): Boolean = other is Map.Entry<*, *> && key == other.key && value == other.value
+
+        override fun hashCode(): Int = key.hashCode() xor value.hashCode()
+
+        override fun toString(): String = "$key=$value"
+    }
+
+    companion object {
+        const val INDEX_FIELD = "index"
+        const val INDEX_UUID_FIELD = "index_uuid"
+        const val SHARDS_COUNT_FIELD = "shards_count"
+
+        /** Seq no of shards without a checkpoint, below every seq no including the unassigned ones. */
+        const val NO_CHECKPOINT = Long.MIN_VALUE
+
+        /** Upper bound of the shard count, well above the number of shards an index can have. */
+        const val MAX_SHARDS = 65_536
+
+        private const val FIRST_SHARD_POSITION = 3
+        private val SHARD_KEYS = Array(1024) { it.toString() }
+
+        private fun shardKey(shard: Int): String = if (shard < SHARD_KEYS.size) SHARD_KEYS[shard] else shard.toString()
+
+        /** Returns the shard number of a context key, or -1 if the key is not a shard id in canonical form. */
+        internal fun shardNumber(key: String): Int {
+            val length = key.length
+            if (length == 0 || length > 5 || (length > 1 && key[0] == '0')) return -1
+            var shard = 0
+            for (c in key) {
+                if (c !in '0'..'9') return -1
+                shard = shard * 10 + (c - '0')
+            }
+            return if (shard < MAX_SHARDS) shard else -1
+        }
+
+        /** Returns the checkpoints behind a map from [asMap], or null for any other value. */
+        internal fun backing(context: Any?): ShardCheckpoints? = (context as? ShardCheckpoints.MapView)?.checkpoints
+
+        /**
+         * Returns the checkpoints of a last run context entry: the instance behind a map from [asMap], or new
+         * checkpoints holding the entries of a map of index, optional index uuid, shard count and seq nos by shard id.
+         * Returns null for any other value, which is then kept as is.
+         */
+        @JvmStatic
+        fun of(context: Any?): ShardCheckpoints? {
+            backing(context)?.let { return it }
+            if (context !is Map<*, *>) return null
+            val index = context[INDEX_FIELD] as? String ?: return null
+            val indexUuid = context[INDEX_UUID_FIELD]
+            if (indexUuid != null && indexUuid !is String) return null
+            val shardCount = (context[SHARDS_COUNT_FIELD] as? Number)?.toLong() ?: return null
+            if (shardCount !in 0..MAX_SHARDS) return null
+            val checkpoints = ShardCheckpoints(index, indexUuid as String?, shardCount.toInt())
+            for ((key, value) in context) {
+                if (key == INDEX_FIELD || key == INDEX_UUID_FIELD || key == SHARDS_COUNT_FIELD) continue
+                val shard = if (key is String) shardNumber(key) else -1
+                if (shard !in 0 until checkpoints.shardCount || value !is Number) return null
+                checkpoints[shard] = value.toLong()
+            }
+            return checkpoints
+        }
+
+        /** Returns [lastRunContext] with every entry [of] accepts replaced by a map backed by [ShardCheckpoints]. */
+        @JvmStatic
+        fun compact(lastRunContext: Map<String, Any>): MutableMap<String, Any> {
+            return lastRunContext.mapValuesTo(LinkedHashMap()) { of(it.value)?.asMap() ?: it.value }
+        }
+
+        /** Writes a last run context, compacting the shard checkpoints of its indices from 3.8.0 on. */
+        @JvmStatic
+        @Throws(IOException::class)
+        fun writeLastRunContext(out: StreamOutput, lastRunContext: Map<String, Any>) {
+            if (!out.version.onOrAfter(Version.V_3_8_0)) {
+                out.writeMap(lastRunContext)
+                return
+            }
+            out.writeVInt(lastRunContext.size)
+            lastRunContext.forEach { (index, context) ->
+                out.writeString(index)
+                val checkpoints = of(context)
+                out.writeBoolean(checkpoints != null)
+                if (checkpoints != null) checkpoints.writeTo(out) else out.writeGenericValue(context)
+            }
+        }
+
+        /**
+         * Reads a last run context written with [writeLastRunContext], with the shard checkpoints as maps. Like the
+         * map read before 3.8.0, the other values may be null.
+         */
+        @JvmStatic
+        @Throws(IOException::class)
+        fun readLastRunContext(sin: StreamInput): MutableMap<String, Any> {
+            if (!sin.version.onOrAfter(Version.V_3_8_0)) {
+                return Monitor.suppressWarning(sin.readMap())
+            }
+            val size = sin.readVInt()
+            val lastRunContext = LinkedHashMap<String?, Any?>(size * 2)
+            repeat(size) {
+                val index = sin.readString()
+                lastRunContext[index] = if (sin.readBoolean()) ShardCheckpoints(sin).asMap() else sin.readGenericValue()
+            }
+            return Monitor.suppressWarning(lastRunContext)
+        }
+    }
+}
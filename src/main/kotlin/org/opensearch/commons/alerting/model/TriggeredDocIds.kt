@@ -0,0 +1,101 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.common.io.stream.StreamInput
+
+/**
+ * Triggered doc ids of a [DocumentLevelTriggerRunResult] in the compact transport encoding, read as a sorted list
+ * of `docId|index` strings.
+ *
+ * Each id is split at its last `|` into the doc id and the index name, which is replaced by its code in an index
+ * [Dictionary] shared by every trigger of a response. The ids are sorted and every doc id only stores the
+ * characters following the prefix it shares with the previous one. [forEachDocId] walks the encoded ids without
+ * creating a String per id; the list itself is decoded on first access.
+ */
+class TriggeredDocIds internal constructor(
+    private val indices: List<String>,
+    private val encoded: ByteArray,
+    override val size: Int
+) : AbstractList<String>() {
+
+    private val decoded: List<String> by lazy {
+        val docs = ArrayList<String>(size)
+        forEachDocId { docId, index -> docs.add(if (index == null) docId.toString() else "$docId$SEPARATOR$index") }
+        docs
+    }
+
+    override fun get(index: Int): String = decoded[index]
+
+    /**
+     * Calls [consumer] with every doc id, in order, and the index it belongs to, or null if the id has no index.
+     * The doc id is only valid during the call, copy it with `toString()` to keep it.
+     */
+    fun forEachDocId(consumer: (docId: CharSequence, index: String?) -> Unit) {
+        val sin = StreamInput.wrap(encoded)
+        val docId = StringBuilder()
+        repeat(size) {
+            val code = sin.readVInt()
+            docId.setLength(sin.readVInt())
+            repeat(sin.readVInt()) { docId.append(sin.readVInt().toChar()) }
+            consumer(docId, if (code == NO_INDEX) null else indices[code - 1])
+        }
+    }
+
+    /** Index names of the triggered doc ids of a response, each encoded once and referred to by code. */
+    class Dictionary {
+        private val codes = LinkedHashMap<String, Int>()
+
+        /** Index names in code order, written ahead of the encoded doc ids. */
+        val indices: List<String>
+            get() = codes.keys.toList()
+
+        /** Encodes [docs] sorted, adding their index names to the dictionary. */
+        fun encode(docs: List<String>): ByteArray {
+            val entries = docs.map { doc ->
+                val separator = doc.lastIndexOf(SEPARATOR)
+                if (separator < 0) {
+                    Entry(doc, NO_INDEX)
+                } else {
+                    val index = doc.substring(separator + 1)
+                    Entry(doc.substring(0, separator), codes.getOrPut(index) { codes.size + 1 })
+                }
+            }.sortedWith(compareBy<Entry> { it.docId }.thenBy { it.code })
+            val out = BytesStreamOutput()
+            var previous = ""
+            for (entry in entries) {
+                val docId = entry.docId
+                val shared = sharedPrefixLength(previous, docId)
+                out.writeVInt(entry.code)
+                out.writeVInt(shared)
+                out.writeVInt(docId.length - shared)
+                for (i in shared until docId.length) {
+                    out.writeVInt(docId[i].code)
+                }
+                previous = docId
+            }
+            return BytesReference.toBytes(out.bytes())
+        }
+
+        private class Entry(val docId: String, val code: Int)
+    }
+
+    companion object {
+        /** Separates the doc id from the index name in a triggered doc id. */
+        const val SEPARATOR = '|'
+
+        private const val NO_INDEX = 0
+
+        private fun sharedPrefixLength(a: String, b: String): Int {
+            val max = minOf(a.length, b.length)
+            var i = 0
+            while (i < max && a[i] == b[i]) i++
+            return i
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.opensearch.commons.alerting.util.IndexUtils.Companion.NO_SCHEMA_VERSI
 import org.opensearch.commons.alerting.util.IndexUtils.Companion.WORKFLOW_MAX_INPUTS
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._ID
 import org.opensearch.commons.alerting.util.IndexUtils.Companion._VERSION
+import org.opensearch.commons.alerting.util.TrustedReads
 import org.opensearch.commons.alerting.util.instant
 import org.opensearch.commons.alerting.util.optionalTimeField
 import org.opensearch.commons.alerting.util.optionalUserField
@@ -42,31 +43,36 @@ data class Workflow(
     override val type = WORKFLOW_TYPE
 
     init {
-        if (enabled) {
-            requireNotNull(enabledTime)
-        } else {
-            require(enabledTime == null)
-        }
-        require(inputs.size <= WORKFLOW_MAX_INPUTS) { "Workflows can only have $WORKFLOW_MAX_INPUTS search input." }
-        triggers.forEach { trigger ->
-            run {
-                require(trigger is ChainedAlertTrigger) { "Incompatible trigger [${trigger.name}] for workflow. " }
+        if (!TrustedReads.isActive) {
+            if (enabled) {
+                requireNotNull(enabledTime)
+            } else {
+                require(enabledTime == null)
+            }
+            require(inputs.size <= WORKFLOW_MAX_INPUTS) { "Workflows can only have $WORKFLOW_MAX_INPUTS search input." }
+            triggers.forEach { trigger ->
+                run {
+                    require(trigger is ChainedAlertTrigger) { "Incompatible trigger [${trigger.name}] for workflow. " }
+                }
             }
         }
     }
 
     @Throws(IOException::class)
-    constructor(sin: StreamInput) : this(
-        id = sin.readString(),
+    constructor(sin: StreamInput) : this(sin.readString(), sin)
+
+    @Throws(IOException::class)
+    private constructor(id: String, sin: StreamInput) : this(
+        id = id,
         version = sin.readLong(),
         name = sin.readString(),
         enabled = sin.readBoolean(),
-        schedule = Schedule.readFrom(sin),
+        schedule = Schedule.readFrom(sin).forJob(id),
         lastUpdateTime = sin.readInstant(),
         enabledTime = sin.readOptionalInstant(),
         workflowType = sin.readEnum(WorkflowType::class.java),
         user = if (sin.readBoolean()) {
-            User(sin)
+            User.readFrom(sin)
         } else {
             null
         },
@@ -275,7 +281,7 @@ data class Workflow(
                 version,
                 requireNotNull(name) { "Workflow name is null" },
                 enabled,
-                requireNotNull(schedule) { "Workflow schedule is null" },
+                requireNotNull(schedule) { "Workflow schedule is null" }.forJob(id),
                 lastUpdateTime ?: Instant.now(),
                 enabledTime,
                 WorkflowType.valueOf(workflowType.uppercase(Locale.ROOT)),
@@ -26,13 +26,25 @@ data class WorkflowRunContext(
         fun readFrom(sin: StreamInput): WorkflowRunContext {
             return WorkflowRunContext(sin)
         }
+
+        /** Reads the matching doc ids, as [DocIdSet]s from 3.8.0 on. */
+        @Suppress("UNCHECKED_CAST")
+        private fun readMatchingDocIds(sin: StreamInput): Map<String, List<String>> {
+            if (!sin.version.onOrAfter(Version.V_3_8_0)) {
+                return sin.readMap() as Map<String, List<String>>
+            }
+            return sin.readMap(StreamInput::readString, DocIdSet::readFrom)
+        }
     }
 
+    /** The matching doc ids of every index as sets, converted once for all the requests carrying the context. */
+    private val matchingDocIdSets: Map<String, DocIdSet> by lazy { matchingDocIdsPerIndex.mapValues { DocIdSet.of(it.value) } }
+
     constructor(sin: StreamInput) : this(
         workflowId = sin.readString(),
         workflowMetadataId = sin.readString(),
         chainedMonitorId = sin.readOptionalString(),
-        matchingDocIdsPerIndex = sin.readMap() as Map<String, List<String>>,
+        matchingDocIdsPerIndex = readMatchingDocIds(sin),
         auditDelegateMonitorAlerts = sin.readBoolean(),
         findingIds = if (sin.version.onOrAfter(Version.V_2_15_0)) sin.readOptionalStringList() else emptyList()
     )
@@ -41,13 +53,23 @@ data class WorkflowRunContext(
         out.writeString(workflowId)
         out.writeString(workflowMetadataId)
         out.writeOptionalString(chainedMonitorId)
-        out.writeMap(matchingDocIdsPerIndex)
+        if (out.version.onOrAfter(Version.V_3_8_0)) {
+            out.writeMap(matchingDocIdSets, StreamOutput::writeString) { stream, docIds -> docIds.writeTo(stream) }
+        } else {
+            out.writeMap(matchingDocIdsPerIndex)
+        }
         out.writeBoolean(auditDelegateMonitorAlerts)
         if (out.version.onOrAfter(Version.V_2_15_0)) {
             out.writeOptionalStringCollection(findingIds)
         }
     }
 
+    /**
+     * Returns the doc ids matched in [index] by the chained monitors, empty if none.
+     * The doc ids of several chained monitors are combined with [DocIdSet.intersect].
+     */
+    fun matchingDocIds(index: String): DocIdSet = matchingDocIdSets[index] ?: DocIdSet.EMPTY
+
     override fun toXContent(builder: XContentBuilder, params: ToXContent.Params?): XContentBuilder {
         builder.startObject()
             .field("workflow_id", workflowId)
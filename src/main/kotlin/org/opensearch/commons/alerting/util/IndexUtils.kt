@@ -102,5 +102,7 @@ fun getBucketKeysHash(bucketKeys: List<String>): String = bucketKeys.joinToStrin
 /**
  * Since buckets can have multi-value keys, this converts the bucket key values to a string that can be used
  * as the key for a HashMap to easily retrieve [AggregationResultBucket] based on the bucket key values.
+ * This is the form persisted in documents; in memory, [org.opensearch.commons.alerting.model.BucketKeyMap] matches
+ * buckets by [org.opensearch.commons.alerting.model.BucketKey] without building the string.
  */
 fun AggregationResultBucket.getBucketKeysHash(): String = getBucketKeysHash(this.bucketKeys)
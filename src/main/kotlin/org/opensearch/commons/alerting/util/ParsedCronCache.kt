@@ -0,0 +1,74 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.util
+
+import com.cronutils.model.Cron
+import com.cronutils.model.time.ExecutionTime
+import org.opensearch.common.cache.Cache
+import org.opensearch.common.cache.CacheBuilder
+import org.opensearch.commons.alerting.model.Schedule
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * A cron expression parsed with [Schedule.cronParser].
+ * Instances are immutable and shared between every schedule using the same expression.
+ */
+class ParsedCron internal constructor(val expression: String, val cron: Cron) {
+    val executionTime: ExecutionTime = ExecutionTime.forCron(cron)
+
+    /** The whitespace separated fields of the expression. */
+    val fields: List<String> = expression.trim().split(WHITESPACE)
+
+    private companion object {
+        private val WHITESPACE = "\\s+".toRegex()
+    }
+}
+
+/**
+ * Bounded cache of parsed cron expressions keyed by expression.
+ * Clusters typically hold many monitors but only a handful of distinct cron expressions, so parsing each
+ * expression once saves the cron parse on every [org.opensearch.commons.alerting.model.CronSchedule] read from
+ * the wire or from XContent. Invalid expressions are not cached.
+ */
+object ParsedCronCache {
+    const val MAX_ENTRIES = 1024L
+
+    private val cache: Cache<String, ParsedCron> = CacheBuilder.builder<String, ParsedCron>()
+        .setMaximumWeight(MAX_ENTRIES)
+        .build()
+    private val hits = LongAdder()
+    private val misses = LongAdder()
+
+    /**
+     * Returns the parsed form of [expression], parsing it on first use.
+     * @throws IllegalArgumentException if the expression is not a valid cron expression
+     */
+    fun get(expression: String): ParsedCron {
+        var loaded = false
+        val parsed = try {
+            cache.computeIfAbsent(expression) {
+                loaded = true
+                misses.increment()
+                ParsedCron(it, Schedule.cronParser.parse(it))
+            }
+        } catch (e: ExecutionException) {
+            throw e.cause as? RuntimeException ?: IllegalArgumentException("Invalid cron expression: $expression", e.cause)
+        }
+        if (!loaded) hits.increment()
+        return parsed
+    }
+
+    /**
+     * Hit and miss counters of the cache.
+     * @property hits lookups answered from the cache
+     * @property misses lookups that parsed the expression
+     * @property size expressions currently cached
+     */
+    data class Stats(val hits: Long, val misses: Long, val size: Int)
+
+    fun stats(): Stats = Stats(hits.sum(), misses.sum(), cache.count())
+}
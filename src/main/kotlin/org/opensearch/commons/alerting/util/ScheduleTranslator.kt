@@ -8,6 +8,8 @@ package org.opensearch.commons.alerting.util
 import org.opensearch.commons.alerting.model.CronSchedule
 import org.opensearch.commons.alerting.model.IntervalSchedule
 import org.opensearch.commons.alerting.model.Schedule
+import java.time.Duration
+import java.time.Instant
 import java.time.ZoneId
 import java.time.temporal.ChronoUnit
 
@@ -24,6 +26,18 @@ import java.time.temporal.ChronoUnit
  */
 object ScheduleTranslator {
 
+    /** Largest MaximumWindowInMinutes accepted by EB Scheduler. */
+    const val MAX_FLEXIBLE_TIME_WINDOW_MINUTES = 1440
+
+    /** Start of the executions a cron window is derived from, a leap year so that February 29 is covered. */
+    private val CRON_GAP_REFERENCE = Instant.parse("2024-01-01T00:00:00Z")
+
+    /** A year of executions covers the daylight saving transitions and every day of month. */
+    private val CRON_GAP_HORIZON = Duration.ofDays(366)
+
+    /** Bounds the work for frequent schedules, whose executions repeat well within the bound. */
+    private const val MAX_CRON_GAP_EXECUTIONS = 20_000
+
     /**
      * Returns the EB ScheduleExpression string and optional timezone.
      * Timezone is only non-null for CronSchedule.
@@ -35,6 +49,42 @@ object ScheduleTranslator {
         }
     }
 
+    /**
+     * Returns the EB FlexibleTimeWindow MaximumWindowInMinutes honoring [Schedule.spread], or null if the schedule
+     * is not spread and should use the OFF mode. EB then spreads the invocations of the schedule across the window,
+     * which is at most the schedule period, the smallest gap between executions for cron schedules, and capped at
+     * the EB limit.
+     */
+    fun toEventBridgeFlexibleTimeWindowMinutes(schedule: Schedule): Int? {
+        if (!schedule.spread) return null
+        val periodMinutes = when (schedule) {
+            is IntervalSchedule -> Duration.of(schedule.interval.toLong(), schedule.unit).toMinutes()
+            is CronSchedule -> minCronGapMinutes(schedule)
+        }
+        return periodMinutes.coerceIn(1, MAX_FLEXIBLE_TIME_WINDOW_MINUTES.toLong()).toInt()
+    }
+
+    /**
+     * Smallest gap in minutes between consecutive executions of the cron schedule over [CRON_GAP_HORIZON] from
+     * [CRON_GAP_REFERENCE]. The window must not exceed it, otherwise EB could run an execution after the one that
+     * follows it. The gap does not depend on the current time, so the window of a schedule never changes.
+     */
+    private fun minCronGapMinutes(schedule: CronSchedule): Long {
+        val executionTime = schedule.executionTime
+        val end = CRON_GAP_REFERENCE.plus(CRON_GAP_HORIZON).atZone(schedule.timezone)
+        var previous = executionTime.nextExecution(CRON_GAP_REFERENCE.atZone(schedule.timezone)).orElse(null)
+            ?: return MAX_FLEXIBLE_TIME_WINDOW_MINUTES.toLong()
+        var minGap = Long.MAX_VALUE
+        var executions = 0
+        while (previous.isBefore(end) && executions++ < MAX_CRON_GAP_EXECUTIONS) {
+            val next = executionTime.nextExecution(previous).orElse(null) ?: break
+            minGap = minOf(minGap, Duration.between(previous, next).toMinutes())
+            if (minGap <= 1) break
+            previous = next
+        }
+        return if (minGap == Long.MAX_VALUE) MAX_FLEXIBLE_TIME_WINDOW_MINUTES.toLong() else minGap
+    }
+
     private fun translateInterval(schedule: IntervalSchedule): String {
         val unit = when (schedule.unit) {
             ChronoUnit.SECONDS -> throw IllegalArgumentException(
@@ -50,7 +100,7 @@ object ScheduleTranslator {
     }
 
     private fun translateCron(schedule: CronSchedule): String {
-        val parts = schedule.expression.trim().split("\\s+".toRegex())
+        val parts = ParsedCronCache.get(schedule.expression).fields
         require(parts.size == 5) { "Expected 5-field cron expression, got ${parts.size}: ${schedule.expression}" }
 
         val (min, hour, dom, month, dow) = parts
@@ -0,0 +1,223 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.util
+
+import org.opensearch.commons.alerting.model.ScheduledJob
+import java.time.Instant
+
+/**
+ * Hierarchical timing wheel indexing [ScheduledJob]s (e.g. Monitor or Workflow) by their next fire time.
+ *
+ * Time is divided into ticks of [tickMillis]. Level 0 has [wheelSize] slots of one tick each, and every further
+ * level has [wheelSize] slots each spanning a whole turn of the level below it. Jobs due beyond the top level are
+ * parked in its farthest slot and re-placed when that slot comes around. Inserting and cancelling a job are O(1),
+ * and advancing costs one slot per elapsed tick plus the jobs cascaded or popped, independent of the number of
+ * jobs in the wheel.
+ *
+ * Jobs are identified by [ScheduledJob.id]; scheduling a job again replaces its previous entry.
+ * Fire times are rounded up to the tick, so a job is popped by the first poll at or after its fire time that
+ * falls on a later tick.
+ * All methods are synchronized on the wheel.
+ *
+ * @param startMillis the epoch millis the wheel starts at, usually the current time
+ */
+class ScheduledJobTimingWheel(
+    startMillis: Long,
+    val tickMillis: Long = DEFAULT_TICK_MILLIS,
+    val wheelSize: Int = DEFAULT_WHEEL_SIZE,
+    val levels: Int = DEFAULT_LEVELS
+) {
+    init {
+        require(tickMillis > 0) { "Tick must be positive, got $tickMillis" }
+        require(wheelSize >= 2) { "Wheel size must be at least 2, got $wheelSize" }
+        require(levels >= 1) { "Wheel must have at least one level, got $levels" }
+    }
+
+    /** Number of ticks covered by one slot of each level. */
+    private val slotTicks = LongArray(levels + 1).also {
+        it[0] = 1
+        for (level in 1..levels) {
+            it[level] = Math.multiplyExact(it[level - 1], wheelSize.toLong())
+        }
+    }
+    private val slots = Array(levels) { Array(wheelSize) { Slot() } }
+    private val entries = HashMap<String, Entry>()
+
+    /** The last tick that has been popped; every job due at or before it has been returned. */
+    private var currentTick = Math.floorDiv(startMillis, tickMillis)
+
+    /** Number of jobs currently in the wheel. */
+    @get:Synchronized
+    val size: Int
+        get() = entries.size
+
+    /** Epoch millis up to which due jobs have been popped. */
+    @get:Synchronized
+    val currentMillis: Long
+        get() = currentTick * tickMillis
+
+    /**
+     * Schedules [job] to fire at [fireAtMillis], replacing any previous entry of the job.
+     * A fire time at or before the current time fires on the next [pollDue].
+     */
+    @Synchronized
+    fun schedule(job: ScheduledJob, fireAtMillis: Long) {
+        require(job.id != ScheduledJob.NO_ID) { "Only persisted jobs can be scheduled" }
+        entries.remove(job.id)?.unlink()
+        // Round up so that a job never fires before its fire time
+        val fireTick = Math.floorDiv(fireAtMillis, tickMillis) + if (Math.floorMod(fireAtMillis, tickMillis) == 0L) 0 else 1
+        val entry = Entry(job, maxOf(fireTick, currentTick + 1))
+        entries[job.id] = entry
+        place(entry)
+    }
+
+    /**
+     * Re-arms [job] from its [ScheduledJob.schedule], using [ScheduledJob.enabledTime] for interval schedules and
+     * [previousExecutionTime] as the last time the job fired, if any. Spread schedules are applied for the job.
+     * Disabled jobs and schedules without a next execution are removed from the wheel.
+     * @return the time the job will fire at, or null if it is not scheduled
+     */
+    @Synchronized
+    fun rearm(job: ScheduledJob, previousExecutionTime: Instant? = null): Instant? {
+        val enabledTime = job.enabledTime
+        if (!job.enabled || enabledTime == null) {
+            cancel(job.id)
+            return null
+        }
+        val next = job.schedule.forJob(job.id).getExpectedNextExecutionTime(enabledTime, previousExecutionTime)
+        if (next == null) {
+            cancel(job.id)
+        } else {
+            schedule(job, next.toEpochMilli())
+        }
+        return next
+    }
+
+    /**
+     * Removes the job with [jobId] from the wheel.
+     * @return true if the job was scheduled
+     */
+    @Synchronized
+    fun cancel(jobId: String): Boolean {
+        val entry = entries.remove(jobId) ?: return false
+        entry.unlink()
+        return true
+    }
+
+    /** Returns whether the job with [jobId] is scheduled. */
+    @Synchronized
+    fun contains(jobId: String): Boolean = entries.containsKey(jobId)
+
+    /**
+     * Advances the wheel to [nowMillis] and removes every job due at or before it.
+     * The returned jobs are no longer in the wheel; callers re-arm them once they ran.
+     * @return the due jobs ordered by tick
+     */
+    @Synchronized
+    fun pollDue(nowMillis: Long): List<ScheduledJob> {
+        val targetTick = Math.floorDiv(nowMillis, tickMillis)
+        if (targetTick <= currentTick || entries.isEmpty()) {
+            currentTick = maxOf(currentTick, targetTick)
+            return emptyList()
+        }
+        val due = mutableListOf<ScheduledJob>()
+        while (currentTick < targetTick && entries.isNotEmpty()) {
+            val tick = ++currentTick
+            // Move higher level slots starting at this tick down before popping level 0
+            for (level in levels - 1 downTo 1) {
+                if (tick % slotTicks[level] == 0L) {
+                    var entry = slots[level][slotIndex(tick, level)].drain()
+                    while (entry != null) {
+                        val next = entry.next
+                        place(entry)
+                        entry = next
+                    }
+                }
+            }
+            var entry = slots[0][slotIndex(tick, 0)].drain()
+            while (entry != null) {
+                val next = entry.next
+                if (entry.fireTick <= tick) {
+                    entries.remove(entry.job.id)
+                    due.add(entry.job)
+                } else {
+                    // Parked beyond a single level wheel
+                    place(entry)
+                }
+                entry = next
+            }
+        }
+        currentTick = targetTick
+        return due
+    }
+
+    private fun place(entry: Entry) {
+        val delta = entry.fireTick - currentTick
+        var level = 0
+        while (level < levels - 1 && delta >= slotTicks[level + 1]) {
+            level++
+        }
+        // Park jobs beyond the top level in its farthest slot, they are re-placed when it comes around
+        val placementTick = if (delta >= slotTicks[levels]) currentTick + slotTicks[levels] - 1 else entry.fireTick
+        slots[level][slotIndex(placementTick, level)].add(entry)
+    }
+
+    private fun slotIndex(tick: Long, level: Int): Int = Math.floorMod(tick / slotTicks[level], wheelSize.toLong()).toInt()
+
+    private class Entry(val job: ScheduledJob, val fireTick: Long) {
+        var slot: Slot? = null
+        var prev: Entry? = null
+        var next: Entry? = null
+
+        fun unlink() {
+            slot?.remove(this)
+        }
+    }
+
+    /** Doubly linked list of the entries in one slot. */
+    private class Slot {
+        private var head: Entry? = null
+
+        fun add(entry: Entry) {
+            entry.slot = this
+            entry.prev = null
+            entry.next = head
+            head?.prev = entry
+            head = entry
+        }
+
+        fun remove(entry: Entry) {
+            val prev = entry.prev
+            val next = entry.next
+            if (prev == null) head = next else prev.next = next
+            next?.prev = prev
+            entry.slot = null
+            entry.prev = null
+            entry.next = null
+        }
+
+        /** Empties the slot and returns its entries, still chained through [Entry.next]. */
+        fun drain(): Entry? {
+            val first = head
+            head = null
+            var entry = first
+            while (entry != null) {
+                entry.slot = null
+                entry.prev = null
+                entry = entry.next
+            }
+            return first
+        }
+    }
+
+    companion object {
+        const val DEFAULT_TICK_MILLIS = 1000L
+        const val DEFAULT_WHEEL_SIZE = 64
+
+        /** With the default tick and wheel size four levels cover about 194 days before jobs need re-placing. */
+        const val DEFAULT_LEVELS = 4
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.util
+
+import org.opensearch.core.common.io.stream.StreamInput
+import org.opensearch.core.common.io.stream.Writeable
+import java.io.IOException
+
+/**
+ * Reads of models that another node of the cluster serialized after validating them.
+ *
+ * [org.opensearch.commons.alerting.model.Monitor], [org.opensearch.commons.alerting.model.Workflow],
+ * [org.opensearch.commons.alerting.model.PPLTrigger], [org.opensearch.commons.alerting.model.DocLevelQuery] and
+ * [org.opensearch.commons.alerting.model.ClusterMetricsInput] validate their fields on construction. Objects read
+ * with [read] skip that validation, since the node that wrote them built them through the same checks. Fan-out
+ * requests and responses read the same monitors over and over, and the checks are a visible share of that cost.
+ *
+ * Only read requests and responses sent between nodes this way. Requests made from REST handlers and everything
+ * parsed from XContent keep the full validation.
+ */
+object TrustedReads {
+    private val depth = ThreadLocal.withInitial { IntArray(1) }
+
+    /** Whether the current thread is reading trusted objects, in which case models skip their validation. */
+    @JvmStatic
+    val isActive: Boolean
+        get() = depth.get()[0] > 0
+
+    /** Reads an object from [sin] with [reader], without validating the models it is made of. */
+    @JvmStatic
+    @Throws(IOException::class)
+    fun <T> read(sin: StreamInput, reader: Writeable.Reader<T>): T {
+        return derive { reader.read(sin) }
+    }
+
+    /**
+     * Runs [block] without validating the models it builds. Only use it to derive models from ones that were
+     * validated already, such as a copy of a monitor with other doc-level queries.
+     */
+    @JvmStatic
+    fun <T> derive(block: () -> T): T {
+        val counter = depth.get()
+        counter[0]++
+        try {
+            return block()
+        } finally {
+            counter[0]--
+        }
+    }
+}
@@ -5,7 +5,6 @@
 package org.opensearch.commons.notifications
 
 import org.opensearch.commons.ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT
-import org.opensearch.commons.notifications.action.BaseResponse
 import org.opensearch.commons.notifications.action.CreateNotificationConfigRequest
 import org.opensearch.commons.notifications.action.CreateNotificationConfigResponse
 import org.opensearch.commons.notifications.action.DeleteNotificationConfigRequest
@@ -33,10 +32,8 @@ import org.opensearch.commons.notifications.action.UpdateNotificationConfigRespo
 import org.opensearch.commons.notifications.model.ChannelMessage
 import org.opensearch.commons.notifications.model.EventSource
 import org.opensearch.commons.utils.SecureClientWrapper
-import org.opensearch.commons.utils.recreateObject
+import org.opensearch.commons.utils.wrapActionListener
 import org.opensearch.core.action.ActionListener
-import org.opensearch.core.action.ActionResponse
-import org.opensearch.core.common.io.stream.Writeable
 import org.opensearch.transport.client.node.NodeClient
 
 /**
@@ -58,7 +55,7 @@ object NotificationsPluginInterface {
         client.execute(
             CREATE_NOTIFICATION_CONFIG_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response -> recreateObject(response) { CreateNotificationConfigResponse(it) } }
+            wrapActionListener(listener) { CreateNotificationConfigResponse(it) }
         )
     }
 
@@ -76,7 +73,7 @@ object NotificationsPluginInterface {
         client.execute(
             UPDATE_NOTIFICATION_CONFIG_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response -> recreateObject(response) { UpdateNotificationConfigResponse(it) } }
+            wrapActionListener(listener) { UpdateNotificationConfigResponse(it) }
         )
     }
 
@@ -94,7 +91,7 @@ object NotificationsPluginInterface {
         client.execute(
             DELETE_NOTIFICATION_CONFIG_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response -> recreateObject(response) { DeleteNotificationConfigResponse(it) } }
+            wrapActionListener(listener) { DeleteNotificationConfigResponse(it) }
         )
     }
 
@@ -112,7 +109,7 @@ object NotificationsPluginInterface {
         client.execute(
             GET_NOTIFICATION_CONFIG_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response -> recreateObject(response) { GetNotificationConfigResponse(it) } }
+            wrapActionListener(listener) { GetNotificationConfigResponse(it) }
         )
     }
 
@@ -130,7 +127,7 @@ object NotificationsPluginInterface {
         client.execute(
             GET_PLUGIN_FEATURES_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response -> recreateObject(response) { GetPluginFeaturesResponse(it) } }
+            wrapActionListener(listener) { GetPluginFeaturesResponse(it) }
         )
     }
 
@@ -148,7 +145,7 @@ object NotificationsPluginInterface {
         client.execute(
             GET_CHANNEL_LIST_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response -> recreateObject(response) { GetChannelListResponse(it) } }
+            wrapActionListener(listener) { GetChannelListResponse(it) }
         )
     }
 
@@ -173,7 +170,7 @@ object NotificationsPluginInterface {
         wrapper.execute(
             SEND_NOTIFICATION_ACTION_TYPE,
             SendNotificationRequest(eventSource, channelMessage, channelIds, threadContext),
-            wrapActionListener(listener) { response -> recreateObject(response) { SendNotificationResponse(it) } }
+            wrapActionListener(listener) { SendNotificationResponse(it) }
         )
     }
 
@@ -192,30 +189,7 @@ object NotificationsPluginInterface {
         client.execute(
             LEGACY_PUBLISH_NOTIFICATION_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response -> recreateObject(response) { LegacyPublishNotificationResponse(it) } }
+            wrapActionListener(listener) { LegacyPublishNotificationResponse(it) }
         )
     }
-
-    /**
-     * Wrap action listener on concrete response class by a new created one on ActionResponse.
-     * This is required because the response may be loaded by different classloader across plugins.
-     * The onResponse(ActionResponse) avoids type cast exception and give a chance to recreate
-     * the response object.
-     */
-    @Suppress("UNCHECKED_CAST")
-    private fun <Response : BaseResponse> wrapActionListener(
-        listener: ActionListener<Response>,
-        recreate: (Writeable) -> Response
-    ): ActionListener<Response> {
-        return object : ActionListener<ActionResponse> {
-            override fun onResponse(response: ActionResponse) {
-                val recreated = response as? Response ?: recreate(response)
-                listener.onResponse(recreated)
-            }
-
-            override fun onFailure(exception: java.lang.Exception) {
-                listener.onFailure(exception)
-            }
-        } as ActionListener<Response>
-    }
 }
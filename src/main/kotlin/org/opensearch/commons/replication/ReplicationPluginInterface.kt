@@ -7,10 +7,8 @@ package org.opensearch.commons.replication
 import org.opensearch.action.support.clustermanager.AcknowledgedResponse
 import org.opensearch.commons.replication.action.ReplicationActions.INTERNAL_STOP_REPLICATION_ACTION_TYPE
 import org.opensearch.commons.replication.action.StopIndexReplicationRequest
-import org.opensearch.commons.utils.recreateObject
+import org.opensearch.commons.utils.wrapActionListener
 import org.opensearch.core.action.ActionListener
-import org.opensearch.core.action.ActionResponse
-import org.opensearch.core.common.io.stream.Writeable
 import org.opensearch.transport.client.Client
 import org.opensearch.transport.client.node.NodeClient
 
@@ -35,34 +33,7 @@ object ReplicationPluginInterface {
         return nodeClient.execute(
             INTERNAL_STOP_REPLICATION_ACTION_TYPE,
             request,
-            wrapActionListener(listener) { response ->
-                recreateObject(response) {
-                    AcknowledgedResponse(it)
-                }
-            }
+            wrapActionListener(listener) { AcknowledgedResponse(it) }
         )
     }
-
-    /**
-     * Wrap action listener on concrete response class by a new created one on ActionResponse.
-     * This is required because the response may be loaded by different classloader across plugins.
-     * The onResponse(ActionResponse) avoids type cast exception and give a chance to recreate
-     * the response object.
-     */
-    @Suppress("UNCHECKED_CAST")
-    private fun <Response : AcknowledgedResponse> wrapActionListener(
-        listener: ActionListener<Response>,
-        recreate: (Writeable) -> Response
-    ): ActionListener<Response> {
-        return object : ActionListener<ActionResponse> {
-            override fun onResponse(response: ActionResponse) {
-                val recreated = response as? Response ?: recreate(response)
-                listener.onResponse(recreated)
-            }
-
-            override fun onFailure(exception: java.lang.Exception) {
-                listener.onFailure(exception)
-            }
-        } as ActionListener<Response>
-    }
 }
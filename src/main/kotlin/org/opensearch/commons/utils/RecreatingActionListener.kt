@@ -0,0 +1,103 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.utils
+
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.core.action.ActionListener
+import org.opensearch.core.action.ActionResponse
+import org.opensearch.core.common.io.stream.NamedWriteableAwareStreamInput
+import org.opensearch.core.common.io.stream.NamedWriteableRegistry
+import org.opensearch.core.common.io.stream.Writeable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Listener on [ActionResponse] that hands the response to a listener on a concrete response class.
+ * This is required because the response may be loaded by different classloader across plugins. In that case the
+ * response is recreated by serializing it and reading it back with [reader] in the classloader of [responseClass].
+ * Whether a response class can be handed over directly is decided once per (response class, target class) pair
+ * when both classes come from the same classloader.
+ */
+class RecreatingActionListener<Response : ActionResponse>(
+    private val listener: ActionListener<Response>,
+    private val responseClass: Class<Response>,
+    private val namedWriteableRegistry: NamedWriteableRegistry?,
+    private val reader: Writeable.Reader<Response>
+) : ActionListener<ActionResponse> {
+
+    override fun onResponse(response: ActionResponse) {
+        val result = if (isAssignable(response.javaClass, responseClass)) {
+            passedThrough.increment()
+            responseClass.cast(response)
+        } else {
+            recreate(response)
+        }
+        listener.onResponse(result)
+    }
+
+    override fun onFailure(exception: java.lang.Exception) {
+        listener.onFailure(exception)
+    }
+
+    private fun recreate(response: ActionResponse): Response {
+        BytesStreamOutput().use { output ->
+            response.writeTo(output)
+            recreated.increment()
+            recreatedBytes.add(output.size().toLong())
+            output.bytes().streamInput().use { streamInput ->
+                return if (namedWriteableRegistry == null) {
+                    reader.read(streamInput)
+                } else {
+                    reader.read(NamedWriteableAwareStreamInput(streamInput, namedWriteableRegistry))
+                }
+            }
+        }
+    }
+
+    /**
+     * Counters of how responses were handed over, across all listeners.
+     * @property passedThrough responses handed to the listener as they are
+     * @property recreated responses that had to be serialized and read back
+     * @property recreatedBytes serialized bytes copied while recreating responses
+     */
+    data class Stats(val passedThrough: Long, val recreated: Long, val recreatedBytes: Long)
+
+    companion object {
+        private val passedThrough = LongAdder()
+        private val recreated = LongAdder()
+        private val recreatedBytes = LongAdder()
+
+        // response class -> (target class -> whether the response is an instance of the target class)
+        private val assignableCache = object : ClassValue<ConcurrentHashMap<Class<*>, Boolean>>() {
+            override fun computeValue(type: Class<*>): ConcurrentHashMap<Class<*>, Boolean> = ConcurrentHashMap()
+        }
+
+        private fun isAssignable(responseClass: Class<*>, targetClass: Class<*>): Boolean {
+            // The cache lives as long as the response class, so it only holds target classes of the same loader.
+            // Caching a class of another plugin would keep that plugin's classloader from being unloaded.
+            if (responseClass.classLoader !== targetClass.classLoader) {
+                return targetClass.isAssignableFrom(responseClass)
+            }
+            return assignableCache.get(responseClass).computeIfAbsent(targetClass) { it.isAssignableFrom(responseClass) }
+        }
+
+        fun stats(): Stats = Stats(passedThrough.sum(), recreated.sum(), recreatedBytes.sum())
+    }
+}
+
+/**
+ * Wrap action listener on concrete response class by a new created one on ActionResponse.
+ * The onResponse(ActionResponse) avoids type cast exception and give a chance to recreate
+ * the response object with [reader], see [RecreatingActionListener].
+ */
+@Suppress("UNCHECKED_CAST")
+inline fun <reified Response : ActionResponse> wrapActionListener(
+    listener: ActionListener<Response>,
+    namedWriteableRegistry: NamedWriteableRegistry? = null,
+    reader: Writeable.Reader<Response>
+): ActionListener<Response> {
+    return RecreatingActionListener(listener, Response::class.java, namedWriteableRegistry, reader) as ActionListener<Response>
+}
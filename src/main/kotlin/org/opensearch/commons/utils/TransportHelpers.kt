@@ -5,15 +5,14 @@
 
 package org.opensearch.commons.utils
 
-import org.opensearch.core.common.io.stream.InputStreamStreamInput
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.common.io.stream.ReleasableBytesStreamOutput
+import org.opensearch.common.util.BigArrays
 import org.opensearch.core.common.io.stream.NamedWriteableAwareStreamInput
 import org.opensearch.core.common.io.stream.NamedWriteableRegistry
-import org.opensearch.core.common.io.stream.OutputStreamStreamOutput
 import org.opensearch.core.common.io.stream.StreamInput
 import org.opensearch.core.common.io.stream.StreamOutput
 import org.opensearch.core.common.io.stream.Writeable
-import java.io.ByteArrayInputStream
-import java.io.ByteArrayOutputStream
 
 val STRING_READER = Writeable.Reader {
     it.readString()
@@ -27,14 +26,14 @@ val STRING_WRITER = Writeable.Writer { output: StreamOutput, value: String ->
  * Re create the object from the writeable.
  * This method needs to be inline and reified so that when this is called from
  * doExecute() of transport action, the object may be created from other JVM.
+ * The object is written into the pages of a [BytesStreamOutput] and read back from the same pages,
+ * so no contiguous copy of the serialized object is ever made.
  */
 inline fun <reified Request> recreateObject(writeable: Writeable, block: (StreamInput) -> Request): Request {
-    ByteArrayOutputStream().use { byteArrayOutputStream ->
-        OutputStreamStreamOutput(byteArrayOutputStream).use {
-            writeable.writeTo(it)
-            InputStreamStreamInput(ByteArrayInputStream(byteArrayOutputStream.toByteArray())).use { streamInput ->
-                return block(streamInput)
-            }
+    BytesStreamOutput().use { output ->
+        writeable.writeTo(output)
+        output.bytes().streamInput().use { streamInput ->
+            return block(streamInput)
         }
     }
 }
@@ -45,12 +44,38 @@ inline fun <reified Request> recreateObject(writeable: Writeable, block: (Stream
  * doExecute() of transport action, the object may be created from other JVM.
  */
 inline fun <reified Request> recreateObject(writeable: Writeable, namedWriteableRegistry: NamedWriteableRegistry, block: (StreamInput) -> Request): Request {
-    ByteArrayOutputStream().use { byteArrayOutputStream ->
-        OutputStreamStreamOutput(byteArrayOutputStream).use {
-            writeable.writeTo(it)
-            InputStreamStreamInput(ByteArrayInputStream(byteArrayOutputStream.toByteArray())).use { streamInput ->
-                return block(NamedWriteableAwareStreamInput(streamInput, namedWriteableRegistry))
-            }
+    return recreateObject(writeable) { streamInput ->
+        block(NamedWriteableAwareStreamInput(streamInput, namedWriteableRegistry))
+    }
+}
+
+/**
+ * Re create the object from the writeable using pages recycled through the given [BigArrays].
+ * The pages are released as soon as [block] returns, so [block] must copy what it reads and not keep
+ * references into the stream (for example a [org.opensearch.core.common.bytes.BytesReference] returned
+ * by readBytesReference()).
+ */
+inline fun <reified Request> recreateObject(writeable: Writeable, bigArrays: BigArrays, block: (StreamInput) -> Request): Request {
+    ReleasableBytesStreamOutput(bigArrays).use { output ->
+        writeable.writeTo(output)
+        output.bytes().streamInput().use { streamInput ->
+            return block(streamInput)
         }
     }
 }
+
+/**
+ * Re create the object from the writeable using pages recycled through the given [BigArrays].
+ * Uses NamedWriteableRegistry in order to build the aggregations.
+ * The same restrictions on [block] as for the [BigArrays] variant without registry apply.
+ */
+inline fun <reified Request> recreateObject(
+    writeable: Writeable,
+    namedWriteableRegistry: NamedWriteableRegistry,
+    bigArrays: BigArrays,
+    block: (StreamInput) -> Request
+): Request {
+    return recreateObject(writeable, bigArrays) { streamInput ->
+        block(NamedWriteableAwareStreamInput(streamInput, namedWriteableRegistry))
+    }
+}
@@ -7,17 +7,23 @@ package org.opensearch.commons.authuser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opensearch.commons.ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.opensearch.Version;
@@ -280,6 +286,33 @@ public class UserTest {
         assertTrue(user.getCustomAttributes().containsValue("value2"));
     }
 
+    @Test
+    public void testParseUserStringWithCompactCustomAttributes() {
+        Map<String, String> attrMap = new HashMap<>();
+        attrMap.put("attr1", "value1");
+        attrMap.put("attr2", "value2");
+        String encodedAttrMap = User.encodeCustomAttributes(attrMap);
+
+        User user = User.parse("myuser|bckrole1,bckrol2|role1,role2|myTenant|READ_ONLY|" + encodedAttrMap);
+
+        assertEquals("myuser", user.getName());
+        assertEquals(List.of("bckrole1", "bckrol2"), user.getBackendRoles());
+        assertEquals(List.of("role1", "role2"), user.getRoles());
+        assertEquals("READ_ONLY", user.getRequestedTenantAccess());
+        assertEquals(attrMap, user.getCustomAttributes());
+    }
+
+    @Test
+    public void testParseUserStringWithEscapedPipesAndEmptyRoles() {
+        User user = User.parse("my\\|user|,bckrole1,,bck\\|role2,,|role1|");
+
+        assertEquals("my|user", user.getName());
+        assertEquals(Arrays.asList("", "bckrole1", "", "bck|role2"), user.getBackendRoles());
+        assertEquals(List.of("role1"), user.getRoles());
+        assertNull(user.getRequestedTenant());
+        assertNull(User.parse("|bckrole1|role1"));
+    }
+
     @Test
     public void testParseUserStringNameWithTenantAndAccess() {
         ThreadContext tc = new ThreadContext(Settings.EMPTY);
@@ -573,6 +606,60 @@ public class UserTest {
         assertFalse(user.isAdminDn(settings));
     }
 
+    @Test
+    public void testAdminDnFollowsSettings() {
+        User user = User.parse("CN=kirk,OU=client,O=client,L=test, C=de|backendrole1|role1");
+        Settings kirk = Settings.builder().putList(ConfigConstants.OPENSEARCH_SECURITY_AUTHCZ_ADMIN_DN, List.of(user.getName())).build();
+        Settings spock = Settings
+            .builder()
+            .putList(ConfigConstants.OPENSEARCH_SECURITY_AUTHCZ_ADMIN_DN, List.of("CN=spock,OU=client,O=client,L=test, C=de"))
+            .build();
+        assertTrue(user.isAdminDn(kirk));
+        assertTrue(user.isAdminDn(kirk));
+        assertFalse(user.isAdminDn(spock));
+        assertTrue(user.isAdminDn(kirk));
+    }
+
+    @Test
+    public void testRoleBits() {
+        User user = new User("chip", List.of("admin", "ops"), List.of("ops_data"), Map.of());
+        User ops = new User("dale", List.of("ops"), List.of("all_access"), Map.of());
+        User other = new User("pluto", List.of("dev"), List.of("ops_data"), Map.of());
+
+        assertTrue(user.sharesBackendRoleWith(ops));
+        assertFalse(user.sharesBackendRoleWith(other));
+        assertTrue(user.getRoleBits().intersects(other.getRoleBits()));
+        assertFalse(user.getRoleBits().intersects(ops.getRoleBits()));
+
+        assertEquals(2, user.getBackendRoleBits().size());
+        assertTrue(user.getBackendRoleBits().contains("admin"));
+        assertFalse(user.getBackendRoleBits().contains("dev"));
+        assertEquals(RoleBits.of(List.of("ops", "admin")), user.getBackendRoleBits());
+        assertTrue(new User().getBackendRoleBits().isEmpty());
+    }
+
+    @Test
+    public void testRoleBitsPastTheDictionaryBound() {
+        List<String> roles = IntStream.range(0, RoleBits.MAX_INDEXED_ROLES + 2)
+            .mapToObj(i -> "bulk-role-" + i)
+            .collect(Collectors.toList());
+        RoleBits all = RoleBits.of(roles);
+        assertEquals(roles.size(), all.size());
+        roles.forEach(role -> assertTrue(all.contains(role)));
+
+        List<String> unindexed = List.of("unindexed-b", "unindexed-a");
+        RoleBits bits = RoleBits.of(unindexed);
+        assertEquals(2, bits.size());
+        assertFalse(bits.isEmpty());
+        assertTrue(bits.contains("unindexed-a"));
+        assertFalse(bits.contains("unindexed-c"));
+        assertEquals(RoleBits.of(List.of("unindexed-a", "unindexed-b")), bits);
+        assertEquals(RoleBits.of(List.of("unindexed-a", "unindexed-b")).hashCode(), bits.hashCode());
+        assertTrue(bits.intersects(RoleBits.of(List.of("unindexed-c", "unindexed-b"))));
+        assertFalse(bits.intersects(RoleBits.of(List.of("unindexed-c", "bulk-role-0"))));
+        assertTrue(all.intersects(RoleBits.of(List.of("unindexed-c", "bulk-role-0"))));
+    }
+
     @Test
     public void testUserOrSettingsAreNullOrEmpty() {
         Settings settings = Settings.EMPTY;
@@ -628,4 +715,53 @@ public class UserTest {
             """;
         assertEquals(expectedUserJson.replace("\n", "").replace("\s", ""), xcontent.toString().replace("\n", ""));
     }
+
+    @Test
+    public void testUserHashCode() {
+        User user = testTenantUser();
+        User copy = testTenantUser();
+        assertEquals(user.hashCode(), copy.hashCode());
+        assertNotEquals(user.hashCode(), testNoTenantUser().hashCode());
+
+        Map<User, String> users = new HashMap<>();
+        users.put(user, "tenant");
+        assertEquals("tenant", users.get(copy));
+    }
+
+    @Test
+    public void testUserCollectionsAreImmutableCopies() {
+        List<String> backendRoles = new ArrayList<>(List.of("admin"));
+        User user = new User("chip", backendRoles, List.of("ops_data"), Map.of("attr1", "val1"));
+        backendRoles.add("ops");
+
+        assertEquals(List.of("admin"), user.getBackendRoles());
+        assertThrows(UnsupportedOperationException.class, () -> user.getBackendRoles().add("ops"));
+        assertThrows(UnsupportedOperationException.class, () -> user.getRoles().clear());
+        assertThrows(UnsupportedOperationException.class, () -> user.getCustomAttributes().put("attr2", "val2"));
+    }
+
+    @Test
+    public void testReadUsersAreInterned() throws IOException {
+        User user = testTenantUser();
+        BytesStreamOutput out = new BytesStreamOutput();
+        user.writeTo(out);
+        user.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        User first = User.readFrom(in);
+        User second = User.readFrom(in);
+        assertEquals(user, first);
+        assertSame(first, second);
+        assertNotSame(first, new User(out.bytes().streamInput()));
+
+        String userString = "myuser|bckrole1,bckrol2|role1,role2|myTenant";
+        assertSame(User.parse(userString), User.parse(userString));
+        assertTrue(UserInterner.size() <= UserInterner.MAX_ENTRIES);
+    }
+
+    @Test
+    public void testConcurrentlyInternedUsersAreShared() {
+        String userString = "concurrent-user|bckrole1|role1|myTenant";
+        List<User> users = IntStream.range(0, 64).parallel().mapToObj(i -> User.parse(userString)).collect(Collectors.toList());
+        users.forEach(user -> assertSame(users.get(0), user));
+    }
 }
@@ -7,19 +7,29 @@ package org.opensearch.commons.authuser.util;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
-import static org.junit.Assert.assertThrows;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
 
-import org.junit.Test;
+import org.junit.jupiter.api.Test;
 import org.opensearch.OpenSearchException;
 
 public class Base64HelperTest {
@@ -115,4 +125,61 @@ public class Base64HelperTest {
 
         assertThat(jdkSerialized.length(), is(3832));
     }
+
+    private static Serializable dsCompact(Serializable s) {
+        return Base64Helper.deserializeObject(Base64Helper.serializeObjectCompact(s));
+    }
+
+    private static boolean isCompact(String serialized) {
+        return CompactCodec.isCompact(Base64.getDecoder().decode(serialized));
+    }
+
+    @Test
+    public void testCompactSerde() throws Exception {
+        HashMap<String, Object> map = new HashMap<>();
+        map.put("string", "value");
+        map.put("int", -1);
+        map.put("long", Long.MAX_VALUE);
+        map.put("double", 0.5);
+        map.put("decimal", new BigDecimal("-12.345"));
+        map.put("list", new ArrayList<>(List.of("a", "b")));
+        map.put("set", new HashSet<>(List.of(1, 2)));
+        map.put("sorted", new TreeMap<>(Map.of("b", 2, "a", 1)));
+        map.put("enum", TimeUnit.SECONDS);
+        map.put("address", new InetSocketAddress(InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 }), 9200));
+        map.put("unresolved", InetSocketAddress.createUnresolved("example.com", 443));
+
+        String serialized = Base64Helper.serializeObjectCompact(map);
+        assertThat(isCompact(serialized), is(true));
+        Serializable deserialized = Base64Helper.deserializeObject(serialized);
+        assertThat(deserialized, is(map));
+        assertThat(((HashMap<?, ?>) deserialized).get("sorted"), instanceOf(TreeMap.class));
+    }
+
+    @Test
+    public void testCompactFallsBackToJdk() {
+        AtomicLong number = new AtomicLong(42);
+        String serialized = Base64Helper.serializeObjectCompact(number);
+        assertThat(isCompact(serialized), is(false));
+        assertThat(((AtomicLong) Base64Helper.deserializeObject(serialized)).get(), is(42L));
+
+        final OpenSearchException exception = assertThrows(
+            OpenSearchException.class,
+            () -> Base64Helper.serializeObjectCompact(new NotSafeSerializable())
+        );
+        assertThat(exception.getMessage(), containsString("NotSafeSerializable is not serializable"));
+    }
+
+    @Test
+    public void testCompactDuplicatedItemSizes() {
+        var largeObject = new HashMap<String, Object>();
+        var hm = new HashMap<>();
+        IntStream.range(0, 100).forEach(i -> { hm.put("c" + i, "cvalue" + i); });
+        IntStream.range(0, 100).forEach(i -> { largeObject.put("b" + i, hm); });
+
+        final var compactSerialized = Base64Helper.serializeObjectCompact(largeObject);
+
+        assertThat(compactSerialized.length(), lessThan(Base64Helper.serializeObject(largeObject).length()));
+        assertThat(dsCompact(largeObject), is(largeObject));
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.authuser.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class CompactCodecTest {
+
+    @Test
+    public void testMapOfStrings() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("attr1", "value1");
+        map.put("unicode", "v\u00e4lue");
+        map.put("list", Arrays.asList("a", null, "b"));
+        map.put("long", "x".repeat(300));
+        byte[] bytes = CompactCodec.encode(map);
+        assertTrue(CompactCodec.isCompact(bytes));
+        assertThat(CompactCodec.decode(bytes), is(map));
+    }
+
+    @Test
+    public void testLegacyValuesAreNotCompact() {
+        byte[] legacy = Base64.getDecoder().decode(Base64Helper.serializeObject("string"));
+        assertFalse(CompactCodec.isCompact(legacy));
+        assertThrows(IllegalArgumentException.class, () -> CompactCodec.decode(legacy));
+    }
+
+    @Test
+    public void testMalformedValues() {
+        byte[] bytes = CompactCodec.encode(List.of("value"));
+        assertThrows(IllegalArgumentException.class, () -> CompactCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> CompactCodec.decode(Arrays.copyOf(bytes, bytes.length + 1)));
+        assertThrows(IllegalArgumentException.class, () -> CompactCodec.encode(new Object()));
+    }
+}
@@ -6,6 +6,9 @@
 package org.opensearch.commons.alerting.action
 
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
 import org.junit.jupiter.api.Test
 import org.opensearch.common.io.stream.BytesStreamOutput
 import org.opensearch.commons.alerting.model.ActionExecutionTime
@@ -15,6 +18,7 @@ import org.opensearch.commons.alerting.model.IndexExecutionContext
 import org.opensearch.commons.alerting.model.IntervalSchedule
 import org.opensearch.commons.alerting.model.Monitor
 import org.opensearch.commons.alerting.model.MonitorMetadata
+import org.opensearch.commons.alerting.model.SerializedMonitor
 import org.opensearch.commons.alerting.model.Workflow
 import org.opensearch.commons.alerting.model.WorkflowRunContext
 import org.opensearch.commons.alerting.randomDocumentLevelMonitor
@@ -151,4 +155,149 @@ class DocLevelMonitorFanOutRequestTests {
         assertEquals(docLevelMonitorFanOutRequest.shardIds, newDocLevelMonitorFanOutRequest.shardIds)
         assertEquals(docLevelMonitorFanOutRequest.workflowRunContext, newDocLevelMonitorFanOutRequest.workflowRunContext)
     }
+
+    @Test
+    fun `test doc level monitor fan out requests share the serialized monitor and its queries`() {
+        val docQueries = (0 until 10).map { DocLevelQuery(query = "test_field:\"value-$it\"", fields = listOf(), name = "$it") }
+        val docLevelInput = DocLevelMonitorInput("description", listOf("test-index"), docQueries)
+        val monitor = randomDocumentLevelMonitor(
+            inputs = listOf(docLevelInput),
+            triggers = listOf(randomDocumentLevelTrigger(condition = Script("return true"))),
+            enabled = true,
+            schedule = IntervalSchedule(1, ChronoUnit.MINUTES)
+        )
+        val monitorMetadata = MonitorMetadata(
+            "test",
+            SequenceNumbers.UNASSIGNED_SEQ_NO,
+            SequenceNumbers.UNASSIGNED_PRIMARY_TERM,
+            Monitor.NO_ID,
+            listOf(ActionExecutionTime("", Instant.now())),
+            mutableMapOf("index" to mutableMapOf("1" to "1")),
+            mutableMapOf("test-index" to ".opensearch-sap-test_windows-queries-000001")
+        )
+        fun indexExecutionContext(queries: List<DocLevelQuery>) = IndexExecutionContext(
+            queries,
+            mutableMapOf("index" to mutableMapOf("1" to "1")),
+            mutableMapOf("index" to mutableMapOf("1" to "1")),
+            "test-index",
+            "test-index",
+            listOf("test-index"),
+            listOf("test-index"),
+            listOf("test-field"),
+            listOf("1", "2")
+        )
+        val serializedMonitor = SerializedMonitor(monitor)
+        fun request(queries: List<DocLevelQuery>, shard: Int, serialized: SerializedMonitor?) = DocLevelMonitorFanOutRequest(
+            monitor,
+            false,
+            monitorMetadata,
+            "execution-id",
+            indexExecutionContext(queries),
+            listOf(ShardId("test-index", "index-uuid", shard)),
+            listOf("test-index"),
+            null,
+            serialized
+        )
+        fun roundTrip(request: DocLevelMonitorFanOutRequest): Pair<Int, DocLevelMonitorFanOutRequest> {
+            val out = BytesStreamOutput()
+            request.writeTo(out)
+            return Pair(out.size(), DocLevelMonitorFanOutRequest(out.bytes().streamInput()))
+        }
+
+        val (sharedSize, shared) = roundTrip(request(docQueries, 0, serializedMonitor))
+        val (plainSize, plain) = roundTrip(request(docQueries, 0, null))
+        assertEquals(plainSize, sharedSize)
+        assertEquals(roundTrip(request(docQueries, 1, serializedMonitor)).second.monitor, shared.monitor)
+        for (read in listOf(shared, plain)) {
+            assertEquals(monitor, read.monitor)
+            assertEquals(indexExecutionContext(docQueries), read.indexExecutionContext)
+        }
+
+        // A context running other queries still sends them
+        val otherQueries = docQueries.take(3)
+        val (otherSize, other) = roundTrip(request(otherQueries, 0, serializedMonitor))
+        assertEquals(indexExecutionContext(otherQueries), other.indexExecutionContext)
+        assertTrue(otherSize > plainSize)
+    }
+
+    @Test
+    fun `test doc level monitor fan out request sends queries by fingerprint once the node holds them`() {
+        val docQueries = (0 until 10).map {
+            DocLevelQuery(query = "test_field:\"value-$it\"", fields = listOf(), name = "$it")
+        }
+        val monitor = randomDocumentLevelMonitor(
+            inputs = listOf(DocLevelMonitorInput("description", listOf("test-index"), docQueries)),
+            triggers = listOf(randomDocumentLevelTrigger(condition = Script("return true"))),
+            enabled = true,
+            schedule = IntervalSchedule(1, ChronoUnit.MINUTES)
+        )
+        val monitorMetadata = MonitorMetadata(
+            "test",
+            SequenceNumbers.UNASSIGNED_SEQ_NO,
+            SequenceNumbers.UNASSIGNED_PRIMARY_TERM,
+            Monitor.NO_ID,
+            listOf(ActionExecutionTime("", Instant.now())),
+            mutableMapOf("index" to mutableMapOf("1" to "1")),
+            mutableMapOf("test-index" to ".opensearch-sap-test_windows-queries-000001")
+        )
+        val serializedMonitor = SerializedMonitor(monitor)
+        fun request(queriesByFingerprint: Boolean) = DocLevelMonitorFanOutRequest(
+            monitor,
+            false,
+            monitorMetadata,
+            "execution-id",
+            IndexExecutionContext(
+                docQueries,
+                mutableMapOf("index" to mutableMapOf("1" to "1")),
+                mutableMapOf("index" to mutableMapOf("1" to "1")),
+                "test-index",
+                "test-index",
+                listOf("test-index"),
+                listOf("test-index"),
+                listOf("test-field"),
+                listOf("1", "2")
+            ),
+            listOf(ShardId("test-index", "index-uuid", 0)),
+            listOf("test-index"),
+            null,
+            serializedMonitor,
+            queriesByFingerprint
+        )
+        fun write(request: DocLevelMonitorFanOutRequest): BytesStreamOutput {
+            val out = BytesStreamOutput()
+            request.writeTo(out)
+            return out
+        }
+
+        val fingerprint = (monitor.inputs[0] as DocLevelMonitorInput).queriesFingerprint
+        val cache = DocLevelQuerySetCache()
+
+        // The request is read in full even though the node does not hold the queries yet
+        val byFingerprint = write(request(true))
+        val unresolved = DocLevelMonitorFanOutRequest(byFingerprint.bytes().streamInput())
+        assertTrue(unresolved.queriesByFingerprint)
+        assertEquals(fingerprint, unresolved.queriesFingerprint)
+        assertNull(cache.resolve(unresolved))
+
+        val missingOut = BytesStreamOutput()
+        DocLevelMonitorFanOutResponse.querySetMissing("node-1", unresolved).writeTo(missingOut)
+        val missing = DocLevelMonitorFanOutResponse(missingOut.bytes().streamInput())
+        assertEquals(fingerprint, missing.missingQuerySet)
+        assertTrue(cache.isQuerySetMissing(missing))
+        assertFalse(cache.isHeldBy("node-1", fingerprint))
+
+        // Resent in full, the node caches the queries
+        val full = write(request(false))
+        val fullRequest = DocLevelMonitorFanOutRequest(full.bytes().streamInput())
+        assertEquals(monitor, cache.resolve(fullRequest)?.monitor)
+        cache.markHeldBy("node-1", fingerprint)
+
+        val resolved = cache.resolve(DocLevelMonitorFanOutRequest(byFingerprint.bytes().streamInput()))!!
+        assertFalse(resolved.queriesByFingerprint)
+        assertEquals(monitor, resolved.monitor)
+        assertEquals(docQueries, resolved.indexExecutionContext?.queries)
+        assertTrue(byFingerprint.size() < full.size())
+        assertTrue(cache.isHeldBy("node-1", fingerprint))
+        assertEquals(DocLevelQuerySetCache.Stats(1, 1, 1), cache.stats())
+    }
 }
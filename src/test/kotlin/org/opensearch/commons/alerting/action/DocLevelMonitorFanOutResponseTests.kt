@@ -6,9 +6,13 @@
 package org.opensearch.commons.alerting.action
 
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
 import org.junit.jupiter.api.Test
+import org.opensearch.Version
 import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.commons.alerting.model.DocumentLevelTriggerRunResult
 import org.opensearch.commons.alerting.model.InputRunResults
+import org.opensearch.commons.alerting.model.TriggeredDocIds
 import org.opensearch.commons.alerting.randomDocumentLevelTriggerRunResult
 import org.opensearch.core.common.io.stream.StreamInput
 
@@ -57,4 +61,83 @@ class DocLevelMonitorFanOutResponseTests {
         assertEquals(workflow.inputResults, newWorkflow.inputResults)
         assertEquals(workflow.triggerResults, newWorkflow.triggerResults)
     }
+
+    @Test
+    fun `test doc level monitor fan out response with compact triggered docs`() {
+        val docs1 = listOf("doc-10|index-b", "doc-2|index-a", "doc-1|index-a", "doc-no-index", "doc|with|pipe|index-a")
+        val docs2 = listOf("doc-3|index-b", "doc-1|index-a")
+        val response = DocLevelMonitorFanOutResponse(
+            "nodeid",
+            "eid",
+            "monitorId",
+            mutableMapOf("index" to mutableMapOf("1" to "1")),
+            InputRunResults(),
+            mapOf(
+                "1" to DocumentLevelTriggerRunResult("trigger-1", docs1, null),
+                "2" to DocumentLevelTriggerRunResult("trigger-2", docs2, null)
+            )
+        )
+        val newResponse = roundTrip(response, Version.CURRENT)
+        val triggered1 = newResponse.triggerResults.getValue("1").triggeredDocs
+        assertTrue(triggered1 is TriggeredDocIds)
+        assertEquals(listOf("doc-1|index-a", "doc-10|index-b", "doc-2|index-a", "doc-no-index", "doc|with|pipe|index-a"), triggered1)
+        assertEquals(docs2.sorted(), newResponse.triggerResults.getValue("2").triggeredDocs)
+        assertEquals("trigger-2", newResponse.triggerResults.getValue("2").triggerName)
+
+        val visited = mutableListOf<Pair<String, String?>>()
+        (triggered1 as TriggeredDocIds).forEachDocId { docId, index -> visited.add(docId.toString() to index) }
+        assertEquals(
+            listOf("doc-1" to "index-a", "doc-10" to "index-b", "doc-2" to "index-a", "doc-no-index" to null, "doc|with|pipe" to "index-a"),
+            visited
+        )
+
+        // Compact results are encoded again when the response is relayed
+        assertEquals(newResponse.triggerResults, roundTrip(newResponse, Version.CURRENT).triggerResults)
+    }
+
+    @Test
+    fun `test doc level monitor fan out response keeps triggered docs order before compact encoding`() {
+        val docs = listOf("doc-2|index", "doc-1|index")
+        val response = DocLevelMonitorFanOutResponse(
+            "nodeid",
+            "eid",
+            "monitorId",
+            mutableMapOf(),
+            InputRunResults(),
+            mapOf("1" to DocumentLevelTriggerRunResult("trigger-1", docs, null))
+        )
+        assertEquals(docs, roundTrip(response, Version.V_3_7_0).triggerResults.getValue("1").triggeredDocs)
+    }
+
+    @Test
+    fun `test compact triggered docs are smaller than plain strings`() {
+        val docs = (0 until 1000).map { "doc-$it|security-auditlog-2024.01.01" }
+        val response = DocLevelMonitorFanOutResponse(
+            "nodeid",
+            "eid",
+            "monitorId",
+            mutableMapOf(),
+            InputRunResults(),
+            mapOf("1" to DocumentLevelTriggerRunResult("trigger-1", docs, null), "2" to DocumentLevelTriggerRunResult("trigger-2", docs, null))
+        )
+        val plainSize = serializedSize(response, Version.V_3_7_0)
+        val compactSize = serializedSize(response, Version.CURRENT)
+        assertTrue("compact $compactSize vs plain $plainSize", compactSize * 4 < plainSize)
+    }
+
+    private fun serializedSize(response: DocLevelMonitorFanOutResponse, version: Version): Int {
+        val out = BytesStreamOutput()
+        out.version = version
+        response.writeTo(out)
+        return out.size()
+    }
+
+    private fun roundTrip(response: DocLevelMonitorFanOutResponse, version: Version): DocLevelMonitorFanOutResponse {
+        val out = BytesStreamOutput()
+        out.version = version
+        response.writeTo(out)
+        val sin = out.bytes().streamInput()
+        sin.version = version
+        return DocLevelMonitorFanOutResponse(sin)
+    }
 }
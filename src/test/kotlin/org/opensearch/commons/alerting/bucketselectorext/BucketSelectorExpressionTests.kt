@@ -0,0 +1,89 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.aggregation.bucketselectorext
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.jupiter.api.Test
+import org.opensearch.script.Script
+import org.opensearch.script.ScriptType
+
+class BucketSelectorExpressionTests {
+
+    private val bucketsPathsMap = mapOf("_count" to "_count", "avg_latency" to "avg_latency")
+
+    private fun parse(source: String, params: Map<String, Any> = emptyMap()): BucketSelectorExpression? {
+        return BucketSelectorExpression.parse(Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, source, params), bucketsPathsMap)
+    }
+
+    private fun BucketSelectorExpression.test(vararg values: Pair<String, Double>): Boolean {
+        val byName = values.toMap()
+        return test(variables.map { byName.getValue(it) }.toDoubleArray())
+    }
+
+    @Test
+    fun `test comparisons`() {
+        val expression = parse("params._count > 100")!!
+        assertEquals(listOf("_count"), expression.variables)
+        assertTrue(expression.test("_count" to 101.0))
+        assertFalse(expression.test("_count" to 100.0))
+        assertFalse(expression.test("_count" to Double.NaN))
+
+        assertTrue(parse("params['_count'] >= 100;")!!.test("_count" to 100.0))
+        assertTrue(parse("100 == params[\"_count\"]")!!.test("_count" to 100.0))
+        assertTrue(parse("params._count != 1.5e2")!!.test("_count" to 100.0))
+        assertTrue(parse("params._count<=-1")!!.test("_count" to -1.0))
+    }
+
+    @Test
+    fun `test boolean combinations`() {
+        val expression = parse("params.avg_latency >= 500 && params._count > 10 || !(params._count < 1000)")!!
+        assertEquals(listOf("avg_latency", "_count"), expression.variables)
+        assertTrue(expression.test("avg_latency" to 500.0, "_count" to 11.0))
+        assertFalse(expression.test("avg_latency" to 499.0, "_count" to 11.0))
+        assertTrue(expression.test("avg_latency" to 0.0, "_count" to 1000.0))
+
+        val repeated = parse("params._count > 10 && params._count < 20")!!
+        assertEquals(listOf("_count"), repeated.variables)
+        assertTrue(repeated.test("_count" to 15.0))
+    }
+
+    @Test
+    fun `test numeric script params are constants`() {
+        val expression = parse("params._count > params.threshold", mapOf("threshold" to 10))!!
+        assertTrue(expression.test("_count" to 11.0))
+        assertFalse(expression.test("_count" to 10.0))
+        assertNull(parse("params._count > params.threshold", mapOf("threshold" to "10")))
+    }
+
+    @Test
+    fun `test other scripts are left to the script engine`() {
+        assertNull(parse("params._count > params.missing"))
+        assertNull(parse("params._count + 1 > 10"))
+        assertNull(parse("params._count > 1.5f"))
+        assertNull(parse("params._count > 10 == true"))
+        assertNull(parse("(params._count > 10"))
+        assertNull(parse("return params._count > 10"))
+        assertNull(parse("params.avg_latency.value > 10"))
+        assertNull(BucketSelectorExpression.parse(Script(ScriptType.INLINE, "mockscript", "params._count > 10", emptyMap()), bucketsPathsMap))
+        assertNull(BucketSelectorExpression.parse(Script(ScriptType.STORED, null, "params._count > 10", emptyMap()), bucketsPathsMap))
+        assertNotNull(parse(" ( params._count > 10 ) "))
+    }
+
+    @Test
+    fun `test sources Painless reads differently are left to the script engine`() {
+        assertNull(parse("params._count > 010"))
+        assertNull(parse("params._count > -007.5"))
+        assertNull(parse("!params._count > 10"))
+        assertNull(parse("!params._count"))
+        assertTrue(parse("params._count > 0.5 && params._count != 0")!!.test("_count" to 1.0))
+        assertFalse(parse("!!(params._count > 10)")!!.test("_count" to 1.0))
+        assertTrue(parse("!(params._count != 1)")!!.test("_count" to 1.0))
+    }
+}
@@ -13,6 +13,7 @@ import org.apache.lucene.search.MatchAllDocsQuery
 import org.apache.lucene.search.Query
 import org.apache.lucene.tests.index.RandomIndexWriter
 import org.apache.lucene.util.BytesRef
+import org.apache.lucene.util.NumericUtils
 import org.hamcrest.CoreMatchers
 import org.opensearch.common.CheckedConsumer
 import org.opensearch.common.settings.Settings
@@ -298,6 +299,46 @@ class BucketSelectorExtAggregatorTests : AggregatorTestCase() {
         )
     }
 
+    @Throws(Exception::class)
+    fun `test bucket selector filter double key`() {
+        val fieldType: MappedFieldType = NumberFieldType("number_field", NumberFieldMapper.NumberType.DOUBLE)
+
+        val selectorAgg1: FiltersAggregationBuilder = FiltersAggregationBuilder("placeholder", MatchAllQueryBuilder())
+            .subAggregation(
+                TermsAggregationBuilder("number_agg").field("number_field")
+                    .subAggregation(ValueCountAggregationBuilder("count").field("number_field"))
+            )
+            .subAggregation(
+                BucketSelectorExtAggregationBuilder(
+                    "test_bucket_selector_ext",
+                    Collections.singletonMap("count", "count"),
+                    Script(ScriptType.INLINE, MockScriptEngine.NAME, SCRIPTNAME, emptyMap()),
+                    "number_agg",
+                    BucketSelectorExtFilter(IncludeExclude(doubleArrayOf(20.5), doubleArrayOf()))
+                )
+            )
+
+        paramName = "count"
+        paramValue = 1.0
+        testCase(
+            selectorAgg1,
+            MatchAllDocsQuery(),
+            CheckedConsumer { iw: RandomIndexWriter ->
+                var doc = Document()
+                doc.add(SortedNumericDocValuesField("number_field", NumericUtils.doubleToSortableLong(19.5)))
+                iw.addDocument(doc)
+                doc = Document()
+                doc.add(SortedNumericDocValuesField("number_field", NumericUtils.doubleToSortableLong(20.5)))
+                iw.addDocument(doc)
+            },
+            Consumer { f: InternalFilters ->
+                val bucketSelectorIndices = f.buckets[0].aggregations.get<Aggregation>("test_bucket_selector_ext") as BucketSelectorIndices
+                assertEquals(listOf(1), bucketSelectorIndices.bucketIndices)
+            },
+            fieldType
+        )
+    }
+
     @Throws(Exception::class)
     fun `test bucket selector nested parent path`() {
         val fieldType: MappedFieldType = NumberFieldType("number_field", NumberFieldMapper.NumberType.INTEGER)
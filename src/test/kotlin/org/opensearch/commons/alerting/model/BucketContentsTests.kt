@@ -0,0 +1,95 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.jupiter.api.Test
+import org.opensearch.Version
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.common.xcontent.XContentFactory
+import org.opensearch.commons.alerting.parser
+import org.opensearch.commons.alerting.randomBucketLevelMonitor
+import org.opensearch.commons.alerting.randomBucketLevelTrigger
+import org.opensearch.commons.alerting.util.string
+import org.opensearch.core.xcontent.ToXContent
+import java.time.Instant
+
+class BucketContentsTests {
+
+    private val bucket: Map<String, Any> = mapOf(
+        "key" to mapOf("host" to "host-1", "status" to 500),
+        "doc_count" to 42,
+        "avg_latency" to mapOf("value" to 12.5),
+        "top_paths" to mapOf(
+            "doc_count_error_upper_bound" to 0,
+            "buckets" to listOf(mapOf("key" to "/a", "doc_count" to 40), mapOf("key" to "/b", "doc_count" to 2))
+        )
+    )
+
+    @Test
+    fun `test sub-aggregations are held until read`() {
+        val contents = BucketContents.of(bucket)
+        assertEquals(setOf("top_paths"), contents.subAggregationNames())
+        assertEquals(bucket.keys, contents.keys)
+        assertEquals(42, contents["doc_count"])
+        assertTrue(contents.containsKey("top_paths"))
+        assertEquals(bucket["top_paths"], contents["top_paths"])
+        assertEquals(bucket, contents)
+        assertSame(contents, BucketContents.of(contents))
+    }
+
+    @Test
+    fun `test bucket as stream`() {
+        val aggBucket = AggregationResultBucket("composite_agg", listOf("host-1", "500"), bucket)
+        for (version in listOf(Version.CURRENT, Version.V_3_7_0)) {
+            val out = BytesStreamOutput()
+            out.version = version
+            aggBucket.writeTo(out)
+            val sin = out.bytes().streamInput()
+            sin.version = version
+            val read = AggregationResultBucket(sin)
+            assertEquals(aggBucket, read)
+            assertEquals(version == Version.CURRENT, read.bucket is BucketContents)
+        }
+    }
+
+    @Test
+    fun `test parse materializes only the top-level values`() {
+        val json = """{"doc_count":3,"max":{"value":null},"mixed":{"count":2,"buckets":[{"key":"a"}],"sum":4},"tags":["a"]}"""
+        val xcp = parser(json)
+        val contents = BucketContents.parse(xcp)
+        assertEquals(setOf("mixed", "tags"), contents.subAggregationNames())
+        assertEquals(mapOf("value" to null), contents["max"])
+        assertEquals(mapOf("count" to 2, "buckets" to listOf(mapOf("key" to "a")), "sum" to 4), contents["mixed"])
+        assertEquals(listOf("a"), contents["tags"])
+        assertEquals(json, contents.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).string())
+    }
+
+    @Test
+    fun `test bucket xcontent`() {
+        val aggBucket = AggregationResultBucket("composite_agg", listOf("host-1", "500"), bucket)
+        val json = aggBucket.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).string()
+        val trimmed = aggBucket.trimmed()
+        assertEquals(json, trimmed.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).string())
+
+        val xcp = parser(json)
+        // Positioned on the bucket object, as when parsed as part of an alert
+        repeat(2) { xcp.nextToken() }
+        val parsed = AggregationResultBucket.parse(xcp)
+        assertEquals(setOf("top_paths"), (parsed.bucket as BucketContents).subAggregationNames())
+        assertEquals(aggBucket, parsed)
+    }
+
+    @Test
+    fun `test alerts hold trimmed buckets`() {
+        val aggBucket = AggregationResultBucket("composite_agg", listOf("host-1", "500"), bucket)
+        val alert = Alert(randomBucketLevelMonitor(), randomBucketLevelTrigger(), Instant.now(), null, aggregationResultBucket = aggBucket)
+        assertTrue(alert.aggregationResultBucket!!.bucket is BucketContents)
+        assertEquals(aggBucket, alert.aggregationResultBucket)
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.jupiter.api.Test
+import org.opensearch.Version
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.common.xcontent.XContentFactory
+import org.opensearch.commons.alerting.parser
+import org.opensearch.commons.alerting.randomBucketLevelTrigger
+import org.opensearch.commons.alerting.randomBucketSelectorExtAggregationBuilder
+import org.opensearch.commons.alerting.randomBucketSelectorScript
+import org.opensearch.commons.alerting.util.string
+import org.opensearch.core.xcontent.ToXContent
+
+class BucketFingerprintsTests {
+
+    private val trigger = randomBucketLevelTrigger()
+
+    private fun bucket(host: String, docCount: Any, avg: Any) = AggregationResultBucket(
+        "composite_agg",
+        listOf(host),
+        mapOf("key" to mapOf("host" to host), "doc_count" to docCount, "avg_latency" to mapOf("value" to avg))
+    )
+
+    private val buckets = (0 until 100).map { bucket("host-$it", it, it * 1.5) }
+
+    private val fingerprints = BucketFingerprints.Builder(trigger).also { builder -> buckets.forEach { builder.add(it) } }.build()
+
+    @Test
+    fun `test unchanged buckets are recognized`() {
+        assertEquals(100, fingerprints.size)
+        assertTrue(fingerprints.isValidFor(trigger))
+        assertTrue(buckets.all { fingerprints.isUnchanged(it) })
+
+        val changed = bucket("host-1", 1, 99.0)
+        val added = bucket("host-100", 100, 150.0)
+        assertEquals(listOf(changed, added), fingerprints.changedBuckets(listOf(buckets[0], changed, added, buckets[2])))
+        assertNull(fingerprints.digest(BucketKey.of(added)))
+    }
+
+    @Test
+    fun `test buckets with the same key are left out`() {
+        val builder = BucketFingerprints.Builder(trigger)
+        buckets.forEach { builder.add(it) }
+        builder.add(bucket("host-7", 1, 1.0))
+        val withDuplicate = builder.build()
+        assertEquals(99, withDuplicate.size)
+        assertNull(withDuplicate.digest(BucketKey.of(buckets[7])))
+        assertTrue(buckets.filter { it !== buckets[7] }.all { withDuplicate.isUnchanged(it) })
+    }
+
+    @Test
+    fun `test digest ignores entry order and number types`() {
+        val bucket = mapOf("doc_count" to 4, "avg" to mapOf("value" to 2.0), "top" to listOf("a", "b"))
+        val reordered = linkedMapOf<String, Any>("top" to listOf("a", "b"), "avg" to mapOf("value" to 2L), "doc_count" to 4L)
+        assertEquals(BucketFingerprints.digest(bucket), BucketFingerprints.digest(reordered))
+        assertEquals(BucketFingerprints.digest(bucket), BucketFingerprints.digest(BucketContents.of(bucket)))
+        assertFalse(BucketFingerprints.digest(bucket) == BucketFingerprints.digest(bucket + ("top" to listOf("b", "a"))))
+        assertFalse(BucketFingerprints.digest(mapOf("k" to "1")) == BucketFingerprints.digest(mapOf("k" to 1)))
+    }
+
+    @Test
+    fun `test digest of a bucket read back from a document`() {
+        val bucket = mapOf(
+            "doc_count" to 4,
+            "top" to mapOf("buckets" to listOf(mapOf("key" to "a", "doc_count" to 3), mapOf("key" to "b", "doc_count" to 1)))
+        )
+        val json = XContentFactory.jsonBuilder().map(bucket).string()
+        val parsed = BucketContents.parse(parser(json))
+        assertEquals(setOf("top"), parsed.subAggregationNames())
+        assertEquals(BucketFingerprints.digest(bucket), BucketFingerprints.digest(parsed))
+    }
+
+    @Test
+    fun `test fingerprints are only valid for their condition`() {
+        val updated = trigger.copy(
+            bucketSelector = randomBucketSelectorExtAggregationBuilder(
+                name = trigger.id,
+                script = randomBucketSelectorScript(idOrCode = "params.avg >= 10")
+            )
+        )
+        assertFalse(fingerprints.isValidFor(updated))
+    }
+
+    @Test
+    fun `test fingerprints as stream and xcontent`() {
+        val out = BytesStreamOutput()
+        fingerprints.writeTo(out)
+        assertEquals(fingerprints, BucketFingerprints(out.bytes().streamInput()))
+
+        val json = fingerprints.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).string()
+        assertEquals(fingerprints, BucketFingerprints.parse(parser(json)))
+    }
+
+    @Test
+    fun `test monitor metadata holds fingerprints per trigger`() {
+        val metadata = MonitorMetadata(
+            id = "monitorId-metadata",
+            monitorId = "monitorId",
+            lastActionExecutionTimes = emptyList(),
+            lastRunContext = emptyMap(),
+            bucketFingerprints = mapOf(trigger.id to fingerprints)
+        )
+        val json = metadata.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).string()
+        assertEquals(metadata, MonitorMetadata.parse(parser(json)))
+
+        for (version in listOf(Version.CURRENT, Version.V_3_7_0)) {
+            val out = BytesStreamOutput()
+            out.version = version
+            metadata.writeTo(out)
+            val sin = out.bytes().streamInput()
+            sin.version = version
+            val expected = if (version == Version.CURRENT) metadata else metadata.copy(bucketFingerprints = mapOf())
+            assertEquals(expected, MonitorMetadata(sin))
+        }
+        assertNull(MonitorMetadataDelta.between(metadata.copy(bucketFingerprints = mapOf()), metadata))
+    }
+}
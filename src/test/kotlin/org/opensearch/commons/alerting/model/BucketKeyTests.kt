@@ -0,0 +1,75 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.jupiter.api.Test
+import org.opensearch.commons.alerting.randomBucketLevelMonitor
+import org.opensearch.commons.alerting.randomBucketLevelTrigger
+import org.opensearch.commons.alerting.util.getBucketKeysHash
+import java.time.Instant
+import java.util.Random
+
+class BucketKeyTests {
+
+    private fun bucket(vararg keys: String) = AggregationResultBucket("composite_agg", keys.toList(), mapOf("doc_count" to 1))
+
+    @Test
+    fun `test keys compare value by value`() {
+        val key = BucketKey(listOf("a#b", "c"))
+        assertEquals(BucketKey(mutableListOf("a#b", "c")), key)
+        assertEquals(BucketKey(listOf("a#b", "c")).hashCode(), key.hashCode())
+        // Same joined string, different values
+        assertEquals(BucketKey(listOf("a", "b#c")).toHashString(), key.toHashString())
+        assertNotEquals(BucketKey(listOf("a", "b#c")), key)
+        assertNotEquals(BucketKey(listOf("ab")).hash, BucketKey(listOf("a", "b")).hash)
+        assertEquals(getBucketKeysHash(listOf("a#b", "c")), key.toHashString())
+    }
+
+    @Test
+    fun `test map put get and remove`() {
+        val map = BucketKeyMap<AggregationResultBucket>(0)
+        val buckets = (0 until 1000).map { bucket("host-$it", "${it % 7}") }
+        buckets.forEach { assertNull(map.put(BucketKey.of(it), it)) }
+        assertEquals(1000, map.size)
+        buckets.forEach {
+            assertSame(it, map[BucketKey.of(it)])
+            assertSame(it, map[it.bucketKeys])
+        }
+        assertNull(map[listOf("host-1", "2")])
+
+        val replacement = bucket("host-3", "3")
+        assertSame(buckets[3], map.put(BucketKey.of(replacement), replacement))
+        assertEquals(1000, map.size)
+
+        val random = Random(42)
+        val removed = buckets.filter { random.nextBoolean() }.toSet()
+        removed.forEach { assertEquals(it.bucketKeys, map.remove(it.bucketKeys)!!.bucketKeys) }
+        assertNull(map.remove(removed.first().bucketKeys))
+        assertEquals(1000 - removed.size, map.size)
+        buckets.forEach { assertEquals(it !in removed, map.containsKey(BucketKey.of(it))) }
+        assertEquals(buckets.filter { it !in removed }.map { it.bucketKeys }.toSet(), map.values().map { it.bucketKeys }.toSet())
+    }
+
+    @Test
+    fun `test buckets and alerts by key`() {
+        val first = bucket("a", "1")
+        val second = bucket("b", "2")
+        val buckets = BucketKeyMap.ofBuckets(listOf(first, second))
+        assertEquals(mapOf("a#1" to first, "b#2" to second), buckets.toHashStringMap())
+
+        val alert = Alert(randomBucketLevelMonitor(), randomBucketLevelTrigger(), Instant.now(), null, aggregationResultBucket = first)
+        val alerts = BucketKeyMap.ofAlerts(listOf(alert))
+        assertSame(alert, alerts[first.bucketKeys])
+        assertFalse(alerts.isEmpty())
+        assertTrue(BucketKeyMap.ofAlerts(listOf()).isEmpty())
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import org.opensearch.Version
+import org.opensearch.common.io.stream.BytesStreamOutput
+
+class DocIdSetTests {
+
+    private val docIds = (0 until 1000).map { "doc-%05d".format(it * 3) }
+
+    @Test
+    fun `test set is sorted without duplicates`() {
+        val set = DocIdSet.of(listOf("b", "a", "c", "a", ""))
+        assertEquals(listOf("", "a", "b", "c"), set)
+        assertEquals("b", set[2])
+        assertThrows(IndexOutOfBoundsException::class.java) { set[4] }
+        assertEquals(0, DocIdSet.of(listOf()).size)
+    }
+
+    @Test
+    fun `test membership across blocks`() {
+        val set = DocIdSet.of(docIds.shuffled())
+        assertEquals(docIds, set)
+        assertEquals(docIds.toList(), set.toList())
+        docIds.forEachIndexed { index, docId ->
+            assertEquals(index, set.indexOf(docId))
+            assertTrue(set.contains(docId))
+        }
+        assertFalse(set.contains("doc-00001"))
+        assertFalse(set.contains("a"))
+        assertFalse(set.contains("z"))
+        assertTrue(set.encodedSize < docIds.sumOf { it.length })
+    }
+
+    @Test
+    fun `test doc ids iterated without strings`() {
+        val visited = mutableListOf<String>()
+        DocIdSet.of(docIds).forEachDocId { visited.add(it.toString()) }
+        assertEquals(docIds, visited)
+    }
+
+    @Test
+    fun `test intersect`() {
+        val set = DocIdSet.of(docIds)
+        val evens = DocIdSet.of((0 until 3000 step 2).map { "doc-%05d".format(it) })
+        val expected = docIds.filter { it.substring(4).toInt() % 2 == 0 }
+        assertEquals(expected, set.intersect(evens))
+        assertEquals(expected, evens.intersect(set))
+
+        // A small set is looked up in the large one
+        val small = DocIdSet.of(listOf("doc-00003", "doc-00004", "missing"))
+        assertEquals(listOf("doc-00003"), set.intersect(small))
+        assertEquals(DocIdSet.EMPTY, set.intersect(DocIdSet.EMPTY))
+    }
+
+    @Test
+    fun `test builder rejects unsorted ids`() {
+        assertThrows(IllegalArgumentException::class.java) { DocIdSet.Builder().add("b").add("a") }
+        assertThrows(IllegalArgumentException::class.java) { DocIdSet.Builder().add("a").add("a") }
+    }
+
+    @Test
+    fun `test workflow run context matching doc ids as stream`() {
+        val context = WorkflowRunContext("workflow", "workflow-metadata", "monitor", mapOf("index" to docIds.reversed()), true, listOf())
+        for (version in listOf(Version.CURRENT, Version.V_3_7_0)) {
+            val out = BytesStreamOutput()
+            out.version = version
+            context.writeTo(out)
+            val sin = out.bytes().streamInput()
+            sin.version = version
+            val read = WorkflowRunContext(sin)
+            val expected = if (version == Version.CURRENT) docIds else docIds.reversed()
+            assertEquals(expected, read.matchingDocIdsPerIndex["index"])
+            assertEquals(DocIdSet.of(docIds), read.matchingDocIds("index"))
+            assertEquals(0, read.matchingDocIds("other").size)
+        }
+    }
+}
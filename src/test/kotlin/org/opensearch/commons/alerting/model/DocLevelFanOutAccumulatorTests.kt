@@ -0,0 +1,126 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.jupiter.api.Test
+import org.opensearch.commons.alerting.action.DocLevelMonitorFanOutResponse
+import org.opensearch.commons.alerting.util.AlertingException
+import org.opensearch.core.rest.RestStatus
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class DocLevelFanOutAccumulatorTests {
+
+    private fun response(
+        nodeId: String,
+        lastRunContexts: Map<String, Any>,
+        inputResults: InputRunResults = InputRunResults(),
+        triggerResults: Map<String, DocumentLevelTriggerRunResult> = mapOf(),
+        exception: AlertingException? = null
+    ) = DocLevelMonitorFanOutResponse(nodeId, "eid", "monitorId", lastRunContexts.toMutableMap(), inputResults, triggerResults, exception)
+
+    @Test
+    fun `test last run contexts keep the max seq no per shard`() {
+        val accumulator = DocLevelFanOutAccumulator(
+            mapOf("index-1" to mapOf("index" to "index-1", "shards_count" to 3, "0" to -1L, "1" to -1L, "2" to -1L))
+        )
+        accumulator.add(response("node-1", mapOf("index-1" to mapOf("index" to "index-1", "shards_count" to 3, "0" to 10L, "1" to 5L))))
+        accumulator.add(response("node-2", mapOf("index-1" to mapOf("0" to 7L, "2" to 12), "index-2" to mapOf("0" to 3L))))
+
+        assertEquals(
+            mapOf(
+                "index-1" to mapOf("index" to "index-1", "shards_count" to 3, "0" to 10L, "1" to 5L, "2" to 12L),
+                "index-2" to mapOf("0" to 3L)
+            ),
+            accumulator.lastRunContext()
+        )
+        assertEquals(2, accumulator.responseCount)
+    }
+
+    @Test
+    fun `test index names are interned`() {
+        val accumulator = DocLevelFanOutAccumulator()
+        // Copies of the name, as read from the response of each node
+        fun name() = String("index-1".toCharArray())
+        accumulator.add(response("node-1", mapOf(name() to mapOf("index" to name(), "0" to 1L))))
+        accumulator.add(response("node-2", mapOf(name() to mapOf("index" to name(), "0" to 2L))))
+
+        val (index, context) = accumulator.lastRunContext().entries.single()
+        assertSame("index-1", index)
+        assertSame("index-1", (context as Map<*, *>)["index"])
+    }
+
+    @Test
+    fun `test keys that are not canonical shard ids are kept as entries`() {
+        val accumulator = DocLevelFanOutAccumulator()
+        accumulator.mergeLastRunContext(mapOf("index" to mapOf("01" to 1L, "100000" to 2L, "3" to "not-a-seq-no")))
+        assertEquals(mapOf("index" to mapOf("01" to 1L, "100000" to 2L, "3" to "not-a-seq-no")), accumulator.lastRunContext())
+    }
+
+    @Test
+    fun `test input and trigger results are merged`() {
+        val accumulator = DocLevelFanOutAccumulator()
+        accumulator.add(
+            response(
+                "node-1",
+                mapOf(),
+                InputRunResults(listOf(mapOf("query-1" to setOf("doc-1|index", "doc-2|index")))),
+                mapOf("trigger-1" to DocumentLevelTriggerRunResult("trigger", listOf("doc-1|index"), null))
+            )
+        )
+        accumulator.add(
+            response(
+                "node-2",
+                mapOf(),
+                InputRunResults(listOf(mapOf("query-1" to setOf("doc-3|index"), "query-2" to setOf("doc-3|index")))),
+                mapOf("trigger-1" to DocumentLevelTriggerRunResult("trigger", listOf("doc-3|index"), IllegalArgumentException("bad")))
+            )
+        )
+
+        val inputResults = accumulator.inputResults()
+        assertNull(inputResults.error)
+        assertEquals(
+            listOf(mapOf("query-1" to setOf("doc-1|index", "doc-2|index", "doc-3|index"), "query-2" to setOf("doc-3|index"))),
+            inputResults.results
+        )
+        val triggerResult = accumulator.triggerResults().getValue("trigger-1")
+        assertEquals("trigger", triggerResult.triggerName)
+        assertEquals(listOf("doc-1|index", "doc-3|index"), triggerResult.triggeredDocs)
+        assertTrue(triggerResult.error is AlertingException)
+        assertEquals("bad", triggerResult.error?.message)
+    }
+
+    @Test
+    fun `test failed responses are only recorded`() {
+        val accumulator = DocLevelFanOutAccumulator()
+        val exception = AlertingException("failed", RestStatus.INTERNAL_SERVER_ERROR, Exception("failed"))
+        accumulator.add(response("node-1", mapOf("index" to mapOf("0" to 10L)), exception = exception))
+        assertEquals(listOf(exception), accumulator.failures())
+        assertEquals(mapOf<String, Any>(), accumulator.lastRunContext())
+    }
+
+    @Test
+    fun `test responses merged concurrently`() {
+        val metadata = MonitorMetadata("id", monitorId = "monitorId", lastActionExecutionTimes = listOf(), lastRunContext = mapOf())
+        val accumulator = DocLevelFanOutAccumulator()
+        val executor = Executors.newFixedThreadPool(4)
+        for (node in 0 until 100) {
+            executor.execute {
+                accumulator.add(response("node-$node", mapOf("index" to (0 until 30).associate { "$it" to (node * 30L + it) })))
+            }
+        }
+        executor.shutdown()
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS))
+
+        val expected = mapOf("index" to (0 until 30).associate { "$it" to (99 * 30L + it) })
+        assertEquals(expected, accumulator.updateMetadata(metadata).lastRunContext)
+        assertEquals(100, accumulator.responseCount)
+    }
+}
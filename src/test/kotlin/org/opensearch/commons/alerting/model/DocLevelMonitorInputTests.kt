@@ -124,4 +124,27 @@ class DocLevelMonitorInputTests {
             )
         }
     }
+
+    @Test
+    fun `test queries fingerprint is stable and covers every query field`() {
+        val query = DocLevelQuery(id = "id", name = "name", fields = listOf("field"), query = "field:value", tags = listOf("tag"))
+        val input = DocLevelMonitorInput("description", listOf("index"), listOf(query))
+
+        Assertions.assertEquals(input.queriesFingerprint, input.copy(description = "other").queriesFingerprint)
+        Assertions.assertEquals(input.queriesFingerprint, DocLevelMonitorInput.fingerprint(listOf(query.copy())))
+        for (changed in listOf(
+            query.copy(id = "other"),
+            query.copy(name = "other"),
+            query.copy(fields = listOf("other")),
+            query.copy(query = "field:other"),
+            query.copy(tags = listOf("other")),
+            query.copy(queryFieldNames = listOf("other"))
+        )) {
+            Assertions.assertNotEquals(input.queriesFingerprint, DocLevelMonitorInput.fingerprint(listOf(changed)))
+        }
+        Assertions.assertNotEquals(
+            DocLevelMonitorInput.fingerprint(listOf(query.copy(fields = listOf("a", "b")))),
+            DocLevelMonitorInput.fingerprint(listOf(query.copy(fields = listOf("ab"))))
+        )
+    }
 }
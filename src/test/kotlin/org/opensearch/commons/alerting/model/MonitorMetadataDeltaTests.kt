@@ -0,0 +1,114 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.jupiter.api.Test
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.common.xcontent.XContentFactory
+import org.opensearch.common.xcontent.XContentHelper
+import org.opensearch.common.xcontent.XContentType
+import org.opensearch.commons.alerting.parser
+import org.opensearch.commons.alerting.util.string
+import org.opensearch.core.common.bytes.BytesArray
+import org.opensearch.core.xcontent.ToXContent
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+
+class MonitorMetadataDeltaTests {
+
+    private val now = Instant.now().truncatedTo(ChronoUnit.MILLIS)
+
+    private fun checkpoints(index: String, vararg seqNos: Long): MutableMap<String, Any> {
+        val checkpoints = ShardCheckpoints(index, null, seqNos.size)
+        seqNos.forEachIndexed { shard, seqNo -> checkpoints[shard] = seqNo }
+        return checkpoints.asMap()
+    }
+
+    private val base = MonitorMetadata(
+        id = "monitorId-metadata",
+        seqNo = 3L,
+        primaryTerm = 1L,
+        monitorId = "monitorId",
+        lastActionExecutionTimes = listOf(ActionExecutionTime("action-1", now)),
+        lastRunContext = mapOf("logs-1" to checkpoints("logs-1", 10, 20, 30), "logs-2" to checkpoints("logs-2", 5, 5)),
+        sourceToQueryIndexMapping = mutableMapOf("logs-1monitorId" to ".opensearch-alerting-queries-000001")
+    )
+
+    @Test
+    fun `test delta records only changed shards`() {
+        val updated = base.copy(
+            lastRunContext = mapOf(
+                "logs-1" to checkpoints("logs-1", 10, 25, 30),
+                "logs-2" to checkpoints("logs-2", 5, 5),
+                "logs-3" to checkpoints("logs-3", 1)
+            ),
+            sourceToQueryIndexMapping = mutableMapOf(
+                "logs-1monitorId" to ".opensearch-alerting-queries-000001",
+                "logs-3monitorId" to ".opensearch-alerting-queries-000001"
+            )
+        )
+        val delta = MonitorMetadataDelta.between(base, updated)!!
+        assertEquals(mapOf("1" to 25L), delta.lastRunContext["logs-1"])
+        assertEquals(setOf("logs-1", "logs-3"), delta.lastRunContext.keys)
+        assertNull(delta.lastActionExecutionTimes)
+        assertEquals(mapOf("logs-3monitorId" to ".opensearch-alerting-queries-000001"), delta.sourceToQueryIndexMapping)
+        assertEquals(3L, delta.seqNo)
+        assertEquals(updated, delta.applyTo(base))
+    }
+
+    @Test
+    fun `test unchanged metadata gives an empty delta`() {
+        assertTrue(MonitorMetadataDelta.between(base, base.copy())!!.isEmpty())
+    }
+
+    @Test
+    fun `test changed action execution times are carried whole`() {
+        val times = listOf(ActionExecutionTime("action-1", now), ActionExecutionTime("action-2", now.plusSeconds(60)))
+        val delta = MonitorMetadataDelta.between(base, base.copy(lastActionExecutionTimes = times))!!
+        assertEquals(times, delta.lastActionExecutionTimes)
+        assertTrue(delta.lastRunContext.isEmpty())
+    }
+
+    @Test
+    fun `test removals need a full write`() {
+        assertNull(MonitorMetadataDelta.between(base, base.copy(lastRunContext = mapOf("logs-1" to checkpoints("logs-1", 10, 20, 30)))))
+        assertNull(MonitorMetadataDelta.between(base, base.copy(sourceToQueryIndexMapping = mutableMapOf())))
+        val cleared = ShardCheckpoints("logs-1", null, 3).also { it[0] = 10L; it[1] = 20L }
+        assertNull(MonitorMetadataDelta.between(base, base.copy(lastRunContext = base.lastRunContext + ("logs-1" to cleared.asMap()))))
+    }
+
+    @Test
+    fun `test partial update body merged into the stored document`() {
+        // Action execution times are written as dates but parsed as epoch millis, so they are left out here
+        val base = base.copy(lastActionExecutionTimes = listOf())
+        val updated = base.copy(
+            lastRunContext = mapOf("logs-1" to checkpoints("logs-1", 11, 20, 30), "logs-2" to checkpoints("logs-2", 5, 6))
+        )
+        val delta = MonitorMetadataDelta.between(base, updated)!!
+        val params = ToXContent.MapParams(mapOf("with_type" to "true"))
+        val stored = XContentHelper.convertToMap(BytesArray(base.toXContent(XContentFactory.jsonBuilder(), params).string()), false, XContentType.JSON).v2()
+        val body = XContentHelper.convertToMap(BytesArray(delta.toXContent(XContentFactory.jsonBuilder(), params).string()), false, XContentType.JSON).v2()
+        XContentHelper.update(stored, body, true)
+
+        val merged = XContentFactory.jsonBuilder().map(stored).string()
+        val xcp = parser(merged)
+        xcp.nextToken()
+        xcp.nextToken()
+        val parsed = MonitorMetadata.parse(xcp, base.id, base.seqNo, base.primaryTerm)
+        assertEquals(updated, parsed)
+    }
+
+    @Test
+    fun `test delta as stream`() {
+        val delta = MonitorMetadataDelta.between(base, base.copy(lastRunContext = base.lastRunContext + ("logs-3" to checkpoints("logs-3", 1))))!!
+        val out = BytesStreamOutput()
+        delta.writeTo(out)
+        assertEquals(delta, MonitorMetadataDelta(out.bytes().streamInput()))
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.common.xcontent.XContentFactory
+import org.opensearch.commons.alerting.randomBucketLevelMonitor
+import org.opensearch.commons.alerting.randomQueryLevelMonitor
+import org.opensearch.commons.alerting.util.string
+import org.opensearch.commons.alerting.xContentRegistry
+import org.opensearch.core.common.bytes.BytesArray
+import org.opensearch.core.common.bytes.BytesReference
+import org.opensearch.core.xcontent.ToXContent
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+
+class MonitorViewTests {
+
+    private val monitor = randomBucketLevelMonitor(lastUpdateTime = Instant.now().truncatedTo(ChronoUnit.MILLIS))
+
+    private fun Monitor.source(params: ToXContent.Params = ToXContent.EMPTY_PARAMS): BytesReference {
+        return BytesReference.bytes(toXContentWithUser(XContentFactory.jsonBuilder(), params))
+    }
+
+    private fun assertHeader(view: MonitorView) {
+        assertEquals(monitor.name, view.name)
+        assertEquals(monitor.monitorType, view.monitorType)
+        assertEquals(monitor.enabled, view.enabled)
+        assertEquals(monitor.schedule, view.schedule)
+        assertEquals(monitor.enabledTime, view.enabledTime)
+    }
+
+    @Test
+    fun `test header parsed without the rest of the monitor`() {
+        val view = MonitorView.parse(monitor.source(), "monitor-id", 3L)
+        assertHeader(view)
+        assertEquals("monitor-id", view.id)
+        assertEquals(3L, view.version)
+        assertFalse(view.isMaterialized())
+
+        val parsed = view.toMonitor(xContentRegistry())
+        assertTrue(view.isMaterialized())
+        assertEquals(monitor.copy(id = "monitor-id", version = 3L), parsed)
+        assertSame(parsed, view.toMonitor(xContentRegistry()))
+    }
+
+    @Test
+    fun `test header of a scheduled job document`() {
+        val source = monitor.source(ToXContent.MapParams(mapOf("with_type" to "true")))
+        val view = MonitorView.parse(source)
+        assertHeader(view)
+        assertEquals(monitor.copy(id = Monitor.NO_ID, version = Monitor.NO_VERSION), view.toMonitor(xContentRegistry()))
+    }
+
+    @Test
+    fun `test header fields in any order`() {
+        val schedule = IntervalSchedule(1, ChronoUnit.MINUTES)
+        val scheduleJson = schedule.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).string()
+        val json = """{"last_update_time":1700000000000,"schedule":$scheduleJson,""" +
+            """"inputs":[{"unknown":{}}],"enabled":false,"name":"reordered","monitor_type":"query_level_monitor"}"""
+        val view = MonitorView.parse(BytesArray(json))
+        assertEquals("reordered", view.name)
+        assertFalse(view.enabled)
+        assertNull(view.enabledTime)
+        assertEquals(schedule, view.schedule)
+
+        assertThrows(IllegalArgumentException::class.java) { MonitorView.parse(BytesArray("""{"enabled":false}""")) }
+    }
+
+    @Test
+    fun `test view as stream`() {
+        val queryLevelMonitor = randomQueryLevelMonitor()
+        for (view in listOf(MonitorView.of(queryLevelMonitor), MonitorView.parse(queryLevelMonitor.source(), queryLevelMonitor.id))) {
+            val out = BytesStreamOutput()
+            view.writeTo(out)
+            val read = MonitorView(out.bytes().streamInput())
+            assertEquals(view.name, read.name)
+            assertEquals(view.schedule, read.schedule)
+            assertEquals(view.enabledTime, read.enabledTime)
+            assertFalse(read.isMaterialized())
+            assertEquals(queryLevelMonitor, read.toMonitor(xContentRegistry()))
+        }
+    }
+}
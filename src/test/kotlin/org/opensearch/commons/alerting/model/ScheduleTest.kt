@@ -1,12 +1,17 @@
 package org.opensearch.commons.alerting.model
 
 import org.junit.jupiter.api.Test
+import org.opensearch.common.io.stream.BytesStreamOutput
 import org.opensearch.commons.alerting.model.Schedule.Companion.CRON_FIELD
 import org.opensearch.commons.alerting.model.Schedule.Companion.EXPRESSION_FIELD
 import org.opensearch.commons.alerting.model.Schedule.Companion.INTERVAL_FIELD
 import org.opensearch.commons.alerting.model.Schedule.Companion.PERIOD_FIELD
+import org.opensearch.commons.alerting.model.Schedule.Companion.SPREAD_FIELD
 import org.opensearch.commons.alerting.model.Schedule.Companion.TIMEZONE_FIELD
 import org.opensearch.commons.alerting.model.Schedule.Companion.UNIT_FIELD
+import org.opensearch.commons.alerting.randomQueryLevelMonitor
+import org.opensearch.commons.alerting.randomWorkflow
+import org.opensearch.commons.alerting.toJsonStringWithUser
 import org.opensearch.commons.alerting.util.string
 import org.opensearch.core.xcontent.ToXContent
 import java.time.Instant
@@ -17,6 +22,7 @@ import kotlin.test.assertEquals
 import kotlin.test.assertFailsWith
 import kotlin.test.assertFalse
 import kotlin.test.assertNotNull
+import kotlin.test.assertSame
 import kotlin.test.assertTrue
 
 class ScheduleTest : XContentTestBase {
@@ -390,4 +396,116 @@ class ScheduleTest : XContentTestBase {
             "Template arg field 'timezone' doesn't match"
         )
     }
+
+    @Test
+    fun `test spread schedules round trip`() {
+        val cronSchedule = CronSchedule("*/5 * * * *", ZoneId.of("UTC"), spread = true)
+        val intervalSchedule = IntervalSchedule(1, ChronoUnit.MINUTES, spread = true)
+        for (schedule in listOf(cronSchedule, intervalSchedule)) {
+            val scheduleString = schedule.toXContent(builder(), ToXContent.EMPTY_PARAMS).string()
+            assertTrue(scheduleString.contains("\"$SPREAD_FIELD\":true"))
+            assertEquals(schedule, Schedule.parse(parser(scheduleString)))
+
+            val out = BytesStreamOutput()
+            schedule.writeTo(out)
+            val sin = out.bytes().streamInput()
+            val readSchedule = if (schedule is CronSchedule) CronSchedule(sin) else IntervalSchedule(sin)
+            assertEquals(schedule, readSchedule)
+        }
+    }
+
+    @Test
+    fun `test spread interval schedule delays by a stable fraction of the interval`() {
+        val enabledTime = Instant.ofEpochSecond(1537927198L)
+        val schedule = IntervalSchedule(10, ChronoUnit.MINUTES, testInstant = enabledTime.plusSeconds(1), spread = true)
+        val first = schedule.forJob("monitor-1").getExpectedNextExecutionTime(enabledTime, null)
+        val second = schedule.forJob("monitor-2").getExpectedNextExecutionTime(enabledTime, null)
+        assertNotNull(first)
+        assertNotNull(second)
+        assertEquals(first, schedule.forJob("monitor-1").getExpectedNextExecutionTime(enabledTime, null))
+        assertTrue(first != second, "Jobs should be spread apart")
+        for (next in listOf(first, second)) {
+            assertTrue(next.isAfter(enabledTime.plusSeconds(1)))
+            assertTrue(!next.isAfter(enabledTime.plus(10, ChronoUnit.MINUTES)))
+        }
+        // Later executions keep the same delay
+        val later = schedule.copy(testInstant = first).forJob("monitor-1")
+        assertEquals(first.plus(10, ChronoUnit.MINUTES), later.getExpectedNextExecutionTime(enabledTime, first))
+        // The job id is not part of the schedule
+        assertEquals(schedule, schedule.forJob("monitor-1"))
+        assertEquals(schedule.hashCode(), schedule.forJob("monitor-1").hashCode())
+        assertEquals(schedule.toString(), schedule.forJob("monitor-1").toString())
+        assertSame(schedule, schedule.forJob(Monitor.NO_ID))
+        assertEquals(IntervalSchedule(10, ChronoUnit.MINUTES), IntervalSchedule(10, ChronoUnit.MINUTES).forJob("monitor-1"))
+    }
+
+    @Test
+    fun `test spread cron schedule stays within the cron period`() {
+        // This is 2018-09-26 01:59:58 GMT
+        val testInstance = Instant.ofEpochSecond(1537927198L)
+        val schedule = CronSchedule("*/5 * * * *", ZoneId.of("UTC"), testInstance, spread = true).forJob("monitor-1")
+        val next = schedule.getExpectedNextExecutionTime(testInstance, null)
+        assertNotNull(next)
+        assertTrue(next.isAfter(testInstance) && !next.isAfter(testInstance.plus(5, ChronoUnit.MINUTES)))
+        // Every execution is delayed by the same amount past a multiple of 5 minutes
+        val delay = next.epochSecond % 300
+        assertEquals(delay, schedule.forJob("monitor-1").getExpectedNextExecutionTime(testInstance, next)!!.epochSecond % 300)
+        assertEquals(next.plus(5, ChronoUnit.MINUTES), schedule.getExpectedNextExecutionTime(testInstance, next))
+
+        val (start, end) = schedule.getPeriodStartingAt(next)
+        assertEquals(next, start)
+        assertEquals(next.plus(5, ChronoUnit.MINUTES), end)
+        assertTrue(schedule.copy(testInstant = next.plusSeconds(1)).forJob("monitor-1").runningOnTime(next))
+    }
+
+    @Test
+    fun `test parsed and read jobs hold their spread schedule`() {
+        val schedule = IntervalSchedule(10, ChronoUnit.MINUTES, spread = true)
+        val monitor = randomQueryLevelMonitor(schedule = schedule).copy(id = "monitor-1")
+        val workflow = randomWorkflow(schedule = schedule).copy(id = "workflow-1")
+
+        val parsedMonitor = Monitor.parse(parser(monitor.toJsonStringWithUser()), monitor.id)
+        val parsedWorkflow = Workflow.parse(parser(workflow.toJsonStringWithUser()), workflow.id)
+        assertEquals("monitor-1", (parsedMonitor.schedule as IntervalSchedule).jobId)
+        assertEquals("workflow-1", (parsedWorkflow.schedule as IntervalSchedule).jobId)
+
+        val out = BytesStreamOutput()
+        monitor.writeTo(out)
+        val readMonitor = Monitor(out.bytes().streamInput())
+        assertEquals("monitor-1", (readMonitor.schedule as IntervalSchedule).jobId)
+        assertEquals(monitor, readMonitor)
+    }
+
+    @Test
+    fun `test cron epoch millis api matches instant api`() {
+        // This is 2018-09-26 01:59:58 GMT
+        val testInstance = Instant.ofEpochSecond(1537927198L)
+        val cronSchedule = CronSchedule("*/5 * * * *", ZoneId.of("Asia/Tokyo"), testInstance)
+        val nowMillis = testInstance.toEpochMilli()
+        val nextMillis = Instant.ofEpochSecond(1537927200L).toEpochMilli()
+
+        assertEquals(nextMillis, cronSchedule.nextExecutionMillis(0, nowMillis))
+        // Answered from the cached period
+        assertEquals(nextMillis, cronSchedule.nextExecutionMillis(0, nowMillis + 1000))
+        assertEquals(nextMillis - 300_000, cronSchedule.periodStartMillis(nowMillis))
+        // On an execution the period started at the previous one
+        assertEquals(nextMillis - 300_000, cronSchedule.periodStartMillis(nextMillis))
+        assertEquals(nextMillis + 300_000, cronSchedule.nextExecutionMillis(0, nextMillis))
+        assertEquals(Instant.ofEpochMilli(nextMillis), cronSchedule.getExpectedNextExecutionTime(testInstance, null))
+        assertTrue(cronSchedule.isOnTime(nextMillis - 300_000, nowMillis))
+        assertFalse(cronSchedule.isOnTime(nextMillis - 600_000, nowMillis))
+    }
+
+    @Test
+    fun `test interval epoch millis api matches instant api`() {
+        val testInstance = Instant.ofEpochSecond(1539615226L)
+        val enabledTime = Instant.ofEpochSecond(1539615144L)
+        val intervalSchedule = IntervalSchedule(3, ChronoUnit.MINUTES, testInstance)
+        val nowMillis = testInstance.toEpochMilli()
+
+        assertEquals(nowMillis + 98_000, intervalSchedule.nextExecutionMillis(enabledTime.toEpochMilli(), nowMillis))
+        assertEquals(nowMillis, intervalSchedule.periodStartMillis(nowMillis))
+        assertTrue(intervalSchedule.isOnTime(nowMillis - 1000, nowMillis))
+        assertFalse(intervalSchedule.isOnTime(nowMillis - 180_000, nowMillis))
+    }
 }
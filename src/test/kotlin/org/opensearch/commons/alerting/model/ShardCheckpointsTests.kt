@@ -0,0 +1,133 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import org.opensearch.Version
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.common.xcontent.XContentFactory
+import org.opensearch.commons.alerting.parser
+import org.opensearch.commons.alerting.util.string
+import org.opensearch.core.xcontent.ToXContent
+
+class ShardCheckpointsTests {
+
+    private val context = mapOf("index" to "logs", "shards_count" to 3, "0" to 41L, "1" to -1L, "2" to 17L)
+
+    @Test
+    fun `test map view reads and updates the checkpoints`() {
+        val checkpoints = ShardCheckpoints.of(context)!!
+        val view = checkpoints.asMap()
+        assertEquals(context, view)
+        assertEquals(listOf("index", "shards_count", "0", "1", "2"), view.keys.toList())
+        assertEquals(41L, view["0"])
+        assertNull(view["3"])
+
+        view["1"] = 12L
+        assertEquals(12L, checkpoints[1])
+        view["index"] = "logs"
+        assertSame(checkpoints, ShardCheckpoints.of(view))
+    }
+
+    @Test
+    fun `test map view turns into a copy on changes the checkpoints cannot hold`() {
+        val checkpoints = ShardCheckpoints.of(context)!!
+        val view = checkpoints.asMap()
+        view["2"] = "18"
+        assertEquals("18", view["2"])
+        assertEquals(17L, checkpoints[2])
+        assertNull(ShardCheckpoints.backing(view))
+
+        view["1"] = 20L
+        view.remove("0")
+        assertEquals(mapOf("index" to "logs", "shards_count" to 3, "1" to 20L, "2" to "18"), view)
+        assertEquals(-1L, checkpoints[1])
+        assertEquals(41L, checkpoints[0])
+
+        val iterated = ShardCheckpoints.of(context)!!.asMap()
+        val iterator = iterated.entries.iterator()
+        while (iterator.hasNext()) {
+            if (iterator.next().key == "1") iterator.remove()
+        }
+        assertEquals(mapOf("index" to "logs", "shards_count" to 3, "0" to 41L, "2" to 17L), iterated)
+        assertThrows(UnsupportedOperationException::class.java) { iterated.entries.add(iterated.entries.first()) }
+    }
+
+    @Test
+    fun `test shards without a checkpoint are left out of the map`() {
+        val checkpoints = ShardCheckpoints("logs", "uuid", 4)
+        checkpoints[2] = 5L
+        checkpoints.advance(2, 3L)
+        assertEquals(mapOf("index" to "logs", "index_uuid" to "uuid", "shards_count" to 4, "2" to 5L), checkpoints.asMap())
+        assertEquals(1, checkpoints.checkpointCount())
+    }
+
+    @Test
+    fun `test contexts that are not shard checkpoints are kept as is`() {
+        assertNull(ShardCheckpoints.of(mapOf("1" to "1")))
+        assertNull(ShardCheckpoints.of(mapOf("index" to "logs", "shards_count" to 1, "1" to 5L)))
+        assertNull(ShardCheckpoints.of(mapOf("index" to "logs", "shards_count" to 1, "other" to 5L)))
+        assertNull(ShardCheckpoints.of(listOf("1")))
+    }
+
+    @Test
+    fun `test last run context as stream`() {
+        val partial = ShardCheckpoints("partial", null, 30).also { it[7] = 100L }
+        val lastRunContext: Map<String, Any> = mapOf(
+            "logs" to context,
+            "partial" to partial.asMap(),
+            "other" to mapOf("1" to "1"),
+            "detached" to ShardCheckpoints.of(context)!!.asMap().also { it["0"] = "41" }
+        )
+        for (version in listOf(Version.CURRENT, Version.V_3_7_0)) {
+            val out = BytesStreamOutput()
+            out.version = version
+            ShardCheckpoints.writeLastRunContext(out, lastRunContext)
+            val sin = out.bytes().streamInput()
+            sin.version = version
+            val read = ShardCheckpoints.readLastRunContext(sin)
+            assertEquals(lastRunContext, read)
+            if (version == Version.CURRENT) assertNotNull(ShardCheckpoints.backing(read["logs"]))
+        }
+    }
+
+    @Test
+    fun `test last run context with null values as stream`() {
+        @Suppress("UNCHECKED_CAST")
+        val lastRunContext = mutableMapOf<String, Any?>("logs" to context, "empty" to null) as Map<String, Any>
+        for (version in listOf(Version.CURRENT, Version.V_3_7_0)) {
+            val out = BytesStreamOutput()
+            out.version = version
+            ShardCheckpoints.writeLastRunContext(out, lastRunContext)
+            val sin = out.bytes().streamInput()
+            sin.version = version
+            val read: Map<String, Any?> = ShardCheckpoints.readLastRunContext(sin)
+            assertEquals(lastRunContext, read)
+            assertNull(read["empty"])
+        }
+    }
+
+    @Test
+    fun `test monitor metadata last run context xcontent`() {
+        val monitorMetadata = MonitorMetadata(
+            id = "monitorId-metadata",
+            monitorId = "monitorId",
+            lastActionExecutionTimes = emptyList(),
+            lastRunContext = mapOf("logs" to context),
+            sourceToQueryIndexMapping = mutableMapOf()
+        )
+        val json = monitorMetadata.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).string()
+        val parsed = MonitorMetadata.parse(parser(json))
+        assertNotNull(ShardCheckpoints.backing(parsed.lastRunContext["logs"]))
+        assertEquals(monitorMetadata, parsed)
+        assertEquals(json, parsed.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).string())
+    }
+}
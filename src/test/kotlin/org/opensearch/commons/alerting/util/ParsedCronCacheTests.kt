@@ -0,0 +1,57 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.util
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.opensearch.commons.alerting.model.CronSchedule
+import java.time.ZoneId
+
+class ParsedCronCacheTests {
+
+    @Test
+    fun `same expression is parsed once`() {
+        val expression = "17 3 * * 2"
+        val before = ParsedCronCache.stats()
+        val first = ParsedCronCache.get(expression)
+        val second = ParsedCronCache.get(expression)
+        val after = ParsedCronCache.stats()
+        assertSame(first, second)
+        assertEquals(listOf("17", "3", "*", "*", "2"), first.fields)
+        assertTrue(after.misses - before.misses <= 1)
+        assertTrue(after.hits - before.hits >= 1)
+    }
+
+    @Test
+    fun `cron schedules share the parsed execution time`() {
+        val utc = CronSchedule("0 */7 * * *", ZoneId.of("UTC"))
+        val tokyo = CronSchedule("0 */7 * * *", ZoneId.of("Asia/Tokyo"))
+        assertSame(utc.executionTime, tokyo.executionTime)
+    }
+
+    @Test
+    fun `invalid expression throws`() {
+        assertThrows(IllegalArgumentException::class.java) {
+            ParsedCronCache.get("5 * 1 * * *")
+        }
+    }
+
+    @Test
+    fun `invalid expression is not cached`() {
+        val before = ParsedCronCache.stats()
+        repeat(2) {
+            try {
+                ParsedCronCache.get("61 * * * *")
+            } catch (e: IllegalArgumentException) {
+                // expected
+            }
+        }
+        assertTrue(ParsedCronCache.stats().misses - before.misses >= 2)
+    }
+}
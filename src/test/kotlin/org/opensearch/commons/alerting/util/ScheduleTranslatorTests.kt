@@ -5,9 +5,10 @@
 
 package org.opensearch.commons.alerting.util
 
-import org.junit.Assert.assertEquals
-import org.junit.Assert.assertNull
-import org.junit.Test
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
 import org.opensearch.commons.alerting.model.CronSchedule
 import org.opensearch.commons.alerting.model.IntervalSchedule
 import java.time.ZoneId
@@ -44,16 +45,20 @@ class ScheduleTranslatorTests {
         assertEquals("rate(1 day)", expr)
     }
 
-    @Test(expected = IllegalArgumentException::class)
+    @Test
     fun `translate seconds interval throws`() {
         val schedule = IntervalSchedule(120, ChronoUnit.SECONDS)
-        ScheduleTranslator.toEventBridgeExpression(schedule)
+        assertThrows(IllegalArgumentException::class.java) {
+            ScheduleTranslator.toEventBridgeExpression(schedule)
+        }
     }
 
-    @Test(expected = IllegalArgumentException::class)
+    @Test
     fun `translate sub-minute seconds interval throws`() {
         val schedule = IntervalSchedule(30, ChronoUnit.SECONDS)
-        ScheduleTranslator.toEventBridgeExpression(schedule)
+        assertThrows(IllegalArgumentException::class.java) {
+            ScheduleTranslator.toEventBridgeExpression(schedule)
+        }
     }
 
     @Test
@@ -92,4 +97,38 @@ class ScheduleTranslatorTests {
         val (expr, _) = ScheduleTranslator.toEventBridgeExpression(schedule)
         assertEquals("cron(0 0 ? * 1 *)", expr)
     }
+
+    @Test
+    fun `flexible time window is off without spread`() {
+        assertNull(ScheduleTranslator.toEventBridgeFlexibleTimeWindowMinutes(IntervalSchedule(5, ChronoUnit.MINUTES)))
+        assertNull(ScheduleTranslator.toEventBridgeFlexibleTimeWindowMinutes(CronSchedule("*/5 * * * *", ZoneId.of("UTC"))))
+    }
+
+    @Test
+    fun `flexible time window covers the spread period`() {
+        assertEquals(
+            5,
+            ScheduleTranslator.toEventBridgeFlexibleTimeWindowMinutes(IntervalSchedule(5, ChronoUnit.MINUTES, spread = true))
+        )
+        assertEquals(
+            15,
+            ScheduleTranslator.toEventBridgeFlexibleTimeWindowMinutes(CronSchedule("*/15 * * * *", ZoneId.of("UTC"), spread = true))
+        )
+        assertEquals(
+            ScheduleTranslator.MAX_FLEXIBLE_TIME_WINDOW_MINUTES,
+            ScheduleTranslator.toEventBridgeFlexibleTimeWindowMinutes(IntervalSchedule(7, ChronoUnit.DAYS, spread = true))
+        )
+    }
+
+    @Test
+    fun `flexible time window of irregular cron is the smallest gap`() {
+        // 9:00 to 17:00 is 480 minutes, 17:00 to 9:00 is 960 minutes
+        val schedule = CronSchedule("0 9,17 * * *", ZoneId.of("UTC"), spread = true)
+        assertEquals(480, ScheduleTranslator.toEventBridgeFlexibleTimeWindowMinutes(schedule))
+        assertEquals(480, ScheduleTranslator.toEventBridgeFlexibleTimeWindowMinutes(schedule.copy(timezone = ZoneId.of("Asia/Tokyo"))))
+        assertEquals(
+            ScheduleTranslator.MAX_FLEXIBLE_TIME_WINDOW_MINUTES,
+            ScheduleTranslator.toEventBridgeFlexibleTimeWindowMinutes(CronSchedule("0 0 1 * *", ZoneId.of("UTC"), spread = true))
+        )
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.util
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.opensearch.commons.alerting.model.IntervalSchedule
+import org.opensearch.commons.alerting.model.MockScheduledJob
+import org.opensearch.commons.alerting.model.Schedule
+import org.opensearch.commons.alerting.model.ScheduledJob
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+import kotlin.random.Random
+
+class ScheduledJobTimingWheelTests {
+
+    private val start = 1_700_000_000_000L
+
+    private fun job(
+        id: String,
+        schedule: Schedule = IntervalSchedule(1, ChronoUnit.MINUTES),
+        enabled: Boolean = true
+    ): ScheduledJob {
+        val enabledTime = Instant.ofEpochMilli(start)
+        return MockScheduledJob(id, 1L, id, "monitor", enabled, schedule, enabledTime, if (enabled) enabledTime else null)
+    }
+
+    @Test
+    fun `jobs are popped once due`() {
+        val wheel = ScheduledJobTimingWheel(start)
+        wheel.schedule(job("a"), start + 5_000)
+        wheel.schedule(job("b"), start + 90_000)
+        assertEquals(emptyList<String>(), wheel.pollDue(start + 4_999).map { it.id })
+        assertEquals(listOf("a"), wheel.pollDue(start + 5_000).map { it.id })
+        assertEquals(emptyList<String>(), wheel.pollDue(start + 89_999).map { it.id })
+        assertEquals(listOf("b"), wheel.pollDue(start + 90_000).map { it.id })
+        assertEquals(0, wheel.size)
+    }
+
+    @Test
+    fun `past fire time is due on next poll`() {
+        val wheel = ScheduledJobTimingWheel(start)
+        wheel.schedule(job("a"), start - 60_000)
+        assertEquals(listOf("a"), wheel.pollDue(start + 1_000).map { it.id })
+    }
+
+    @Test
+    fun `cancel and reschedule replace the entry`() {
+        val wheel = ScheduledJobTimingWheel(start)
+        wheel.schedule(job("a"), start + 5_000)
+        wheel.schedule(job("b"), start + 5_000)
+        assertTrue(wheel.cancel("a"))
+        assertFalse(wheel.cancel("a"))
+        wheel.schedule(job("b"), start + 10_000)
+        assertEquals(1, wheel.size)
+        assertEquals(emptyList<String>(), wheel.pollDue(start + 9_000).map { it.id })
+        assertEquals(listOf("b"), wheel.pollDue(start + 10_000).map { it.id })
+    }
+
+    @Test
+    fun `jobs beyond every level are parked and fire on time`() {
+        val wheel = ScheduledJobTimingWheel(start, tickMillis = 1000, wheelSize = 4, levels = 2)
+        // The wheel covers 16 ticks
+        wheel.schedule(job("far"), start + 50_000)
+        assertEquals(emptyList<String>(), wheel.pollDue(start + 49_000).map { it.id })
+        assertEquals(listOf("far"), wheel.pollDue(start + 50_000).map { it.id })
+    }
+
+    @Test
+    fun `random fire times match a sorted reference`() {
+        val random = Random(42)
+        val wheel = ScheduledJobTimingWheel(start, tickMillis = 1000, wheelSize = 8, levels = 3)
+        val fireTimes = (0 until 2000).associate { "job-$it" to start + random.nextLong(1, 2_000_000) }
+        fireTimes.forEach { (id, fireAt) -> wheel.schedule(job(id), fireAt) }
+        var now = start
+        while (wheel.size > 0) {
+            val previous = now
+            now += random.nextLong(1, 30) * 1000
+            val expected = fireTimes.filterValues { it > previous && it <= now }.keys
+            assertEquals(expected, wheel.pollDue(now).map { it.id }.toSet())
+        }
+    }
+
+    @Test
+    fun `rearm uses the job schedule`() {
+        val wheel = ScheduledJobTimingWheel(start)
+        val job = job("a", IntervalSchedule(1, ChronoUnit.MINUTES, Instant.ofEpochMilli(start + 10_000)))
+        val next = wheel.rearm(job)
+        assertEquals(Instant.ofEpochMilli(start + 60_000), next)
+        assertTrue(wheel.contains("a"))
+        assertNull(wheel.rearm(job("a", enabled = false)))
+        assertFalse(wheel.contains("a"))
+    }
+}
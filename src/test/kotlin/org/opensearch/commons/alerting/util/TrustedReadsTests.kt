@@ -0,0 +1,75 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.alerting.util
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import org.opensearch.common.io.stream.BytesStreamOutput
+import org.opensearch.commons.alerting.model.DocLevelQuery
+import org.opensearch.commons.alerting.model.Monitor
+import org.opensearch.commons.alerting.model.Workflow
+import org.opensearch.commons.alerting.randomDocumentLevelMonitor
+import org.opensearch.commons.alerting.randomWorkflow
+import org.opensearch.core.common.bytes.BytesReference
+import java.io.IOException
+
+class TrustedReadsTests {
+
+    /** A doc-level query with a tag that does not pass validation, as written by [DocLevelQuery.writeTo]. */
+    private fun invalidQueryBytes(): BytesReference {
+        val out = BytesStreamOutput()
+        out.writeString("query-id")
+        out.writeString("query-name")
+        out.writeStringCollection(listOf("field"))
+        out.writeString("field:value")
+        out.writeStringCollection(listOf("invalid tag"))
+        out.writeStringCollection(listOf())
+        return out.bytes()
+    }
+
+    @Test
+    fun `trusted reads skip validation`() {
+        assertThrows(IllegalArgumentException::class.java) { DocLevelQuery(invalidQueryBytes().streamInput()) }
+
+        val query = TrustedReads.read(invalidQueryBytes().streamInput(), ::DocLevelQuery)
+        assertEquals(listOf("invalid tag"), query.tags)
+        assertFalse(TrustedReads.isActive)
+
+        assertThrows(IllegalArgumentException::class.java) { DocLevelQuery(invalidQueryBytes().streamInput()) }
+    }
+
+    @Test
+    fun `trusted reads read the same models`() {
+        val monitor = randomDocumentLevelMonitor()
+        val monitorOut = BytesStreamOutput()
+        monitor.writeTo(monitorOut)
+        assertEquals(monitor, TrustedReads.read(monitorOut.bytes().streamInput(), (Monitor)::readFrom))
+
+        val workflow = randomWorkflow(monitorIds = listOf("monitor-1", "monitor-2"))
+        val workflowOut = BytesStreamOutput()
+        workflow.writeTo(workflowOut)
+        assertEquals(workflow, TrustedReads.read(workflowOut.bytes().streamInput(), (Workflow)::readFrom))
+    }
+
+    @Test
+    fun `derived models skip validation`() {
+        val query = TrustedReads.read(invalidQueryBytes().streamInput(), ::DocLevelQuery)
+        val derived = TrustedReads.derive { query.copy(tags = query.tags + "other tag") }
+        assertEquals(listOf("invalid tag", "other tag"), derived.tags)
+        assertFalse(TrustedReads.isActive)
+        assertThrows(IllegalArgumentException::class.java) { query.copy(tags = query.tags + "other tag") }
+    }
+
+    @Test
+    fun `failed trusted read ends the scope`() {
+        assertThrows(IOException::class.java) {
+            TrustedReads.read<Monitor>(BytesStreamOutput().bytes().streamInput()) { throw IOException("truncated") }
+        }
+        assertFalse(TrustedReads.isActive)
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.utils
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.opensearch.action.support.clustermanager.AcknowledgedResponse
+import org.opensearch.core.action.ActionListener
+import org.opensearch.core.action.ActionResponse
+import org.opensearch.core.common.io.stream.StreamOutput
+
+internal class RecreatingActionListenerTests {
+
+    /** Stands in for an [AcknowledgedResponse] loaded by another classloader: same wire format, different class. */
+    private class ForeignAcknowledgedResponse(private val acknowledged: Boolean) : ActionResponse() {
+        override fun writeTo(out: StreamOutput) {
+            out.writeBoolean(acknowledged)
+        }
+    }
+
+    private class CapturingListener<T> : ActionListener<T> {
+        var response: T? = null
+        var failure: Exception? = null
+
+        override fun onResponse(response: T) {
+            this.response = response
+        }
+
+        override fun onFailure(e: Exception) {
+            failure = e
+        }
+    }
+
+    @Test
+    fun `response of the target class is passed through as is`() {
+        val listener = CapturingListener<AcknowledgedResponse>()
+        val response = AcknowledgedResponse(true)
+        val before = RecreatingActionListener.stats()
+        wrapActionListener(listener) { AcknowledgedResponse(it) }.onResponse(response)
+        assertSame(response, listener.response)
+        assertTrue(RecreatingActionListener.stats().passedThrough > before.passedThrough)
+    }
+
+    @Test
+    fun `response of another class is recreated`() {
+        val listener = CapturingListener<AcknowledgedResponse>()
+        val response = ForeignAcknowledgedResponse(true)
+        val before = RecreatingActionListener.stats()
+        @Suppress("UNCHECKED_CAST")
+        val wrapped = wrapActionListener(listener) { AcknowledgedResponse(it) } as ActionListener<ActionResponse>
+        wrapped.onResponse(response)
+        assertNotSame(response, listener.response)
+        assertEquals(true, listener.response?.isAcknowledged)
+        val after = RecreatingActionListener.stats()
+        assertTrue(after.recreated > before.recreated)
+        assertTrue(after.recreatedBytes > before.recreatedBytes)
+    }
+
+    @Test
+    fun `failure is forwarded`() {
+        val listener = CapturingListener<AcknowledgedResponse>()
+        val exception = IllegalStateException("boom")
+        wrapActionListener(listener) { AcknowledgedResponse(it) }.onFailure(exception)
+        assertSame(exception, listener.failure)
+    }
+}
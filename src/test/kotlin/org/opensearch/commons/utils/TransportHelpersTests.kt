@@ -0,0 +1,35 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.commons.utils
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.opensearch.common.settings.Settings
+import org.opensearch.common.util.MockBigArrays
+import org.opensearch.common.util.MockPageCacheRecycler
+import org.opensearch.core.common.io.stream.Writeable
+import org.opensearch.core.indices.breaker.NoneCircuitBreakerService
+
+internal class TransportHelpersTests {
+
+    // Large enough to span several 16KB pages
+    private val values = (0 until 5000).map { "value-$it" }
+    private val writeable = Writeable { it.writeStringCollection(values) }
+
+    @Test
+    fun `recreateObject reads the object back across page boundaries`() {
+        val recreated = recreateObject(writeable) { it.readStringList() }
+        assertEquals(values, recreated)
+    }
+
+    @Test
+    fun `recreateObject with recycled pages reads the object back and releases the pages`() {
+        val bigArrays = MockBigArrays(MockPageCacheRecycler(Settings.EMPTY), NoneCircuitBreakerService())
+        val recreated = recreateObject(writeable, bigArrays) { it.readStringList() }
+        assertEquals(values, recreated)
+        MockBigArrays.ensureAllArraysAreReleased()
+    }
+}